@@ -71,10 +71,18 @@ public class SecurityConfig {
 		            .requestMatchers(HttpMethod.GET, "/package").hasAnyRole("STAFF", "ADMIN")
 		            .requestMatchers(HttpMethod.GET, "/package/inactive").hasAnyRole("STAFF", "ADMIN")
 		            
+		            .requestMatchers(HttpMethod.POST, "/booking/quote").permitAll()
 		            .requestMatchers(HttpMethod.POST, "/booking").authenticated()
+		            .requestMatchers(HttpMethod.POST, "/booking/hold").authenticated()
+		            .requestMatchers(HttpMethod.DELETE, "/booking/hold/{token}").authenticated()
+		            .requestMatchers(HttpMethod.POST, "/booking/waitlist").authenticated()
+		            .requestMatchers(HttpMethod.GET, "/booking/waitlist/me").authenticated()
+		            .requestMatchers(HttpMethod.DELETE, "/booking/waitlist/{id}").authenticated()
 		            .requestMatchers(HttpMethod.GET, "/booking/me").authenticated()
+		            .requestMatchers(HttpMethod.GET, "/booking/slots").permitAll()
 		            .requestMatchers(HttpMethod.GET, "/booking/**").hasAnyRole("STAFF", "ADMIN")
 		            .requestMatchers(HttpMethod.PATCH, "/booking/{id}").authenticated()
+	            	.requestMatchers(HttpMethod.PATCH, "/booking/staff/bulk").hasAnyRole("STAFF", "ADMIN")
 	            	.requestMatchers(HttpMethod.PATCH, "/booking/staff/{id}").hasAnyRole("STAFF", "ADMIN")
 		            .requestMatchers(HttpMethod.PATCH, "/booking/restore/{id}").hasRole("ADMIN")
 		            .requestMatchers(HttpMethod.DELETE, "/booking/{id}").hasRole("ADMIN")
@@ -103,7 +111,8 @@ public class SecurityConfig {
 		            
 		            .requestMatchers("/home").permitAll()
 		            .requestMatchers("/calendar/**").permitAll()
-		            .requestMatchers("/dashboard/logs").hasRole("ADMIN")
+		            .requestMatchers("/dashboard/logs", "/dashboard/logs/**").hasRole("ADMIN")
+		            .requestMatchers(HttpMethod.POST, "/dashboard/stats/rebuild").hasRole("ADMIN")
 		            .requestMatchers("/dashboard/**").hasAnyRole("STAFF", "ADMIN")
 			
 		            .anyRequest().permitAll())
@@ -7,18 +7,28 @@ import com.example.geco.services.AdminDashboardService;
 import com.example.geco.services.AttractionService;
 import com.example.geco.services.AuditLogService;
 import com.example.geco.services.AuthService;
+import com.example.geco.services.BookingCubeService;
+import com.example.geco.services.BookingSeriesService;
 import com.example.geco.services.BookingService;
+import com.example.geco.services.BookingSlotService;
+import com.example.geco.services.BookingStatsService;
 import com.example.geco.services.CalendarDateService;
+import com.example.geco.services.DashboardOverviewService;
 import com.example.geco.services.FaqService;
 import com.example.geco.services.FeedbackCategoryService;
 import com.example.geco.services.FeedbackService;
 import com.example.geco.services.HomepageService;
+import com.example.geco.services.IdempotencyService;
 import com.example.geco.services.JwtService;
 import com.example.geco.services.NotificationService;
+import com.example.geco.services.OptimisticRetry;
 import com.example.geco.services.PackageInclusionService;
+import com.example.geco.services.PricingService;
 import com.example.geco.services.RestrictionService;
+import com.example.geco.services.SlotHoldService;
 import com.example.geco.services.TokenBlacklistService;
 import com.example.geco.services.TourPackageService;
+import com.example.geco.services.WaitlistService;
 
 public abstract class AbstractController {
 	@Autowired
@@ -30,6 +40,9 @@ public abstract class AbstractController {
 	@Autowired
 	protected BookingService bookingService;
 	
+	@Autowired
+	protected BookingSlotService bookingSlotService;
+	
 	@Autowired
 	protected FeedbackService feedbackService;
 	
@@ -71,4 +84,31 @@ public abstract class AbstractController {
     
     @Autowired
     protected NotificationService notificationService;
+    
+    @Autowired
+    protected IdempotencyService idempotencyService;
+    
+    @Autowired
+    protected PricingService pricingService;
+    
+    @Autowired
+    protected OptimisticRetry optimisticRetry;
+    
+    @Autowired
+    protected SlotHoldService slotHoldService;
+    
+    @Autowired
+    protected WaitlistService waitlistService;
+    
+    @Autowired
+    protected BookingStatsService bookingStatsService;
+    
+    @Autowired
+    protected BookingSeriesService bookingSeriesService;
+    
+    @Autowired
+    protected DashboardOverviewService dashboardOverviewService;
+    
+    @Autowired
+    protected BookingCubeService bookingCubeService;
 }
@@ -18,6 +18,7 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestPart;
@@ -28,9 +29,22 @@ import com.example.geco.domains.Booking;
 import com.example.geco.domains.Booking.BookingStatus;
 import com.example.geco.domains.Booking.PaymentMethod;
 import com.example.geco.domains.Booking.PaymentStatus;
+import com.example.geco.domains.WaitlistEntry;
+import com.example.geco.dto.AvailableSlot;
+import com.example.geco.dto.BookingListItem;
+import com.example.geco.dto.BookingQuote;
+import com.example.geco.dto.BookingQuoteRequest;
 import com.example.geco.dto.BookingRequest;
 import com.example.geco.dto.BookingUpdateRequest;
+import com.example.geco.dto.BulkBookingStatusRequest;
+import com.example.geco.dto.BulkBookingStatusResult;
+import com.example.geco.dto.CursorPage;
+import com.example.geco.dto.SlotHoldRequest;
+import com.example.geco.dto.SlotHoldResponse;
 import com.example.geco.dto.UserBookingUpdateRequest;
+import com.example.geco.dto.WaitlistRequest;
+import com.example.geco.services.IdempotencyService;
+import com.example.geco.services.PricingService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -47,11 +61,90 @@ public class BookingController extends AbstractController {
         description = "Create a new booking for a tour package. Includes account, package, visit date/time, group size, and optional inclusions."
     )
     @PostMapping
-    public ResponseEntity<Booking> addBooking(
-        @Parameter(description = "Booking details to create") @RequestBody @Valid BookingRequest request
+    public ResponseEntity<?> addBooking(
+        @Parameter(description = "Booking details to create") @RequestBody @Valid BookingRequest request,
+        @Parameter(description = "Client-generated key; a retry with the same key returns the original response")
+        @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey
     ) {
-        Booking savedBooking = bookingService.addBooking(request);
-        return new ResponseEntity<>(savedBooking, HttpStatus.CREATED);
+        return idempotencyService.execute(idempotencyKey, "POST /booking", Arrays.asList(request), () -> {
+            Booking savedBooking = bookingService.addBooking(request);
+            return new ResponseEntity<>(savedBooking, HttpStatus.CREATED);
+        });
+    }
+
+    
+    @Operation(
+        summary = "Quote Booking Configurations",
+        description = "Prices up to " + PricingService.MAX_QUOTES + " candidate package, group size and inclusion "
+        		+ "configurations in one call. A configuration that cannot be booked gets an error instead of a price."
+    )
+    @PostMapping("/quote")
+    public ResponseEntity<List<BookingQuote>> quoteBookings(
+        @Parameter(description = "Configurations to price") @RequestBody List<BookingQuoteRequest> requests
+    ) {
+        return new ResponseEntity<>(pricingService.quoteAll(requests), HttpStatus.OK);
+    }
+
+    
+    @Operation(
+        summary = "Hold Booking Slot",
+        description = "Reserves a visit date and time for the logged-in user for a few minutes while they check out. "
+        		+ "Send the returned token as holdToken with POST /booking. A new hold replaces the user's previous one."
+    )
+    @PostMapping("/hold")
+    public ResponseEntity<SlotHoldResponse> holdSlot(
+        @Parameter(description = "Tour package, visit date and start time to hold") @RequestBody @Valid SlotHoldRequest request
+    ) {
+        return new ResponseEntity<>(slotHoldService.hold(request), HttpStatus.CREATED);
+    }
+
+    
+    @Operation(
+        summary = "Release Booking Slot Hold",
+        description = "Gives up a slot hold before it expires."
+    )
+    @DeleteMapping("/hold/{token}")
+    public ResponseEntity<Void> releaseSlot(
+        @Parameter(description = "Token of the hold to release") @PathVariable String token
+    ) {
+        slotHoldService.release(token);
+        return ResponseEntity.noContent().build();
+    }
+
+    
+    @Operation(
+        summary = "Join Waitlist",
+        description = "Puts the logged-in user on the waitlist of a fully booked date. "
+        		+ "When a spot frees up the user is notified and has a limited time to book it."
+    )
+    @PostMapping("/waitlist")
+    public ResponseEntity<WaitlistEntry> joinWaitlist(
+        @Parameter(description = "Tour package, visit date and group size to wait for") @RequestBody @Valid WaitlistRequest request
+    ) {
+        return new ResponseEntity<>(waitlistService.join(request), HttpStatus.CREATED);
+    }
+
+    
+    @Operation(
+        summary = "Get My Waitlist Entries",
+        description = "Lists the logged-in user's waitlist entries, including offers and their claim deadlines."
+    )
+    @GetMapping("/waitlist/me")
+    public ResponseEntity<List<WaitlistEntry>> getMyWaitlistEntries() {
+        return new ResponseEntity<>(waitlistService.getMyEntries(), HttpStatus.OK);
+    }
+
+    
+    @Operation(
+        summary = "Leave Waitlist",
+        description = "Removes the logged-in user from a waitlist. An open offer is passed on to the next user."
+    )
+    @DeleteMapping("/waitlist/{id}")
+    public ResponseEntity<Void> leaveWaitlist(
+        @Parameter(description = "ID of the waitlist entry") @PathVariable long id
+    ) {
+        waitlistService.leave(id);
+        return ResponseEntity.noContent().build();
     }
 
     
@@ -67,6 +160,21 @@ public class BookingController extends AbstractController {
         return new ResponseEntity<>(booking, HttpStatus.OK);
     }
 
+    @Operation(
+        summary = "Find available slots for a Tour Package",
+        description = "Returns the next bookable start times of a tour package between startDate and endDate, skipping closed, fully booked and already booked times."
+    )
+    @GetMapping("/slots")
+    public ResponseEntity<List<AvailableSlot>> getAvailableSlots(
+        @Parameter(description = "ID of the tour package") @RequestParam int packageId,
+        @Parameter(description = "First date to search") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @Parameter(description = "Last date to search") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+        @Parameter(description = "Maximum number of slots to return") @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<AvailableSlot> slots = bookingSlotService.findAvailableSlots(packageId, startDate, endDate, limit);
+        return new ResponseEntity<>(slots, HttpStatus.OK);
+    }
+
     @Operation(
     	    summary = "Get all bookings of the logged-in user (paginated)",
     	    description = """
@@ -76,24 +184,39 @@ public class BookingController extends AbstractController {
     	    """
 	)
     @GetMapping("/me")
-    public ResponseEntity<Page<Booking>> getAllMyBookings(
+    public ResponseEntity<?> getAllMyBookings(
         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
         @RequestParam(required = false) BookingStatus bookingStatus,
         @RequestParam(required = false) PaymentStatus paymentStatus,
         @RequestParam(required = false) PaymentMethod paymentMethod,
         @RequestParam(required = false) String dateField,
+        @Parameter(description = "Keyset cursor; send an empty value for the first page and nextCursor afterwards. When present, page is ignored and a cursor page is returned.")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Whether cursor pages include totalElements (skipping it avoids a count query)")
+        @RequestParam(defaultValue = "true") boolean includeTotal,
+        @Parameter(description = "Comma-separated extra data to include per booking. Supported: inclusions")
+        @RequestParam(required = false) String expand,
         @RequestParam(defaultValue = "0") int page,
         @RequestParam(defaultValue = "10") int size
     ) {
+        if (cursor != null) {
+            CursorPage<BookingListItem> bookings = bookingService.getMyBookingListByCursor(
+                startDate, endDate, dateField, bookingStatus, paymentStatus, paymentMethod,
+                expand, cursor, size, includeTotal
+            );
+            return new ResponseEntity<>(bookings, HttpStatus.OK);
+        }
+        
         Pageable pageable = PageRequest.of(page, size);
-        Page<Booking> bookings = bookingService.getBookingByFiltersByMe(
+        Page<BookingListItem> bookings = bookingService.getMyBookingList(
             startDate,
             endDate,
+            dateField,
             bookingStatus,
             paymentStatus,
             paymentMethod,
-            dateField,
+            expand,
             pageable
         );
         return new ResponseEntity<>(bookings, HttpStatus.OK);
@@ -101,10 +224,10 @@ public class BookingController extends AbstractController {
     
     @Operation(
 	    summary = "Get all Bookings",
-	    description = "Retrieve a list of bookings. Can filter by account's accountId, date range, booking & payment statuses, payment method, and account email."
+	    description = "Retrieve a list of bookings. Can filter by account's accountId, date range, booking & payment statuses, payment method, account email, and client name."
 	)
 	@GetMapping
-	public ResponseEntity<Page<Booking>> getAllBookings(
+	public ResponseEntity<?> getAllBookings(
 	    @Parameter(description = "Filter by account ID")
 	    @RequestParam(required = false) Integer accountId,
 
@@ -131,22 +254,46 @@ public class BookingController extends AbstractController {
 	    @Parameter(description = "Filter by account email (contains, case-insensitive)")
 	    @RequestParam(required = false) String email,
 
+	    @Parameter(description = "Search by client name or email (contains, case-insensitive)")
+	    @RequestParam(required = false) String client,
+
+	    @Parameter(description = "Keyset cursor; send an empty value for the first page and nextCursor afterwards. When present, page is ignored and a cursor page is returned.")
+	    @RequestParam(required = false) String cursor,
+
+	    @Parameter(description = "Whether cursor pages include totalElements (skipping it avoids a count query)")
+	    @RequestParam(defaultValue = "true") boolean includeTotal,
+
+	    @Parameter(description = "Comma-separated extra data to include per booking. Supported: inclusions")
+	    @RequestParam(required = false) String expand,
+
 	    @Parameter(description = "Page number")
 	    @RequestParam(defaultValue = "0") int page,
 
 	    @Parameter(description = "Page size")
 	    @RequestParam(defaultValue = "10") int size
 	) {
+	    if (cursor != null) {
+	        CursorPage<BookingListItem> bookings = bookingService.getBookingListByCursor(
+	            accountId, null, startDate, endDate, dateField,
+	            bookingStatus, paymentStatus, paymentMethod, email, client,
+	            expand, cursor, size, includeTotal
+	        );
+	        return new ResponseEntity<>(bookings, HttpStatus.OK);
+	    }
+	    
 	    Pageable pageable = PageRequest.of(page, size);
-	    Page<Booking> bookings = bookingService.getBookingByFilters(
+	    Page<BookingListItem> bookings = bookingService.getBookingList(
 	        accountId,
+	        null,
 	        startDate,
 	        endDate,
+	        dateField,
 	        bookingStatus,
 	        paymentStatus,
 	        paymentMethod,
 	        email,
-	        dateField,
+	        client,
+	        expand,
 	        pageable
 	    );
 	    return new ResponseEntity<>(bookings, HttpStatus.OK);
@@ -158,7 +305,7 @@ public class BookingController extends AbstractController {
     	    description = "Retrieve active bookings. Supports filters for account ID and date range."
     )
 	@GetMapping("/active")
-	public ResponseEntity<Page<Booking>> getAllActiveBookings(
+	public ResponseEntity<?> getAllActiveBookings(
 	        @Parameter(description = "Filter by account ID (optional)")
 	        @RequestParam(required = false) Integer accountId,
 
@@ -170,15 +317,37 @@ public class BookingController extends AbstractController {
 
 	        @Parameter(description = "Which date field to use for the date filter: visitDate (default), createdAt, or updatedAt")
 	        @RequestParam(required = false) String dateField,
+
+	        @Parameter(description = "Keyset cursor; send an empty value for the first page and nextCursor afterwards. When present, page is ignored and a cursor page is returned.")
+	        @RequestParam(required = false) String cursor,
+
+	        @Parameter(description = "Whether cursor pages include totalElements (skipping it avoids a count query)")
+	        @RequestParam(defaultValue = "true") boolean includeTotal,
 	        
+	        @Parameter(description = "Comma-separated extra data to include per booking. Supported: inclusions")
+	        @RequestParam(required = false) String expand,
+
 	        @Parameter(description = "Page number (0-based)")
 	        @RequestParam(defaultValue = "0") int page,
 
 	        @Parameter(description = "Page size")
 	        @RequestParam(defaultValue = "10") int size
 	) {
+	    if (cursor != null) {
+	        CursorPage<BookingListItem> bookings = bookingService.getBookingListByCursor(
+	            accountId, true, startDate, endDate, dateField,
+	            null, null, null, null, null,
+	            expand, cursor, size, includeTotal
+	        );
+	        return new ResponseEntity<>(bookings, HttpStatus.OK);
+	    }
+	    
 	    Pageable pageable = PageRequest.of(page, size);
-	    Page<Booking> bookings = bookingService.getActiveBookingByAccountAndDateRange(accountId, startDate, endDate, pageable);
+	    Page<BookingListItem> bookings = bookingService.getBookingList(
+	        accountId, true, startDate, endDate, dateField,
+	        null, null, null, null, null,
+	        expand, pageable
+	    );
 	    return new ResponseEntity<>(bookings, HttpStatus.OK);
 	}
 
@@ -188,7 +357,7 @@ public class BookingController extends AbstractController {
     	    description = "Retrieve inactive bookings. Supports filters for account ID and date range."
 	)
 	@GetMapping("/inactive")
-	public ResponseEntity<Page<Booking>> getAllInactiveBookings(
+	public ResponseEntity<?> getAllInactiveBookings(
 	        @Parameter(description = "Filter by account ID (optional)")
 	        @RequestParam(required = false) Integer accountId,
 
@@ -198,14 +367,36 @@ public class BookingController extends AbstractController {
 	        @Parameter(description = "End date filter (optional)") 
 	        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
 
+	        @Parameter(description = "Keyset cursor; send an empty value for the first page and nextCursor afterwards. When present, page is ignored and a cursor page is returned.")
+	        @RequestParam(required = false) String cursor,
+
+	        @Parameter(description = "Whether cursor pages include totalElements (skipping it avoids a count query)")
+	        @RequestParam(defaultValue = "true") boolean includeTotal,
+
+	        @Parameter(description = "Comma-separated extra data to include per booking. Supported: inclusions")
+	        @RequestParam(required = false) String expand,
+
 	        @Parameter(description = "Page number (0-based)")
 	        @RequestParam(defaultValue = "0") int page,
 
 	        @Parameter(description = "Page size")
 	        @RequestParam(defaultValue = "10") int size
 	) {
+	    if (cursor != null) {
+	        CursorPage<BookingListItem> bookings = bookingService.getBookingListByCursor(
+	            accountId, false, startDate, endDate, null,
+	            null, null, null, null, null,
+	            expand, cursor, size, includeTotal
+	        );
+	        return new ResponseEntity<>(bookings, HttpStatus.OK);
+	    }
+	    
 	    Pageable pageable = PageRequest.of(page, size);
-	    Page<Booking> bookings = bookingService.getInactiveBookingByAccountAndDateRange(accountId, startDate, endDate, pageable);
+	    Page<BookingListItem> bookings = bookingService.getBookingList(
+	        accountId, false, startDate, endDate, null,
+	        null, null, null, null, null,
+	        expand, pageable
+	    );
 	    return new ResponseEntity<>(bookings, HttpStatus.OK);
 	}
 
@@ -223,7 +414,7 @@ public class BookingController extends AbstractController {
 	    value = "/{id}",
 	    consumes = MediaType.MULTIPART_FORM_DATA_VALUE
 	)
-	public ResponseEntity<Booking> updateBooking(
+	public ResponseEntity<?> updateBooking(
 	    @Parameter(description = "ID of the booking to update")
 	    @PathVariable int id,
 
@@ -234,14 +425,47 @@ public class BookingController extends AbstractController {
 	    @RequestParam(value = "resubmit", defaultValue = "false") boolean resubmit,
 
 	    @Parameter(description = "Proof of payment image (optional)")
-	    @RequestPart(value = "proofOfPayment", required = false) MultipartFile proofOfPayment
+	    @RequestPart(value = "proofOfPayment", required = false) MultipartFile proofOfPayment,
+
+	    @Parameter(description = "Client-generated key; a retry with the same key returns the original response without re-uploading")
+	    @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey
 	) {
-	    Booking updatedBooking =
-	        bookingService.updateBooking(id, request, resubmit, proofOfPayment);
-	    return new ResponseEntity<>(updatedBooking, HttpStatus.OK);
+	    // The upload is identified by name and size, so fingerprinting never reads the file.
+	    String upload = proofOfPayment != null
+	        ? proofOfPayment.getOriginalFilename() + ":" + proofOfPayment.getSize()
+	        : null;
+
+	    // Each retry claims the key afresh; a conflicting attempt rolls back and releases it.
+	    return optimisticRetry.run(
+	        () -> idempotencyService.execute(
+	            idempotencyKey,
+	            "PATCH /booking/" + id,
+	            Arrays.asList(request, resubmit, upload),
+	            () -> {
+	                Booking updatedBooking =
+	                    bookingService.updateBooking(id, request, resubmit, proofOfPayment);
+	                return new ResponseEntity<>(updatedBooking, HttpStatus.OK);
+	            }),
+	        () -> bookingService.getBooking(id));
 	}
 
     
+    @Operation(
+        summary = "Bulk Update Booking Status (Staff/Admin)",
+        description = "Moves many bookings to the same booking and/or payment status. Bookings that cannot make the transition are listed with the reason and left unchanged."
+    )
+    @PatchMapping("/staff/bulk")
+    public ResponseEntity<BulkBookingStatusResult> updateBookingStatuses(
+        @Parameter(description = "Booking IDs and the target statuses") @RequestBody BulkBookingStatusRequest request
+    ) {
+        // A conflict rolls back the whole batch, so every requested booking is returned as it now stands.
+        BulkBookingStatusResult result = optimisticRetry.run(
+            () -> bookingService.updateBookingStatuses(request),
+            () -> bookingService.getBookings(request.getBookingIds()));
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    
     @Operation(
         summary = "Update Booking (Staff/Admin)",
         description = "Allows staff or admin to update the status or payment status of a booking."
@@ -251,7 +475,9 @@ public class BookingController extends AbstractController {
         @Parameter(description = "ID of the booking to update") @PathVariable int id,
         @Parameter(description = "Booking update details") @RequestBody @Valid BookingUpdateRequest request
     ) {
-        Booking updatedBooking = bookingService.updateBookingByStaff(id, request);
+        Booking updatedBooking = optimisticRetry.run(
+            () -> bookingService.updateBookingByStaff(id, request),
+            () -> bookingService.getBooking(id));
         return new ResponseEntity<>(updatedBooking, HttpStatus.OK);
     }
 
@@ -264,7 +490,9 @@ public class BookingController extends AbstractController {
     public ResponseEntity<Void> deleteBooking(
         @Parameter(description = "ID of the booking to delete") @PathVariable int id
     ) {
-        bookingService.softDeleteBooking(id);
+        optimisticRetry.runWithoutResult(
+            () -> bookingService.softDeleteBooking(id),
+            () -> bookingService.getBooking(id));
         return ResponseEntity.noContent().build();
     }
 
@@ -277,7 +505,9 @@ public class BookingController extends AbstractController {
     public ResponseEntity<Void> restoreBooking(
         @Parameter(description = "ID of the booking to restore") @PathVariable int id
     ) {
-        bookingService.restoreBooking(id);
+        optimisticRetry.runWithoutResult(
+            () -> bookingService.restoreBooking(id),
+            () -> bookingService.getBooking(id));
         return ResponseEntity.noContent().build();
     }
 
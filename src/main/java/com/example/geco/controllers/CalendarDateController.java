@@ -27,7 +27,9 @@ public class CalendarDateController extends AbstractController{
     @PostMapping
     public ResponseEntity<CalendarDate> updateCalendarDate(
             @RequestBody @Valid CalendarDateRequest request) {
-		CalendarDate savedDate = calendarDateService.updateCalendarDate(request);
+		CalendarDate savedDate = optimisticRetry.run(
+				() -> calendarDateService.updateCalendarDate(request),
+				() -> calendarDateService.getCalendarDate(request.getDate()));
         return new ResponseEntity<>(savedDate, HttpStatus.OK);
     }
 }
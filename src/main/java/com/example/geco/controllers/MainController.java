@@ -2,11 +2,14 @@ package com.example.geco.controllers;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,17 +18,26 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.example.geco.domains.AuditLog;
 import com.example.geco.domains.AuditLog.LogAction;
 import com.example.geco.domains.Booking;
+import com.example.geco.domains.Booking.BookingStatus;
 import com.example.geco.dto.AdminBookingRequest;
+import com.example.geco.dto.AdminDashboardOverview;
 import com.example.geco.dto.AdminDashboardFinances;
 import com.example.geco.dto.AdminDashboardStats;
+import com.example.geco.dto.AnalyticsRequest;
+import com.example.geco.dto.AnalyticsRow;
+import com.example.geco.dto.AuditQueueStats;
 import com.example.geco.dto.CalendarDay;
 import com.example.geco.dto.ChartData;
 import com.example.geco.dto.HomeStats;
+import com.example.geco.dto.SeriesPoint;
 import com.example.geco.dto.TrendsResponse;
+import com.example.geco.services.BookingSeriesService.Granularity;
+import com.fasterxml.jackson.databind.JsonNode;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -58,14 +70,53 @@ public class MainController extends AbstractController {
 
     @Operation(
         summary = "Display Calendar View",
-        description = "Returns a map of calendar days containing booking information for the specified year and month."
+        description = "Returns a map of calendar days containing booking information for the specified year and month. "
+        		+ "Responses carry an ETag; send it back in If-None-Match to get 304 Not Modified while the month is unchanged."
     )
     @GetMapping("/calendar/{year}/{month}")
     public ResponseEntity<Map<Integer, CalendarDay>> displayCalendar(
         @Parameter(description = "Year to display") @PathVariable int year,
-        @Parameter(description = "Month to display") @PathVariable int month
+        @Parameter(description = "Month to display") @PathVariable int month,
+        WebRequest webRequest
     ) {
+        // The ETag refreshes an expired month, then is read before the body, so a concurrent
+        // change can only make the ETag older, never newer.
+        String eTag = bookingService.getCalendarETag(year, month);
+        
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .build();
+        }
+        
         Map<Integer, CalendarDay> calendar = bookingService.getCalendar(year, month);
+        return ResponseEntity.ok()
+            .eTag(eTag)
+            .cacheControl(CacheControl.noCache())
+            .body(calendar);
+    }
+
+    @Operation(
+        summary = "Display Calendar Range",
+        description = "Returns the calendar days of every month from 'from' to 'to' (inclusive, yyyy-MM), keyed by month."
+    )
+    @GetMapping("/calendar/range")
+    public ResponseEntity<Map<String, Map<Integer, CalendarDay>>> displayCalendarRange(
+        @Parameter(description = "First month, e.g. 2026-11") @RequestParam String from,
+        @Parameter(description = "Last month, e.g. 2027-04") @RequestParam String to
+    ) {
+        YearMonth fromMonth;
+        YearMonth toMonth;
+
+        try {
+            fromMonth = YearMonth.parse(from);
+            toMonth = YearMonth.parse(to);
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException("Invalid month format. Use yyyy-MM", ex);
+        }
+
+        Map<String, Map<Integer, CalendarDay>> calendar = bookingService.getCalendarRange(fromMonth, toMonth);
         return new ResponseEntity<>(calendar, HttpStatus.OK);
     }
 
@@ -98,6 +149,19 @@ public class MainController extends AbstractController {
         return new ResponseEntity<>(stats, HttpStatus.OK);
     }
 
+    @Operation(
+        summary = "Get Dashboard Overview",
+        description = "Returns the dashboard statistics with yearly and monthly trends in one response. "
+        		+ "The parts are read concurrently; any part that times out or fails is left null and named in 'unavailable'."
+    )
+    @GetMapping("/dashboard/overview")
+    public ResponseEntity<AdminDashboardOverview> displayDashboardOverview(
+        @Parameter(description = "Date whose month and year to summarize; defaults to today") 
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return ResponseEntity.ok(dashboardOverviewService.getOverview(date != null ? date : LocalDate.now()));
+    }
+
 
     @Operation(
         summary = "Get Dashboard Bookings",
@@ -112,6 +176,17 @@ public class MainController extends AbstractController {
     }
 
 
+    @Operation(
+        summary = "Rebuild Dashboard Statistics",
+        description = "Recomputes the daily booking rollup behind the dashboard charts from the booking table. "
+        		+ "Run it while bookings are not being written; returns the number of rollup rows."
+    )
+    @PostMapping("/dashboard/stats/rebuild")
+    public ResponseEntity<Map<String, Long>> rebuildDashboardStats() {
+        return ResponseEntity.ok(Map.of("rows", bookingStatsService.rebuild()));
+    }
+
+
     // -------------------------------
     // FINANCES
     // -------------------------------
@@ -168,15 +243,7 @@ public class MainController extends AbstractController {
         @Parameter(description = "Start year") @RequestParam Integer startYear,
         @Parameter(description = "End year") @RequestParam Integer endYear
     ) {
-        List<ChartData> yearlyBooking = adminDashboardService.getYearlyBookings(startYear, endYear);
-        List<ChartData> yearlyVisitors = adminDashboardService.getYearlyVisitors(startYear, endYear);
-        List<ChartData> yearlyAvailedPackages = adminDashboardService.getAvailedPackages(startYear, endYear);
-
-        return ResponseEntity.ok(TrendsResponse.builder()
-                .bookings(yearlyBooking)
-                .visitors(yearlyVisitors)
-                .packages(yearlyAvailedPackages)
-                .build());
+        return ResponseEntity.ok(adminDashboardService.getYearlyTrends(startYear, endYear));
     }
 
     @Operation(
@@ -187,15 +254,35 @@ public class MainController extends AbstractController {
     public ResponseEntity<TrendsResponse> displayDashboardTrendsMonthly(
         @Parameter(description = "Year to retrieve monthly trends") @RequestParam Integer year
     ) {
-        List<ChartData> monthlyBooking = adminDashboardService.getMonthlyBookings(year);
-        List<ChartData> monthlyVisitors = adminDashboardService.getMonthlyVisitors(year);
-        List<ChartData> monthlyAvailedPackages = adminDashboardService.getAvailedPackages(year, year);
+        return ResponseEntity.ok(adminDashboardService.getMonthlyTrends(year));
+    }
 
-        return ResponseEntity.ok(TrendsResponse.builder()
-                .bookings(monthlyBooking)
-                .visitors(monthlyVisitors)
-                .packages(monthlyAvailedPackages)
-                .build());
+    @Operation(
+        summary = "Get Booking Series",
+        description = "Returns bookings, visitors, and revenue per day, week, month, or year over a date range. "
+        		+ "Periods without bookings are included with zeros."
+    )
+    @GetMapping("/dashboard/series")
+    public ResponseEntity<List<SeriesPoint>> displayDashboardSeries(
+        @Parameter(description = "First date of the range") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @Parameter(description = "Last date of the range") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @Parameter(description = "DAY, WEEK, MONTH, or YEAR") @RequestParam Granularity granularity,
+        @Parameter(description = "Booking status to count; all statuses when omitted") @RequestParam(required = false) BookingStatus status
+    ) {
+        return ResponseEntity.ok(bookingSeriesService.getSeries(from, to, granularity, status));
+    }
+
+    @Operation(
+        summary = "Slice Booking Analytics",
+        description = "Filters bookings by date range, package, status, payment method, weekday, hour, and group size, "
+        		+ "groups them by up to three of those dimensions, and returns bookings, visitors, and revenue per group. "
+        		+ "Served from memory, not the database."
+    )
+    @PostMapping("/dashboard/analytics")
+    public ResponseEntity<List<AnalyticsRow>> displayDashboardAnalytics(
+        @Parameter(description = "Filters and group-by dimensions") @RequestBody AnalyticsRequest request
+    ) {
+        return ResponseEntity.ok(bookingCubeService.query(request));
     }
 
 
@@ -243,4 +330,40 @@ public class MainController extends AbstractController {
 
     	    return ResponseEntity.ok(logs);
     	}
+
+    @Operation(
+        summary = "Get Entity State At A Time",
+        description = "Rebuilds an audited entity's JSON state at the given time from its last audit snapshot "
+        		+ "and the diffs recorded after it. Defaults to now."
+    )
+    @GetMapping("/dashboard/logs/state")
+    public ResponseEntity<JsonNode> getAuditedState(
+        @Parameter(description = "Audited entity name, e.g. Booking") @RequestParam String entityName,
+        @Parameter(description = "ID of the entity") @RequestParam Long entityId,
+        @Parameter(description = "Datetime in ISO format (yyyy-MM-ddTHH:mm:ss)")
+        @RequestParam(required = false) String at
+    ) {
+        LocalDateTime time = null;
+
+        try {
+            if (at != null) {
+                time = LocalDateTime.parse(at);
+            }
+        } catch (DateTimeParseException ex) {
+            throw new IllegalArgumentException(
+                "Invalid datetime format. Use yyyy-MM-ddTHH:mm:ss", ex
+            );
+        }
+
+        return ResponseEntity.ok(auditLogService.getStateAt(entityName, entityId, time));
+    }
+
+    @Operation(
+        summary = "Get Audit Log Queue Statistics",
+        description = "Returns the audit log writer's durability mode, current and peak queue depth, and write counters."
+    )
+    @GetMapping("/dashboard/logs/queue")
+    public ResponseEntity<AuditQueueStats> getAuditQueueStats() {
+        return ResponseEntity.ok(auditLogService.getQueueStats());
+    }
 }
@@ -1,7 +1,10 @@
 package com.example.geco.domains;
 
+import com.example.geco.services.HomeStatsListener;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -16,6 +19,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(HomeStatsListener.class)
 @Table(name="attraction")
 public class Attraction {
 	@Id
@@ -11,6 +11,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -23,7 +24,11 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "audit_log")
+@Table(
+	name = "audit_log",
+	// Snapshot tracking and point-in-time reads look up one entity's entries by ID.
+	indexes = @Index(name = "idx_audit_log_entity", columnList = "entityName, entityId, id")
+)
 public class AuditLog {
 	public enum LogAction {
 	    CREATE,
@@ -48,10 +53,16 @@ public class AuditLog {
     private Role performedByRole; 
 
     @Column(columnDefinition = "TEXT")
-    private String oldValue;       // JSON or string representation of old state
+    private String oldValue;       // Only set when the old state could not be read as JSON
 
     @Column(columnDefinition = "TEXT")
-    private String newValue;       // JSON or string representation of new state
+    private String newValue;       // Full JSON state, on snapshot entries only
+
+    @Column(columnDefinition = "TEXT")
+    private String diff;           // RFC 6902 patch from the old state to the new one
+    
+    // Snapshots anchor history reconstruction; rows written before diffs existed have null here.
+    private Boolean isSnapshot;
     
     @Builder.Default
     private LocalDateTime timestamp = null;  
@@ -6,23 +6,29 @@ import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.example.geco.services.BookingCubeListener;
+import com.example.geco.services.BookingStatsListener;
+import com.example.geco.services.HomeStatsListener;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -33,7 +39,12 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name="booking")
+@EntityListeners({BookingStatsListener.class, BookingCubeListener.class, HomeStatsListener.class})
+@Table(
+	name="booking",
+	// Matches the booking list order so keyset pages are index range scans.
+	indexes = @Index(name = "idx_booking_visit_order", columnList = "visitDate DESC, visitTime, bookingId")
+)
 public class Booking {
 	public enum BookingStatus {
 	    PENDING, CANCELLED, APPROVED, REJECTED, COMPLETED;
@@ -92,6 +103,12 @@ public class Booking {
 	
 	private String staffReply;
 	
+	// Optimistic lock; a write based on a stale read fails instead of overwriting a newer change.
+	@Version
+	@Builder.Default
+	@Column(nullable = false, columnDefinition = "bigint default 0")
+	private long version = 0L;
+	
 	@Column(name = "created_at", nullable = false, updatable = false)
 	@JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
 	private LocalDateTime createdAt;
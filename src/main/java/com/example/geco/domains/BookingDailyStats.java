@@ -0,0 +1,64 @@
+package com.example.geco.domains;
+
+import java.time.LocalDate;
+
+import com.example.geco.domains.Booking.BookingStatus;
+import com.example.geco.domains.Booking.PaymentMethod;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Active bookings summed per visit date, package, booking status and payment method.
+// BookingStatsService keeps it in step with booking writes; dashboard charts read only this.
+// Rows are only ever read through SUM, so keys with a NULL package or payment method,
+// which the unique key does not merge, still add up correctly.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(
+	name = "booking_daily_stats",
+	uniqueConstraints = @UniqueConstraint(
+		name = "uk_booking_daily_stats_key",
+		columnNames = {"stat_date", "tour_package_id", "booking_status", "payment_method"}
+	),
+	indexes = @Index(name = "idx_booking_daily_stats_status", columnList = "booking_status, stat_date")
+)
+public class BookingDailyStats {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "stat_date", nullable = false)
+	private LocalDate statDate;
+
+	@Column(name = "tour_package_id")
+	private Integer tourPackageId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "booking_status", nullable = false)
+	private BookingStatus bookingStatus;
+
+	@Enumerated(EnumType.STRING)
+	@Column(name = "payment_method")
+	private PaymentMethod paymentMethod;
+
+	private long bookings;
+
+	private long visitors;
+
+	private double revenue;
+}
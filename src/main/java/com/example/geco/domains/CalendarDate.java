@@ -2,6 +2,8 @@ package com.example.geco.domains;
 
 import java.time.LocalDate;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -12,6 +14,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -40,4 +43,30 @@ public class CalendarDate {
 	private DateStatus dateStatus;
 	
 	private Integer bookingLimit;
+	
+	// Running totals over active bookings on this date, maintained by BookingService
+	// and repaired by CalendarCounterReconciler.
+	@Builder.Default
+	@Column(nullable = false)
+	private int totalBookings = 0;
+	
+	@Builder.Default
+	@Column(nullable = false)
+	private int acceptedBookings = 0;
+	
+	@Builder.Default
+	@Column(nullable = false)
+	private int visitorCount = 0;
+	
+	// Bumped on every booking write for this date, so other nodes know to reload their schedule.
+	@JsonIgnore
+	@Builder.Default
+	@Column(nullable = false)
+	private long scheduleVersion = 0L;
+	
+	// Optimistic lock, so a calendar edit cannot overwrite counters a booking moved meanwhile.
+	@Version
+	@Builder.Default
+	@Column(nullable = false, columnDefinition = "bigint default 0")
+	private long version = 0L;
 }
@@ -1,5 +1,9 @@
 package com.example.geco.domains;
+
+import com.example.geco.services.PricingCatalogListener;
+
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Table;
@@ -13,6 +17,7 @@ import jakarta.persistence.Id;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(PricingCatalogListener.class)
 @Table(name="discount")
 public class Discount {
 	@Id
@@ -1,6 +1,9 @@
 package com.example.geco.domains;
 
+import com.example.geco.services.HomeStatsListener;
+
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
@@ -19,6 +22,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(HomeStatsListener.class)
 @Table(name="feedback")
 public class Feedback {
 	public enum FeedbackStatus {
@@ -0,0 +1,73 @@
+package com.example.geco.domains;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Response stored against a client's Idempotency-Key, so a retried request is answered
+// from here instead of being run again. Keys are scoped to the account and operation.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(
+	name = "idempotency_record",
+	uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "operation", "idempotency_key"})
+)
+public class IdempotencyRecord {
+	public enum RecordStatus {
+		IN_PROGRESS,
+		COMPLETED
+	}
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "account_id", nullable = false)
+	private Integer accountId;
+
+	@Column(nullable = false, length = 100)
+	private String operation;
+
+	@Column(name = "idempotency_key", nullable = false)
+	private String idempotencyKey;
+
+	// SHA-256 of the request, to reject a key reused for a different request.
+	@Column(nullable = false, length = 64)
+	private String requestHash;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private RecordStatus status;
+
+	private Integer responseStatus;
+
+	@Column(columnDefinition = "LONGTEXT")
+	private String responseBody;
+
+	@Column(nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+	@Column(nullable = false)
+	private LocalDateTime expiresAt;
+
+	@PrePersist
+	void onCreate() {
+		createdAt = LocalDateTime.now();
+	}
+}
@@ -33,8 +33,9 @@ public class Notification {
     @JoinColumn(name = "account_id", nullable = false, referencedColumnName = "accountId")
     private Account account;
 
+    // Null for notifications not about a booking, such as waitlist offers.
     @ManyToOne
-    @JoinColumn(name = "booking_id", nullable = false, referencedColumnName = "bookingId")
+    @JoinColumn(name = "booking_id", referencedColumnName = "bookingId")
     private Booking booking;
 
     @Column(nullable = false, length = 1000)
@@ -49,8 +50,11 @@ public class Notification {
     @Builder.Default
 	boolean isActive = true;
 
+    // Notifications from the outbox keep the time of the booking change.
     @PrePersist
     void onCreate() {
-        createdAt = LocalDateTime.now();
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
     }
 }
@@ -0,0 +1,53 @@
+package com.example.geco.domains;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Pending notification written in the same transaction as the booking change.
+// NotificationDispatcher turns these rows into Notification rows and deletes them.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name="notification_outbox")
+public class NotificationOutbox {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false)
+	private Integer accountId;
+
+	// Null for notifications not about a booking.
+	private Integer bookingId;
+
+	@Column(nullable = false, length = 1000)
+	private String message;
+
+	// Failed dispatch attempts; rows stop being retried at NotificationDispatcher.MAX_ATTEMPTS.
+	@Builder.Default
+	private int attempts = 0;
+
+	@Column(length = 500)
+	private String lastError;
+
+	@Column(name = "created_at", nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+	@PrePersist
+	void onCreate() {
+		createdAt = LocalDateTime.now();
+	}
+}
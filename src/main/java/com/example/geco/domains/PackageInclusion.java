@@ -1,6 +1,9 @@
 package com.example.geco.domains;
 
+import com.example.geco.services.PricingCatalogListener;
+
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -16,6 +19,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(PricingCatalogListener.class)
 @Table(
 		name="package_inclusion",
 		uniqueConstraints = @UniqueConstraint(columnNames = "inclusionName")
@@ -0,0 +1,32 @@
+package com.example.geco.domains;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One row per scheduled job that must run on a single node at a time. The node
+// named in owner holds the job until expiresAt, after which any node may take it.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "scheduler_lease")
+public class SchedulerLease {
+	@Id
+	@Column(length = 100)
+	private String name;
+
+	@Column(nullable = false)
+	private String owner;
+
+	@Column(nullable = false)
+	private LocalDateTime expiresAt;
+}
@@ -0,0 +1,64 @@
+package com.example.geco.domains;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A time slot reserved for a user during checkout. It blocks the interval for other
+// bookings until it expires or POST /booking consumes it with its token.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(
+	name = "slot_hold",
+	indexes = @Index(name = "idx_slot_hold_visit_date", columnList = "visitDate, expiresAt")
+)
+public class SlotHold {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false, unique = true, length = 36)
+	private String token;
+
+	@Column(nullable = false)
+	private Integer accountId;
+
+	@Column(nullable = false)
+	private Integer tourPackageId;
+
+	@Column(nullable = false)
+	private LocalDate visitDate;
+
+	@Column(nullable = false)
+	private LocalTime visitTime;
+
+	@Column(nullable = false)
+	private Integer durationMinutes;
+
+	@Column(nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+	@Column(nullable = false)
+	private LocalDateTime expiresAt;
+
+	@PrePersist
+	void onCreate() {
+		createdAt = LocalDateTime.now();
+	}
+}
@@ -1,6 +1,9 @@
 package com.example.geco.domains;
 
+import com.example.geco.services.AccountSearchListener;
+
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -15,6 +18,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@EntityListeners(AccountSearchListener.class)
 @Table(name="user_detail")
 public class UserDetail {
 	@Id
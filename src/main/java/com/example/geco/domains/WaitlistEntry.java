@@ -0,0 +1,72 @@
+package com.example.geco.domains;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A user waiting for a spot on a fully booked date. When capacity frees up the oldest
+// WAITING entries are OFFERED and have until offerExpiresAt to book; an offer that
+// runs out is EXPIRED and passed on to the next entry.
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(
+	name = "waitlist_entry",
+	indexes = {
+		@Index(name = "idx_waitlist_visit_date", columnList = "visitDate, status, createdAt"),
+		@Index(name = "idx_waitlist_account", columnList = "accountId, status")
+	}
+)
+public class WaitlistEntry {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false)
+	private Integer accountId;
+
+	@Column(nullable = false)
+	private Integer tourPackageId;
+
+	@Column(nullable = false)
+	private LocalDate visitDate;
+
+	@Column(nullable = false)
+	private Integer groupSize;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private WaitlistStatus status;
+
+	private LocalDateTime offeredAt;
+
+	private LocalDateTime offerExpiresAt;
+
+	@Column(nullable = false, updatable = false)
+	private LocalDateTime createdAt;
+
+	public enum WaitlistStatus {
+		WAITING, OFFERED, CLAIMED, EXPIRED, LEFT
+	}
+
+	@PrePersist
+	void onCreate() {
+		createdAt = LocalDateTime.now();
+	}
+}
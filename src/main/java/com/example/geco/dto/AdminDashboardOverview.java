@@ -0,0 +1,23 @@
+package com.example.geco.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Parts listed in unavailable timed out or failed and are left null.
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminDashboardOverview {
+	private Integer monthlyBooking;
+	private Long monthlyRevenue;
+	private Integer pendingBookings;
+	private Integer unreadFeedback;
+	private TrendsResponse yearlyTrends;
+	private TrendsResponse monthlyTrends;
+	private List<String> unavailable;
+}
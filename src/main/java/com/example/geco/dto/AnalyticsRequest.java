@@ -0,0 +1,35 @@
+package com.example.geco.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.example.geco.domains.Booking.BookingStatus;
+import com.example.geco.domains.Booking.PaymentMethod;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Every filter left null or empty matches all bookings; groupBy takes up to three dimensions.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalyticsRequest {
+	public enum Dimension {
+		PACKAGE, STATUS, PAYMENT_METHOD, WEEKDAY, HOUR, GROUP_SIZE, DATE, MONTH, YEAR;
+	}
+
+	private LocalDate startDate;
+	private LocalDate endDate;
+	private List<Integer> tourPackageIds;
+	private List<BookingStatus> statuses;
+	private List<PaymentMethod> paymentMethods;
+	private List<DayOfWeek> weekdays;
+	private List<Integer> hours;
+	private Integer minGroupSize;
+	private Integer maxGroupSize;
+	private List<Dimension> groupBy;
+}
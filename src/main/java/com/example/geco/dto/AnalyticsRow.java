@@ -0,0 +1,20 @@
+package com.example.geco.dto;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// group maps each requested dimension to this row's value of it.
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalyticsRow {
+	private Map<String, Object> group;
+	private Long bookings;
+	private Long visitors;
+	private Double revenue;
+}
@@ -0,0 +1,21 @@
+package com.example.geco.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditQueueStats {
+	private String durability;
+	private int depth;
+	private int capacity;
+	private int highWaterMark;
+	private long written;
+	private long failed;
+	// Entries written on the caller's thread because the queue was full.
+	private long overflowed;
+}
@@ -0,0 +1,19 @@
+package com.example.geco.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailableSlot {
+	private LocalDate visitDate;
+	private LocalTime startTime;
+	private LocalTime endTime;
+}
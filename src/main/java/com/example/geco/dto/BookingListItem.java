@@ -0,0 +1,127 @@
+package com.example.geco.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import com.example.geco.domains.Booking.BookingStatus;
+import com.example.geco.domains.Booking.PaymentMethod;
+import com.example.geco.domains.Booking.PaymentStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Row of the booking list endpoints. Built straight from a joined projection query,
+// so listing bookings never loads the Account, TourPackage or BookingInclusion entities.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingListItem {
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class AccountSummary {
+		private Integer accountId;
+		private String email;
+		private String firstName;
+		private String surname;
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class PackageSummary {
+		private Integer packageId;
+		private String name;
+		private Integer duration;
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	@Builder
+	public static class InclusionSummary {
+		private Integer bookingInclusionId;
+		private Integer inclusionId;
+		private String inclusionName;
+		private Integer quantity;
+		private Integer priceAtBooking;
+	}
+
+	private Integer bookingId;
+
+	private AccountSummary account;
+	private PackageSummary tourPackage;
+
+	// Only with ?expand=inclusions.
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private List<InclusionSummary> bookingInclusions;
+
+	private LocalDate visitDate;
+	private LocalTime visitTime;
+	private Integer groupSize;
+
+	private PaymentMethod paymentMethod;
+	private BookingStatus bookingStatus;
+	private PaymentStatus paymentStatus;
+
+	private Double totalPrice;
+	private boolean isActive;
+
+	private String proofOfPaymentPhoto;
+	private String staffReply;
+
+	@JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+	private LocalDateTime createdAt;
+
+	@JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+	private LocalDateTime updatedAt;
+
+	// Used by the JPQL constructor expression in BookingRepository.
+	public BookingListItem(
+			Integer bookingId,
+			LocalDate visitDate,
+			LocalTime visitTime,
+			Integer groupSize,
+			PaymentMethod paymentMethod,
+			BookingStatus bookingStatus,
+			PaymentStatus paymentStatus,
+			Double totalPrice,
+			boolean isActive,
+			String proofOfPaymentPhoto,
+			String staffReply,
+			LocalDateTime createdAt,
+			LocalDateTime updatedAt,
+			Integer accountId,
+			String email,
+			String firstName,
+			String surname,
+			Integer packageId,
+			String packageName,
+			Integer packageDuration
+	) {
+		this.bookingId = bookingId;
+		this.visitDate = visitDate;
+		this.visitTime = visitTime;
+		this.groupSize = groupSize;
+		this.paymentMethod = paymentMethod;
+		this.bookingStatus = bookingStatus;
+		this.paymentStatus = paymentStatus;
+		this.totalPrice = totalPrice;
+		this.isActive = isActive;
+		this.proofOfPaymentPhoto = proofOfPaymentPhoto;
+		this.staffReply = staffReply;
+		this.createdAt = createdAt;
+		this.updatedAt = updatedAt;
+		this.account = accountId != null ? new AccountSummary(accountId, email, firstName, surname) : null;
+		this.tourPackage = packageId != null ? new PackageSummary(packageId, packageName, packageDuration) : null;
+	}
+}
@@ -0,0 +1,29 @@
+package com.example.geco.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Price breakdown of one configuration. A configuration that cannot be booked carries
+// only its package, group size and the error, so one bad candidate does not fail a bulk quote.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BookingQuote {
+	private Integer tourPackageId;
+	private Integer groupSize;
+	
+	private Double basePrice;
+	private Double personsPrice;
+	private Double inclusionsPrice;
+	private Double discountPercent;
+	private Double discountAmount;
+	private Double totalPrice;
+	
+	private String error;
+}
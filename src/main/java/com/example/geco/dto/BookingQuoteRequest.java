@@ -0,0 +1,20 @@
+package com.example.geco.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One candidate configuration to price with POST /booking/quote. Checked by
+// PricingService item by item, so one invalid candidate does not reject the batch.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingQuoteRequest {
+	private Integer tourPackageId;
+	private Integer groupSize;
+	private List<BookingInclusionRequest> bookingInclusionRequests;
+}
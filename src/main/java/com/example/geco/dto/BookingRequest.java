@@ -37,4 +37,7 @@ public class BookingRequest {
 	@NotNull
 	@Min(value = 1, message = "Invalid Booking's group size.")
 	private Integer groupSize;
+	
+	// Token from POST /booking/hold; the held slot is consumed by this booking.
+	private String holdToken;
 }
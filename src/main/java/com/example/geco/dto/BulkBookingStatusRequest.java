@@ -0,0 +1,22 @@
+package com.example.geco.dto;
+
+import java.util.List;
+
+import com.example.geco.domains.Booking.BookingStatus;
+import com.example.geco.domains.Booking.PaymentStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Moves every listed booking to the same booking and/or payment status with PATCH /booking/staff/bulk.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkBookingStatusRequest {
+	private List<Integer> bookingIds;
+	private BookingStatus bookingStatus;
+	private PaymentStatus paymentStatus;
+}
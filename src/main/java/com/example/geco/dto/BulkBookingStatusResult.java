@@ -0,0 +1,19 @@
+package com.example.geco.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkBookingStatusResult {
+	private List<Integer> updatedIds;
+	// Bookings left untouched, with the reason each one could not be moved.
+	private Map<Integer, String> rejected;
+}
@@ -12,8 +12,13 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @Builder
 public class CalendarDay {
+	public enum BusyLevel {
+		LOW, MODERATE, HIGH, FULL
+	}
+	
 	int visitors;
 	int bookings;
 	DateStatus status;
-	int bookingLimit;
+	Integer bookingLimit;
+	BusyLevel busyLevel;
 }
@@ -0,0 +1,14 @@
+package com.example.geco.dto;
+
+import java.time.LocalDate;
+
+// Per-day aggregate of active bookings, read straight from a grouped query.
+public interface CalendarDaySummary {
+	LocalDate getVisitDate();
+	
+	Long getBookings();
+	
+	Long getVisitors();
+	
+	Long getAcceptedBookings();
+}
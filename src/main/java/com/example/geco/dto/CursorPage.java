@@ -0,0 +1,24 @@
+package com.example.geco.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+	private List<T> content;
+	private int size;
+	private boolean hasNext;
+	
+	// Pass back as ?cursor= to fetch the following page; null on the last page.
+	private String nextCursor;
+	
+	// Null when the count was skipped.
+	private Long totalElements;
+}
@@ -0,0 +1,21 @@
+package com.example.geco.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One bucket of a booking time series; startDate is the first day the bucket covers.
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeriesPoint {
+	private String period;
+	private LocalDate startDate;
+	private Long bookings;
+	private Long visitors;
+	private Long revenue;
+}
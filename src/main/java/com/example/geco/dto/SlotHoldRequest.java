@@ -0,0 +1,25 @@
+package com.example.geco.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlotHoldRequest {
+	@NotNull(message = "Tour package ID is missing.")
+	private Integer tourPackageId;
+
+	@NotNull(message = "Visit date is missing.")
+	private LocalDate visitDate;
+
+	@NotNull(message = "Visit time is missing.")
+	private LocalTime visitTime;
+}
@@ -0,0 +1,28 @@
+package com.example.geco.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Pass token as holdToken on POST /booking before expiresAt to book the held slot.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlotHoldResponse {
+	private String token;
+	private Integer tourPackageId;
+	private LocalDate visitDate;
+	private LocalTime startTime;
+	private LocalTime endTime;
+
+	@JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+	private LocalDateTime expiresAt;
+}
@@ -0,0 +1,24 @@
+package com.example.geco.dto;
+
+import java.time.LocalDate;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistRequest {
+	@NotNull(message = "Tour package ID is missing.")
+	private Integer tourPackageId;
+
+	@NotNull(message = "Visit date is missing.")
+	private LocalDate visitDate;
+
+	@NotNull(message = "Group size is missing.")
+	private Integer groupSize;
+}
@@ -0,0 +1,23 @@
+package com.example.geco.exceptions;
+
+public class ConflictException extends RuntimeException {
+    // State of the contested resource, returned to the client alongside the error.
+    private final transient Object current;
+
+    public ConflictException() {
+        this(null, null);
+    }
+
+    public ConflictException(String message) {
+        this(message, null);
+    }
+
+    public ConflictException(String message, Object current) {
+        super(message);
+        this.current = current;
+    }
+
+    public Object getCurrent() {
+        return current;
+    }
+}
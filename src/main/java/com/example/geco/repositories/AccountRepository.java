@@ -1,10 +1,14 @@
 package com.example.geco.repositories;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.geco.domains.Account;
@@ -25,27 +29,33 @@ public interface AccountRepository extends JpaRepository<Account, Integer>{
 
 	Page<Account> findAllByRoleAndIsActiveOrderByDetail_Email(Role staff, boolean isActive, Pageable pageable);
 
-	Page<Account> findAllByDetail_EmailContainingIgnoreCaseOrderByDetail_Email(
-		    String email,
-		    Pageable pageable
-		);
-
-	Page<Account> findAllByDetail_EmailContainingIgnoreCaseAndRoleOrderByDetail_Email(
-	    String email,
-	    Role role,
-	    Pageable pageable
-	);
-
-	Page<Account> findAllByDetail_EmailContainingIgnoreCaseAndIsActiveOrderByDetail_Email(
-	    String email,
-	    boolean isActive,
-	    Pageable pageable
-	);
-
-	Page<Account> findAllByDetail_EmailContainingIgnoreCaseAndRoleAndIsActiveOrderByDetail_Email(
-	    String email,
-	    Role role,
-	    boolean isActive,
+	// accountIds holds the AccountSearchIndex matches for an email search; ignored
+	// (but still non-empty) when anyAccount is true. email is only set for searches
+	// matching too many accounts for the list.
+	@Query("""
+	  SELECT a
+	  FROM Account a
+	  LEFT JOIN a.detail d
+	  WHERE (:anyAccount = true OR a.accountId IN :accountIds)
+	    AND (:email IS NULL OR LOWER(d.email) LIKE LOWER(CONCAT('%', :email, '%')))
+	    AND (:role IS NULL OR a.role = :role)
+	    AND (:isActive IS NULL OR a.isActive = :isActive)
+	  ORDER BY d.email
+	""")
+	Page<Account> searchByEmail(
+	    @Param("anyAccount") boolean anyAccount,
+	    @Param("accountIds") Collection<Integer> accountIds,
+	    @Param("email") String email,
+	    @Param("role") Role role,
+	    @Param("isActive") Boolean isActive,
 	    Pageable pageable
 	);
+	
+	// Rows for AccountSearchIndex: accountId, detailId, email, firstName, surname.
+	@Query("""
+	  SELECT a.accountId, d.detailId, d.email, d.firstName, d.surname
+	  FROM Account a
+	  LEFT JOIN a.detail d
+	""")
+	List<Object[]> findSearchIndexRows();
 }
\ No newline at end of file
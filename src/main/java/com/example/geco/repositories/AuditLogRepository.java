@@ -1,10 +1,13 @@
 package com.example.geco.repositories;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.geco.domains.AuditLog;
@@ -40,4 +43,40 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
             LocalDateTime endTime,
             Pageable pageable
     );
-}
\ No newline at end of file
+
+    // Latest snapshot (or pre-diff row) of an entity at or before the given time. Entries
+    // are ordered by when the change was captured: an entry written on overflow can get
+    // a lower id than older entries still queued, so ids alone do not follow the changes.
+    @Query("""
+    		SELECT l FROM AuditLog l
+    		WHERE l.entityName = :entityName
+    		AND l.entityId = :entityId
+    		AND l.timestamp <= :at
+    		AND (l.isSnapshot IS NULL OR l.isSnapshot = true)
+    		ORDER BY l.timestamp DESC, l.id DESC
+    		""")
+    List<AuditLog> findSnapshotsAtOrBefore(
+            @Param("entityName") String entityName,
+            @Param("entityId") Long entityId,
+            @Param("at") LocalDateTime at,
+            Pageable pageable
+    );
+
+    @Query("""
+    		SELECT l FROM AuditLog l
+    		WHERE l.entityName = :entityName
+    		AND l.entityId = :entityId
+    		AND (l.timestamp > :afterTime OR (l.timestamp = :afterTime AND l.id > :afterId))
+    		AND l.timestamp <= :at
+    		AND l.isSnapshot = false
+    		AND l.diff IS NOT NULL
+    		ORDER BY l.timestamp, l.id
+    		""")
+    List<AuditLog> findDiffsAfter(
+            @Param("entityName") String entityName,
+            @Param("entityId") Long entityId,
+            @Param("afterTime") LocalDateTime afterTime,
+            @Param("afterId") Long afterId,
+            @Param("at") LocalDateTime at
+    );
+}
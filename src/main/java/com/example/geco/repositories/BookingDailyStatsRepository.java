@@ -0,0 +1,151 @@
+package com.example.geco.repositories;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.geco.domains.Booking.BookingStatus;
+import com.example.geco.domains.BookingDailyStats;
+
+@Repository
+public interface BookingDailyStatsRepository extends JpaRepository<BookingDailyStats, Long> {
+	@Query("SELECT MIN(YEAR(s.statDate)) FROM BookingDailyStats s WHERE s.bookings > 0")
+	Integer getEarliestYear();
+
+	@Query("SELECT MAX(YEAR(s.statDate)) FROM BookingDailyStats s WHERE s.bookings > 0")
+	Integer getLatestYear();
+
+	@Query("""
+	  SELECT COALESCE(SUM(s.bookings), 0) FROM BookingDailyStats s
+	  WHERE s.statDate BETWEEN :startDate AND :endDate
+	""")
+	Long sumBookingsBetween(
+	    @Param("startDate") LocalDate startDate,
+	    @Param("endDate") LocalDate endDate
+	);
+
+	@Query("SELECT COALESCE(SUM(s.bookings), 0) FROM BookingDailyStats s")
+	Long sumBookings();
+
+	@Query("SELECT COALESCE(SUM(s.bookings), 0) FROM BookingDailyStats s WHERE s.bookingStatus = :status")
+	Long sumBookingsByStatus(@Param("status") BookingStatus status);
+
+	@Query("""
+	  SELECT COALESCE(SUM(s.bookings), 0) FROM BookingDailyStats s
+	  WHERE s.bookingStatus = :status
+	    AND s.statDate BETWEEN :startDate AND :endDate
+	""")
+	Long sumBookingsByStatusBetween(
+	    @Param("status") BookingStatus status,
+	    @Param("startDate") LocalDate startDate,
+	    @Param("endDate") LocalDate endDate
+	);
+
+	@Query("""
+	  SELECT COALESCE(SUM(s.bookings), 0) FROM BookingDailyStats s
+	  WHERE s.tourPackageId = :tourPackageId
+	    AND s.statDate BETWEEN :startDate AND :endDate
+	""")
+	Long sumBookingsByPackageBetween(
+	    @Param("tourPackageId") Integer tourPackageId,
+	    @Param("startDate") LocalDate startDate,
+	    @Param("endDate") LocalDate endDate
+	);
+
+	@Query("""
+	  SELECT COALESCE(SUM(s.visitors), 0) FROM BookingDailyStats s
+	  WHERE s.bookingStatus = :status
+	    AND s.statDate BETWEEN :startDate AND :endDate
+	""")
+	Long sumVisitorsByStatusBetween(
+	    @Param("status") BookingStatus status,
+	    @Param("startDate") LocalDate startDate,
+	    @Param("endDate") LocalDate endDate
+	);
+
+	@Query("SELECT COALESCE(SUM(s.revenue), 0) FROM BookingDailyStats s WHERE s.bookingStatus = :status")
+	Long sumRevenueByStatus(@Param("status") BookingStatus status);
+
+	@Query("""
+	  SELECT COALESCE(SUM(s.revenue), 0) FROM BookingDailyStats s
+	  WHERE s.bookingStatus = :status
+	    AND s.statDate BETWEEN :startDate AND :endDate
+	""")
+	Long sumRevenueByStatusBetween(
+	    @Param("status") BookingStatus status,
+	    @Param("startDate") LocalDate startDate,
+	    @Param("endDate") LocalDate endDate
+	);
+
+	// {total bookings, completed bookings, completed revenue} of one calendar month across a range of years.
+	@Query("""
+	  SELECT
+	    COALESCE(SUM(s.bookings), 0),
+	    COALESCE(SUM(CASE WHEN s.bookingStatus = com.example.geco.domains.Booking.BookingStatus.COMPLETED THEN s.bookings ELSE 0 END), 0),
+	    COALESCE(SUM(CASE WHEN s.bookingStatus = com.example.geco.domains.Booking.BookingStatus.COMPLETED THEN s.revenue ELSE 0 END), 0)
+	  FROM BookingDailyStats s
+	  WHERE MONTH(s.statDate) = :month
+	    AND YEAR(s.statDate) BETWEEN :startYear AND :endYear
+	""")
+	Object[] getMonthAcrossYearsStats(
+	    @Param("month") int month,
+	    @Param("startYear") int startYear,
+	    @Param("endYear") int endYear
+	);
+
+	// Series rows: the bucket, then the summed bookings, visitors and revenue. A null status matches any.
+	@Query("""
+	  SELECT s.statDate, SUM(s.bookings), SUM(s.visitors), SUM(s.revenue)
+	  FROM BookingDailyStats s
+	  WHERE s.statDate BETWEEN :startDate AND :endDate
+	    AND (:status IS NULL OR s.bookingStatus = :status)
+	  GROUP BY s.statDate
+	""")
+	List<Object[]> sumByDay(
+	    @Param("startDate") LocalDate startDate,
+	    @Param("endDate") LocalDate endDate,
+	    @Param("status") BookingStatus status
+	);
+
+	@Query("""
+	  SELECT YEAR(s.statDate), MONTH(s.statDate), SUM(s.bookings), SUM(s.visitors), SUM(s.revenue)
+	  FROM BookingDailyStats s
+	  WHERE s.statDate BETWEEN :startDate AND :endDate
+	    AND (:status IS NULL OR s.bookingStatus = :status)
+	  GROUP BY YEAR(s.statDate), MONTH(s.statDate)
+	""")
+	List<Object[]> sumByMonth(
+	    @Param("startDate") LocalDate startDate,
+	    @Param("endDate") LocalDate endDate,
+	    @Param("status") BookingStatus status
+	);
+
+	@Query("""
+	  SELECT YEAR(s.statDate), SUM(s.bookings), SUM(s.visitors), SUM(s.revenue)
+	  FROM BookingDailyStats s
+	  WHERE s.statDate BETWEEN :startDate AND :endDate
+	    AND (:status IS NULL OR s.bookingStatus = :status)
+	  GROUP BY YEAR(s.statDate)
+	""")
+	List<Object[]> sumByYear(
+	    @Param("startDate") LocalDate startDate,
+	    @Param("endDate") LocalDate endDate,
+	    @Param("status") BookingStatus status
+	);
+
+	// {tourPackageId, bookings} for every package booked in the range.
+	@Query("""
+	  SELECT s.tourPackageId, SUM(s.bookings)
+	  FROM BookingDailyStats s
+	  WHERE s.statDate BETWEEN :startDate AND :endDate
+	  GROUP BY s.tourPackageId
+	""")
+	List<Object[]> sumBookingsByPackage(
+	    @Param("startDate") LocalDate startDate,
+	    @Param("endDate") LocalDate endDate
+	);
+}
@@ -2,6 +2,8 @@ package com.example.geco.repositories;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -16,26 +18,15 @@ import com.example.geco.domains.Booking.BookingStatus;
 import com.example.geco.domains.Booking.PaymentMethod;
 import com.example.geco.domains.Booking.PaymentStatus;
 import com.example.geco.domains.TourPackage;
+import com.example.geco.dto.BookingListItem;
+import com.example.geco.dto.CalendarDaySummary;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Integer>{
 	List<Booking> findAllByOrderByVisitDateDescVisitTimeAsc();
 
-	Page<Booking> findAllByOrderByVisitDateDescVisitTimeAsc(Pageable pageable
-	);
-	
-	Page<Booking> findByAccount_AccountIdAndVisitDateBetweenOrderByVisitDateDescVisitTime(
-			int accountId, 
-			LocalDate startDate, 
-			LocalDate endDate,
-			Pageable pageable);
-
 	List<Booking> findByVisitDate(LocalDate date);
 	
-	Page<Booking> findByVisitDateBetweenOrderByVisitDateDesc(
-			LocalDate startDate, LocalDate endDate, Pageable pageable
-	);
-	
 	List<Booking> findByVisitDateBetween(
 			LocalDate startDate, LocalDate endDate
 	);
@@ -44,7 +35,6 @@ public interface BookingRepository extends JpaRepository<Booking, Integer>{
 	List<Booking> findByVisitDateOrderByVisitTimeAsc(LocalDate visitDate);
 	
 	
-	Page<Booking> findByAccount_AccountIdOrderByVisitDateDescVisitTimeAsc(int id, Pageable pageable);
 	List<Booking> findByAccount_AccountIdOrderByVisitDateDescVisitTimeAsc(int id);
 	
 	
@@ -76,6 +66,10 @@ public interface BookingRepository extends JpaRepository<Booking, Integer>{
 	@Query("SELECT MAX(YEAR(b.visitDate)) FROM Booking b")
 	Integer getLatestYear();
 	
+	// One row: [bookings with a visit date, earliest visit date, latest visit date].
+	@Query("SELECT COUNT(b.visitDate), MIN(b.visitDate), MAX(b.visitDate) FROM Booking b")
+	List<Object[]> getVisitDateSpan();
+	
 	@Query("SELECT COALESCE(SUM(b.totalPrice), 0) FROM Booking b WHERE b.bookingStatus = :status")
 	Integer findTotalRevenueByStatus(@Param("status") BookingStatus status);
 	
@@ -113,108 +107,259 @@ public interface BookingRepository extends JpaRepository<Booking, Integer>{
 
 	Long countByTourPackageAndVisitDateBetween(TourPackage tourPackage, LocalDate startDate, LocalDate endDate);
 
-	@Query("""
-	       SELECT b
-	       FROM Booking b
-	       WHERE (:accountId IS NULL OR b.account.accountId = :accountId)
-	         AND (
-	              (:startDate IS NULL AND :endDate IS NULL)
-	              OR b.visitDate BETWEEN COALESCE(:startDate, b.visitDate)
-	                                 AND COALESCE(:endDate, b.visitDate)
-	         )
-	         AND (:bookingStatus IS NULL OR b.bookingStatus = :bookingStatus)
-	         AND (:paymentStatus IS NULL OR b.paymentStatus = :paymentStatus)
-	         AND (:paymentMethod IS NULL OR b.paymentMethod = :paymentMethod)
-	         AND (:email IS NULL OR LOWER(b.account.detail.email) LIKE LOWER(CONCAT('%', :email, '%')))
-	       ORDER BY b.visitDate DESC, b.visitTime ASC
-	       """)
-	Page<Booking> findByFilters(
+	// Booking list rows as one joined projection; see BookingListItem.
+	String LIST_ITEM_SELECT = """
+	  SELECT new com.example.geco.dto.BookingListItem(
+	         b.bookingId, b.visitDate, b.visitTime, b.groupSize,
+	         b.paymentMethod, b.bookingStatus, b.paymentStatus, b.totalPrice, b.isActive,
+	         b.proofOfPaymentPhoto, b.staffReply, b.createdAt, b.updatedAt,
+	         a.accountId, d.email, d.firstName, d.surname,
+	         p.packageId, p.name, p.duration)
+	  FROM Booking b
+	  LEFT JOIN b.account a
+	  LEFT JOIN a.detail d
+	  LEFT JOIN b.tourPackage p
+	""";
+	
+	// accountIds holds the AccountSearchIndex matches for an email or client search.
+	// With anyAccount = true it is ignored, but must still be a non-empty collection.
+	// email and client are only set for searches matching too many accounts for the list.
+	String LIST_FILTERS = """
+	  WHERE (:accountId IS NULL OR a.accountId = :accountId)
+	    AND (:isActive IS NULL OR b.isActive = :isActive)
+	    AND (:startDate IS NULL OR b.visitDate >= :startDate)
+	    AND (:endDate IS NULL OR b.visitDate <= :endDate)
+	    AND (:createdFrom IS NULL OR b.createdAt >= :createdFrom)
+	    AND (:createdTo IS NULL OR b.createdAt <= :createdTo)
+	    AND (:updatedFrom IS NULL OR b.updatedAt >= :updatedFrom)
+	    AND (:updatedTo IS NULL OR b.updatedAt <= :updatedTo)
+	    AND (:bookingStatus IS NULL OR b.bookingStatus = :bookingStatus)
+	    AND (:paymentStatus IS NULL OR b.paymentStatus = :paymentStatus)
+	    AND (:paymentMethod IS NULL OR b.paymentMethod = :paymentMethod)
+	    AND (:anyAccount = true OR a.accountId IN :accountIds)
+	    AND (:email IS NULL OR LOWER(d.email) LIKE LOWER(CONCAT('%', :email, '%')))
+	    AND (:client IS NULL
+	         OR LOWER(d.email) LIKE LOWER(CONCAT('%', :client, '%'))
+	         OR LOWER(CONCAT(d.firstName, ' ', d.surname)) LIKE LOWER(CONCAT('%', :client, '%'))
+	         OR LOWER(CONCAT(d.surname, ' ', d.firstName)) LIKE LOWER(CONCAT('%', :client, '%')))
+	""";
+	
+	String LIST_ORDER = """
+	  ORDER BY b.visitDate DESC, b.visitTime ASC, b.bookingId ASC
+	""";
+	
+	@Query(
+	  value = LIST_ITEM_SELECT + LIST_FILTERS + LIST_ORDER,
+	  countQuery = """
+	    SELECT COUNT(b)
+	    FROM Booking b
+	    LEFT JOIN b.account a
+	    LEFT JOIN a.detail d
+	  """ + LIST_FILTERS
+	)
+	Page<BookingListItem> findListItemsByFilters(
 	        @Param("accountId") Integer accountId,
+	        @Param("isActive") Boolean isActive,
 	        @Param("startDate") LocalDate startDate,
 	        @Param("endDate") LocalDate endDate,
+	        @Param("createdFrom") LocalDateTime createdFrom,
+	        @Param("createdTo") LocalDateTime createdTo,
+	        @Param("updatedFrom") LocalDateTime updatedFrom,
+	        @Param("updatedTo") LocalDateTime updatedTo,
 	        @Param("bookingStatus") BookingStatus bookingStatus,
 	        @Param("paymentStatus") PaymentStatus paymentStatus,
 	        @Param("paymentMethod") PaymentMethod paymentMethod,
+	        @Param("anyAccount") boolean anyAccount,
+	        @Param("accountIds") Collection<Integer> accountIds,
 	        @Param("email") String email,
+	        @Param("client") String client,
 	        Pageable pageable
 	);
 	
-	@Query("""
-	    SELECT b
-	    FROM Booking b
-	    WHERE (:accountId IS NULL OR b.account.accountId = :accountId)
-	      AND (
-	           (:startDateTime IS NULL AND :endDateTime IS NULL)
-	           OR b.createdAt BETWEEN COALESCE(:startDateTime, b.createdAt) AND COALESCE(:endDateTime, b.createdAt)
-	      )
-	      AND (:bookingStatus IS NULL OR b.bookingStatus = :bookingStatus)
-	      AND (:paymentStatus IS NULL OR b.paymentStatus = :paymentStatus)
-	      AND (:paymentMethod IS NULL OR b.paymentMethod = :paymentMethod)
-	      AND (:email IS NULL OR LOWER(b.account.detail.email) LIKE LOWER(CONCAT('%', :email, '%')))
-	    ORDER BY b.visitDate DESC, b.visitTime ASC
-	""")
-	Page<Booking> findByFiltersByCreatedAt(
+	// Keyset pagination: rows strictly after the cursor in
+	// (visitDate DESC, visitTime ASC, bookingId ASC) order. Null visit times sort first within a day.
+	@Query(LIST_ITEM_SELECT + LIST_FILTERS + """
+	    AND (:cursorDate IS NULL
+	         OR b.visitDate < :cursorDate
+	         OR (b.visitDate = :cursorDate AND (
+	                (:cursorTime IS NULL AND (b.visitTime IS NOT NULL OR b.bookingId > :cursorId))
+	             OR (:cursorTime IS NOT NULL AND (b.visitTime > :cursorTime
+	                                              OR (b.visitTime = :cursorTime AND b.bookingId > :cursorId)))
+	         )))
+	""" + LIST_ORDER)
+	List<BookingListItem> seekListItemsByFilters(
 	        @Param("accountId") Integer accountId,
-	        @Param("startDateTime") LocalDateTime startDateTime,
-	        @Param("endDateTime") LocalDateTime endDateTime,
+	        @Param("isActive") Boolean isActive,
+	        @Param("startDate") LocalDate startDate,
+	        @Param("endDate") LocalDate endDate,
+	        @Param("createdFrom") LocalDateTime createdFrom,
+	        @Param("createdTo") LocalDateTime createdTo,
+	        @Param("updatedFrom") LocalDateTime updatedFrom,
+	        @Param("updatedTo") LocalDateTime updatedTo,
 	        @Param("bookingStatus") BookingStatus bookingStatus,
 	        @Param("paymentStatus") PaymentStatus paymentStatus,
 	        @Param("paymentMethod") PaymentMethod paymentMethod,
+	        @Param("anyAccount") boolean anyAccount,
+	        @Param("accountIds") Collection<Integer> accountIds,
 	        @Param("email") String email,
+	        @Param("client") String client,
+	        @Param("cursorDate") LocalDate cursorDate,
+	        @Param("cursorTime") LocalTime cursorTime,
+	        @Param("cursorId") Integer cursorId,
 	        Pageable pageable
 	);
-
+	
 	@Query("""
-	    SELECT b
-	    FROM Booking b
-	    WHERE (:accountId IS NULL OR b.account.accountId = :accountId)
-	      AND (
-	           (:startDateTime IS NULL AND :endDateTime IS NULL)
-	           OR b.updatedAt BETWEEN COALESCE(:startDateTime, b.updatedAt) AND COALESCE(:endDateTime, b.updatedAt)
-	      )
-	      AND (:bookingStatus IS NULL OR b.bookingStatus = :bookingStatus)
-	      AND (:paymentStatus IS NULL OR b.paymentStatus = :paymentStatus)
-	      AND (:paymentMethod IS NULL OR b.paymentMethod = :paymentMethod)
-	      AND (:email IS NULL OR LOWER(b.account.detail.email) LIKE LOWER(CONCAT('%', :email, '%')))
-	    ORDER BY b.visitDate DESC, b.visitTime ASC
-	""")
-	Page<Booking> findByFiltersByUpdatedAt(
+	  SELECT COUNT(b)
+	  FROM Booking b
+	  LEFT JOIN b.account a
+	  LEFT JOIN a.detail d
+	""" + LIST_FILTERS)
+	long countListItemsByFilters(
 	        @Param("accountId") Integer accountId,
-	        @Param("startDateTime") LocalDateTime startDateTime,
-	        @Param("endDateTime") LocalDateTime endDateTime,
+	        @Param("isActive") Boolean isActive,
+	        @Param("startDate") LocalDate startDate,
+	        @Param("endDate") LocalDate endDate,
+	        @Param("createdFrom") LocalDateTime createdFrom,
+	        @Param("createdTo") LocalDateTime createdTo,
+	        @Param("updatedFrom") LocalDateTime updatedFrom,
+	        @Param("updatedTo") LocalDateTime updatedTo,
 	        @Param("bookingStatus") BookingStatus bookingStatus,
 	        @Param("paymentStatus") PaymentStatus paymentStatus,
 	        @Param("paymentMethod") PaymentMethod paymentMethod,
+	        @Param("anyAccount") boolean anyAccount,
+	        @Param("accountIds") Collection<Integer> accountIds,
 	        @Param("email") String email,
-	        Pageable pageable
+	        @Param("client") String client
+	);
+	
+	// Inclusions of a page of bookings, for ?expand=inclusions.
+	@Query("""
+	  SELECT bi.booking.bookingId, bi.bookingInclusionId, i.inclusionId, i.inclusionName,
+	         bi.quantity, bi.priceAtBooking
+	  FROM BookingInclusion bi
+	  LEFT JOIN bi.inclusion i
+	  WHERE bi.booking.bookingId IN :bookingIds
+	  ORDER BY bi.bookingInclusionId
+	""")
+	List<Object[]> findInclusionRowsByBookingIds(
+	    @Param("bookingIds") List<Integer> bookingIds
 	);
 	
 	List<Booking> findByVisitDateAndBookingIdNotOrderByVisitTimeAsc(LocalDate visitDate, Integer id);
-
-	Page<Booking> findByAccount_AccountIdAndIsActiveOrderByVisitDateDescVisitTimeAsc(
-			Integer accountId, boolean isActive, Pageable pageable);
-
-	Page<Booking> findAllByIsActive(boolean isActive, Pageable pageable);
-
-	Page<Booking> findByIsActiveAndVisitDateBetween(
-			boolean isActive, LocalDate startDate, LocalDate endDate, Pageable pageable);
-
-	Page<Booking> findByAccount_AccountIdAndIsActiveAndVisitDateBetween(
-			Integer accountId, boolean isActive, LocalDate startDate, LocalDate endDate, Pageable pageable);
+	
+	@Query("""
+	  SELECT b.bookingId, b.visitTime, p.duration
+	  FROM Booking b
+	  LEFT JOIN b.tourPackage p
+	  WHERE b.visitDate = :visitDate
+	    AND b.isActive = true
+	    AND b.bookingStatus NOT IN :releasedStatuses
+	""")
+	List<Object[]> findScheduleSlotsByVisitDate(
+	    @Param("visitDate") LocalDate visitDate,
+	    @Param("releasedStatuses") List<BookingStatus> releasedStatuses
+	);
+	
+	@Query("""
+	  SELECT b.visitDate, b.bookingId, b.visitTime, p.duration
+	  FROM Booking b
+	  LEFT JOIN b.tourPackage p
+	  WHERE b.visitDate BETWEEN :startDate AND :endDate
+	    AND b.isActive = true
+	    AND b.bookingStatus NOT IN :releasedStatuses
+	""")
+	List<Object[]> findScheduleSlotsByVisitDateBetween(
+	    @Param("startDate") LocalDate startDate,
+	    @Param("endDate") LocalDate endDate,
+	    @Param("releasedStatuses") List<BookingStatus> releasedStatuses
+	);
 
 
 	long countByVisitDateAndBookingStatus(LocalDate visitDate, BookingStatus bookingStatus);
 	long countByVisitDateAndBookingStatusIn(LocalDate visitDate, List<BookingStatus> statuses);
 	
+	@Query("""
+	  SELECT b.visitDate AS visitDate,
+	         COUNT(b) AS bookings,
+	         COALESCE(SUM(b.groupSize), 0) AS visitors,
+	         SUM(CASE WHEN b.bookingStatus IN :acceptedStatuses THEN 1 ELSE 0 END) AS acceptedBookings
+	  FROM Booking b
+	  WHERE b.isActive = true
+	  GROUP BY b.visitDate
+	""")
+	List<CalendarDaySummary> summarizeActiveBookingsByVisitDate(
+	    @Param("acceptedStatuses") List<BookingStatus> acceptedStatuses
+	);
+	
+	@Query("""
+	  SELECT b.visitDate AS visitDate,
+	         COUNT(b) AS bookings,
+	         COALESCE(SUM(b.groupSize), 0) AS visitors,
+	         SUM(CASE WHEN b.bookingStatus IN :acceptedStatuses THEN 1 ELSE 0 END) AS acceptedBookings
+	  FROM Booking b
+	  WHERE b.isActive = true
+	    AND b.visitDate BETWEEN :startDate AND :endDate
+	  GROUP BY b.visitDate
+	  ORDER BY b.visitDate
+	""")
+	List<CalendarDaySummary> summarizeActiveBookingsByVisitDateBetween(
+	    @Param("startDate") LocalDate startDate,
+	    @Param("endDate") LocalDate endDate,
+	    @Param("acceptedStatuses") List<BookingStatus> acceptedStatuses
+	);
+	
+	// Bookings for a bulk staff update, with what notifications and audit entries read fetched up front.
+	@Query("""
+	  SELECT b FROM Booking b
+	  LEFT JOIN FETCH b.account a
+	  LEFT JOIN FETCH a.detail
+	  LEFT JOIN FETCH b.tourPackage
+	  WHERE b.bookingId IN :bookingIds
+	""")
+	List<Booking> findAllWithAccountByBookingIdIn(
+	    @Param("bookingIds") Collection<Integer> bookingIds
+	);
+	
+	// Lifecycle sweep candidates counted per visit date, so sweep chunks can end on a date boundary.
+	// A null payment method or status matches any.
 	@Query("""
 	  SELECT b.visitDate, COUNT(b)
 	  FROM Booking b
-	  WHERE b.visitDate >= :fromDate
+	  WHERE b.visitDate BETWEEN :startDate AND :endDate
+	    AND b.isActive = true
 	    AND b.bookingStatus IN :statuses
+	    AND (:paymentMethod IS NULL OR b.paymentMethod = :paymentMethod)
+	    AND (:paymentStatus IS NULL OR b.paymentStatus = :paymentStatus)
 	  GROUP BY b.visitDate
+	  ORDER BY b.visitDate
+	""")
+	List<Object[]> countSweepCandidatesByVisitDate(
+	    @Param("startDate") LocalDate startDate,
+	    @Param("endDate") LocalDate endDate,
+	    @Param("statuses") List<BookingStatus> statuses,
+	    @Param("paymentMethod") PaymentMethod paymentMethod,
+	    @Param("paymentStatus") PaymentStatus paymentStatus,
+	    Pageable pageable
+	);
+	
+	@Query("""
+	  SELECT b FROM Booking b
+	  LEFT JOIN FETCH b.account a
+	  LEFT JOIN FETCH a.detail
+	  LEFT JOIN FETCH b.tourPackage
+	  WHERE b.visitDate BETWEEN :startDate AND :endDate
+	    AND b.isActive = true
+	    AND b.bookingStatus IN :statuses
+	    AND (:paymentMethod IS NULL OR b.paymentMethod = :paymentMethod)
+	    AND (:paymentStatus IS NULL OR b.paymentStatus = :paymentStatus)
+	  ORDER BY b.visitDate, b.bookingId
 	""")
-	List<Object[]> countBookingsByVisitDateFromAndStatusIn(
-	    @Param("fromDate") LocalDate fromDate,
-	    @Param("statuses") List<BookingStatus> statuses
+	List<Booking> findSweepCandidates(
+	    @Param("startDate") LocalDate startDate,
+	    @Param("endDate") LocalDate endDate,
+	    @Param("statuses") List<BookingStatus> statuses,
+	    @Param("paymentMethod") PaymentMethod paymentMethod,
+	    @Param("paymentStatus") PaymentStatus paymentStatus
 	);
 }
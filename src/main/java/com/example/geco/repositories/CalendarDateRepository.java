@@ -5,15 +5,26 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.geco.domains.CalendarDate;
 import com.example.geco.domains.CalendarDate.DateStatus;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface CalendarDateRepository extends JpaRepository<CalendarDate, Integer>{
 	Optional<CalendarDate> findByDate(LocalDate date);
 	
+	boolean existsByDate(LocalDate date);
+	
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT c FROM CalendarDate c WHERE c.date = :date")
+	Optional<CalendarDate> findForUpdateByDate(@Param("date") LocalDate date);
+	
 	List<CalendarDate> findByDateBetweenOrderByDate(
 			LocalDate startDate, LocalDate endDate
 	);
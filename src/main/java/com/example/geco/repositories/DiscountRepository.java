@@ -0,0 +1,10 @@
+package com.example.geco.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.geco.domains.Discount;
+
+@Repository
+public interface DiscountRepository extends JpaRepository<Discount, Integer> {
+}
@@ -1,6 +1,7 @@
 package com.example.geco.repositories;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.domain.Page;
@@ -141,13 +142,19 @@ public interface FeedbackRepository  extends JpaRepository<Feedback, Integer>{
 	    Pageable pageable
 	);
 	
+	// accountIds holds the AccountSearchIndex matches for an email search; ignored
+	// (but still non-empty) when anyAccount is true. email is only set for searches
+	// matching too many accounts for the list.
 	@Query("""
 		SELECT f FROM Feedback f
 		WHERE f.booking.visitDate BETWEEN :startDate AND :endDate
 		  AND (:categoryId IS NULL OR f.category.feedbackCategoryId = :categoryId)
 		  AND (:feedbackStatus IS NULL OR f.feedbackStatus = :feedbackStatus)
 		  AND (:isActive IS NULL OR f.isActive = :isActive)
-		  AND (:email IS NULL OR LOWER(f.account.detail.email) LIKE LOWER(CONCAT('%', :email, '%')))
+		  AND (:anyAccount = true OR f.account.accountId IN :accountIds)
+		  AND (:email IS NULL OR f.account.accountId IN (
+		         SELECT a.accountId FROM Account a JOIN a.detail d
+		         WHERE LOWER(d.email) LIKE LOWER(CONCAT('%', :email, '%'))))
 		  AND (:minStars IS NULL OR (f.stars >= :minStars AND f.stars < :maxStars))
 		ORDER BY f.feedbackStatus ASC, f.booking.visitDate DESC, f.booking.visitTime DESC
 		""")
@@ -157,6 +164,8 @@ public interface FeedbackRepository  extends JpaRepository<Feedback, Integer>{
 	    @Param("endDate") LocalDate endDate,
 	    @Param("feedbackStatus") FeedbackStatus feedbackStatus,
 	    @Param("isActive") Boolean isActive,
+	    @Param("anyAccount") boolean anyAccount,
+	    @Param("accountIds") Collection<Integer> accountIds,
 	    @Param("email") String email,
 	    @Param("minStars") Double minStars,
 	    @Param("maxStars") Double maxStars,
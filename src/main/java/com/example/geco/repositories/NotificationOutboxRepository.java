@@ -0,0 +1,40 @@
+package com.example.geco.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.geco.domains.NotificationOutbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface NotificationOutboxRepository extends JpaRepository<NotificationOutbox, Long> {
+	// Locked so that two nodes never dispatch the same rows. Rows another node holds are
+	// skipped (lock timeout -2 is SKIP LOCKED), so nodes split the backlog instead of queuing on it.
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+	@Query("""
+	  SELECT o
+	  FROM NotificationOutbox o
+	  WHERE o.attempts < :maxAttempts
+	  ORDER BY o.id
+	""")
+	List<NotificationOutbox> findPendingForUpdate(
+	    @Param("maxAttempts") int maxAttempts,
+	    Pageable pageable
+	);
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT o FROM NotificationOutbox o WHERE o.id = :id")
+	NotificationOutbox findByIdForUpdate(@Param("id") Long id);
+
+	long countByAttemptsLessThan(int maxAttempts);
+}
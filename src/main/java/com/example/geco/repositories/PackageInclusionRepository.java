@@ -3,6 +3,7 @@ package com.example.geco.repositories;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.example.geco.domains.PackageInclusion;
@@ -19,4 +20,8 @@ public interface PackageInclusionRepository extends JpaRepository<PackageInclusi
 	boolean existsByInclusionNameIgnoreCaseAndInclusionIdNot(String newName, int id);
 
 	List<PackageInclusion> findAllByInclusionIdIn(List<Integer> inclusionIds);
+
+	// inclusionId, inclusionPricePerPerson for PricingService.
+	@Query("SELECT i.inclusionId, i.inclusionPricePerPerson FROM PackageInclusion i")
+	List<Object[]> findPriceRows();
 }
\ No newline at end of file
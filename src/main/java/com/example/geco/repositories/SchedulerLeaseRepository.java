@@ -0,0 +1,36 @@
+package com.example.geco.repositories;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.geco.domains.SchedulerLease;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+	// Takes or extends the lease when this node holds it or it has expired; returns 0 otherwise.
+	@Modifying
+	@Query("""
+	  UPDATE SchedulerLease l
+	  SET l.owner = :owner, l.expiresAt = :expiresAt
+	  WHERE l.name = :name AND (l.owner = :owner OR l.expiresAt < :now)
+	""")
+	int claim(
+	    @Param("name") String name,
+	    @Param("owner") String owner,
+	    @Param("now") LocalDateTime now,
+	    @Param("expiresAt") LocalDateTime expiresAt
+	);
+	
+	@Modifying
+	@Query("UPDATE SchedulerLease l SET l.expiresAt = :now WHERE l.name = :name AND l.owner = :owner")
+	int release(
+	    @Param("name") String name,
+	    @Param("owner") String owner,
+	    @Param("now") LocalDateTime now
+	);
+}
@@ -0,0 +1,36 @@
+package com.example.geco.repositories;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.geco.domains.SlotHold;
+
+@Repository
+public interface SlotHoldRepository extends JpaRepository<SlotHold, Long> {
+	Optional<SlotHold> findByToken(String token);
+
+	List<SlotHold> findByAccountId(Integer accountId);
+
+	@Query("""
+	  SELECT h FROM SlotHold h
+	  WHERE h.visitDate BETWEEN :startDate AND :endDate
+	    AND h.expiresAt > :now
+	""")
+	List<SlotHold> findActiveByVisitDateBetween(
+	    @Param("startDate") LocalDate startDate,
+	    @Param("endDate") LocalDate endDate,
+	    @Param("now") LocalDateTime now
+	);
+
+	@Modifying
+	@Query("DELETE FROM SlotHold h WHERE h.expiresAt < :now")
+	int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -3,6 +3,7 @@ package com.example.geco.repositories;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.example.geco.domains.TourPackage;
@@ -14,4 +15,8 @@ public interface TourPackageRepository extends JpaRepository<TourPackage, Intege
 
 	List<TourPackage> findAllByIsActiveOrderByName(boolean isActive);
 
+	// packageId, basePrice, pricePerPerson, minPerson, maxPerson for PricingService.
+	@Query("SELECT p.packageId, p.basePrice, p.pricePerPerson, p.minPerson, p.maxPerson FROM TourPackage p")
+	List<Object[]> findPriceRows();
+
 }
@@ -0,0 +1,65 @@
+package com.example.geco.repositories;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.geco.domains.WaitlistEntry;
+import com.example.geco.domains.WaitlistEntry.WaitlistStatus;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+	List<WaitlistEntry> findByAccountIdOrderByVisitDateAscIdAsc(Integer accountId);
+
+	boolean existsByAccountIdAndTourPackageIdAndVisitDateAndStatusIn(
+	    Integer accountId,
+	    Integer tourPackageId,
+	    LocalDate visitDate,
+	    Collection<WaitlistStatus> statuses
+	);
+
+	List<WaitlistEntry> findByAccountIdAndTourPackageIdAndVisitDateAndStatusIn(
+	    Integer accountId,
+	    Integer tourPackageId,
+	    LocalDate visitDate,
+	    Collection<WaitlistStatus> statuses
+	);
+
+	long countByVisitDateAndStatus(LocalDate visitDate, WaitlistStatus status);
+
+	// First come, first offered.
+	@Query("""
+	  SELECT w FROM WaitlistEntry w
+	  WHERE w.visitDate = :visitDate
+	    AND w.status = com.example.geco.domains.WaitlistEntry.WaitlistStatus.WAITING
+	  ORDER BY w.createdAt ASC, w.id ASC
+	""")
+	List<WaitlistEntry> findNextWaiting(@Param("visitDate") LocalDate visitDate, Pageable pageable);
+
+	@Query("""
+	  SELECT w FROM WaitlistEntry w
+	  WHERE w.status = com.example.geco.domains.WaitlistEntry.WaitlistStatus.OFFERED
+	    AND w.offerExpiresAt <= :now
+	""")
+	List<WaitlistEntry> findLapsedOffers(@Param("now") LocalDateTime now, Pageable pageable);
+
+	@Modifying
+	@Query("""
+	  UPDATE WaitlistEntry w
+	  SET w.status = com.example.geco.domains.WaitlistEntry.WaitlistStatus.EXPIRED
+	  WHERE w.visitDate < :today
+	    AND w.status IN (
+	      com.example.geco.domains.WaitlistEntry.WaitlistStatus.WAITING,
+	      com.example.geco.domains.WaitlistEntry.WaitlistStatus.OFFERED
+	    )
+	""")
+	int expirePastDates(@Param("today") LocalDate today);
+}
@@ -0,0 +1,242 @@
+package com.example.geco.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.geco.domains.UserDetail;
+import com.example.geco.repositories.AccountRepository;
+import com.example.geco.utils.TransactionUtils;
+
+// In-process trigram index over account emails and names. Searches resolve to
+// account IDs here so list queries can filter with IN (...) instead of scanning
+// user_detail with LIKE '%...%'. Loaded on first use, kept in step by
+// AccountSearchListener after each committed write, and rebuilt periodically
+// to pick up writes made by other nodes.
+@Service
+public class AccountSearchIndex {
+	private static final Logger log = LoggerFactory.getLogger(AccountSearchIndex.class);
+
+	private static final int GRAM = 3;
+
+	// A search matching more accounts than this filters with LIKE on the search term
+	// instead of an IN list of the matches. Such a list binds a parameter per account
+	// and defeats IN-list padding, while a match this broad spares the LIKE scan little.
+	public static final int MAX_ID_MATCHES = 1000;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	// email and names are normalized; names holds "first surname" and "surname first".
+	private record Entry(int accountId, Integer detailId, String email, String names) {
+		boolean matches(String query, boolean includeNames) {
+			return (email != null && email.contains(query))
+					|| (includeNames && names != null && names.contains(query));
+		}
+	}
+
+	private static final class State {
+		final ConcurrentMap<Integer, Entry> entries = new ConcurrentHashMap<>();
+		final ConcurrentMap<Integer, Integer> accountByDetail = new ConcurrentHashMap<>();
+		final ConcurrentMap<String, Set<Integer>> postings = new ConcurrentHashMap<>();
+
+		void put(Entry entry) {
+			remove(entry.accountId());
+
+			entries.put(entry.accountId(), entry);
+			if (entry.detailId() != null) {
+				accountByDetail.put(entry.detailId(), entry.accountId());
+			}
+			for (String gram : grams(entry)) {
+				postings.computeIfAbsent(gram, k -> ConcurrentHashMap.newKeySet()).add(entry.accountId());
+			}
+		}
+
+		void remove(int accountId) {
+			Entry old = entries.remove(accountId);
+			if (old == null) return;
+
+			if (old.detailId() != null) {
+				accountByDetail.remove(old.detailId(), accountId);
+			}
+			for (String gram : grams(old)) {
+				Set<Integer> ids = postings.get(gram);
+				if (ids != null) {
+					ids.remove(accountId);
+					if (ids.isEmpty()) postings.remove(gram, ids);
+				}
+			}
+		}
+	}
+
+	private volatile State state;
+
+	private final Object rebuildLock = new Object();
+
+	// Writes that commit while a rebuild is loading, replayed onto the new state. Guarded by this.
+	private List<Consumer<State>> pendingWrites;
+
+	// IDs of accounts whose email contains the query, ignoring case.
+	public Set<Integer> findByEmail(String query) {
+		return find(query, false);
+	}
+
+	// IDs of accounts whose email, first name, surname or full name contains the query, ignoring case.
+	public Set<Integer> findByNameOrEmail(String query) {
+		return find(query, true);
+	}
+
+	private Set<Integer> find(String query, boolean includeNames) {
+		String q = normalize(query);
+		State current = loaded();
+
+		// Every account containing the query also contains each of its trigrams,
+		// so the smallest posting list is a complete candidate set.
+		Collection<Integer> candidates = current.entries.keySet();
+		if (q.length() >= GRAM) {
+			for (String gram : grams(q)) {
+				Set<Integer> ids = current.postings.get(gram);
+				if (ids == null) return Set.of();
+				if (ids.size() < candidates.size()) candidates = ids;
+			}
+		}
+
+		Set<Integer> result = new HashSet<>();
+		for (Integer id : candidates) {
+			Entry entry = current.entries.get(id);
+			if (entry != null && entry.matches(q, includeNames)) {
+				result.add(id);
+			}
+		}
+		return result;
+	}
+
+	// Indexes the account once the current transaction commits.
+	public void index(Integer accountId, UserDetail detail) {
+		if (accountId == null) return;
+
+		Entry entry = toEntry(accountId, detail);
+		TransactionUtils.afterCommit(() -> write(s -> s.put(entry)));
+	}
+
+	// Re-indexes the account owning this detail row, if it is known.
+	public void indexDetail(UserDetail detail) {
+		if (detail == null || detail.getDetailId() == null) return;
+
+		Integer detailId = detail.getDetailId();
+		String email = detail.getEmail();
+		String firstName = detail.getFirstName();
+		String surname = detail.getSurname();
+
+		TransactionUtils.afterCommit(() -> write(s -> {
+			Integer accountId = s.accountByDetail.get(detailId);
+			if (accountId != null) s.put(toEntry(accountId, detailId, email, firstName, surname));
+		}));
+	}
+
+	public void remove(Integer accountId) {
+		if (accountId == null) return;
+
+		TransactionUtils.afterCommit(() -> write(s -> s.remove(accountId)));
+	}
+
+	@Scheduled(
+			fixedDelayString = "${app.account-search.rebuild-ms:600000}",
+			initialDelayString = "${app.account-search.rebuild-ms:600000}")
+	public void rebuild() {
+		synchronized (rebuildLock) {
+			synchronized (this) {
+				pendingWrites = new ArrayList<>();
+			}
+
+			State next = new State();
+			try {
+				for (Object[] row : accountRepository.findSearchIndexRows()) {
+					next.put(toEntry(
+							(Integer) row[0],
+							(Integer) row[1],
+							(String) row[2],
+							(String) row[3],
+							(String) row[4]));
+				}
+			} catch (RuntimeException e) {
+				synchronized (this) {
+					pendingWrites = null;
+				}
+				log.warn("Failed to rebuild the account search index", e);
+				throw e;
+			}
+
+			synchronized (this) {
+				pendingWrites.forEach(write -> write.accept(next));
+				pendingWrites = null;
+				state = next;
+			}
+		}
+	}
+
+	private State loaded() {
+		State current = state;
+		if (current != null) return current;
+
+		synchronized (rebuildLock) {
+			if (state == null) rebuild();
+			return state;
+		}
+	}
+
+	private synchronized void write(Consumer<State> write) {
+		if (pendingWrites != null) pendingWrites.add(write);
+		if (state != null) write.accept(state);
+	}
+
+	private static Entry toEntry(int accountId, UserDetail detail) {
+		return detail == null
+				? new Entry(accountId, null, null, null)
+				: toEntry(accountId, detail.getDetailId(), detail.getEmail(), detail.getFirstName(), detail.getSurname());
+	}
+
+	private static Entry toEntry(int accountId, Integer detailId, String email, String firstName, String surname) {
+		String first = normalize(firstName);
+		String last = normalize(surname);
+
+		String names = null;
+		if (!first.isEmpty() || !last.isEmpty()) {
+			// Newline-separated so a query never matches across the two orders.
+			names = (first + " " + last).trim() + "\n" + (last + " " + first).trim();
+		}
+
+		return new Entry(accountId, detailId, email != null ? normalize(email) : null, names);
+	}
+
+	private static String normalize(String value) {
+		return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+	}
+
+	private static Set<String> grams(Entry entry) {
+		Set<String> grams = new HashSet<>();
+		if (entry.email() != null) grams.addAll(grams(entry.email()));
+		if (entry.names() != null) grams.addAll(grams(entry.names()));
+		return grams;
+	}
+
+	private static Set<String> grams(String value) {
+		Set<String> grams = new HashSet<>();
+		for (int i = 0; i + GRAM <= value.length(); i++) {
+			grams.add(value.substring(i, i + GRAM));
+		}
+		return grams;
+	}
+}
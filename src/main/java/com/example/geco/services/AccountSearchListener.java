@@ -0,0 +1,37 @@
+package com.example.geco.services;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.example.geco.domains.Account;
+import com.example.geco.domains.UserDetail;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// JPA listener on Account and UserDetail that feeds AccountSearchIndex, so writes
+// made straight through the repositories are indexed as well. The index is looked
+// up lazily because Hibernate creates listeners while the repositories are still
+// being wired.
+public class AccountSearchListener {
+	@Autowired
+	private ObjectProvider<AccountSearchIndex> accountSearchIndex;
+
+	@PostPersist
+	@PostUpdate
+	public void onSave(Object entity) {
+		if (entity instanceof Account account) {
+			accountSearchIndex.getObject().index(account.getAccountId(), account.getDetail());
+		} else if (entity instanceof UserDetail detail) {
+			accountSearchIndex.getObject().indexDetail(detail);
+		}
+	}
+
+	@PostRemove
+	public void onRemove(Object entity) {
+		if (entity instanceof Account account) {
+			accountSearchIndex.getObject().remove(account.getAccountId());
+		}
+	}
+}
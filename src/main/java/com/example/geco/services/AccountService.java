@@ -1,5 +1,8 @@
 package com.example.geco.services;
 
+import java.util.List;
+import java.util.Set;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -31,6 +34,9 @@ public class AccountService extends BaseService implements UserDetailsService{
 	@Autowired
 	private AccountRepository accountRepository;
 	
+	@Autowired
+	private AccountSearchIndex accountSearchIndex;
+	
 	private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 	
 	
@@ -277,26 +283,16 @@ public class AccountService extends BaseService implements UserDetailsService{
 	        }
 	    }
 
-	    if (roleFilter != null && activeFilter != null) {
-	        return accountRepository
-	                .findAllByDetail_EmailContainingIgnoreCaseAndRoleAndIsActiveOrderByDetail_Email(
-	                        q, roleFilter, activeFilter, pageable)
-	                .map(a -> toResponse(a, PasswordStatus.UNCHANGED));
-	    } else if (roleFilter != null) {
-	        return accountRepository
-	                .findAllByDetail_EmailContainingIgnoreCaseAndRoleOrderByDetail_Email(
-	                        q, roleFilter, pageable)
-	                .map(a -> toResponse(a, PasswordStatus.UNCHANGED));
-	    } else if (activeFilter != null) {
-	        return accountRepository
-	                .findAllByDetail_EmailContainingIgnoreCaseAndIsActiveOrderByDetail_Email(
-	                        q, activeFilter, pageable)
-	                .map(a -> toResponse(a, PasswordStatus.UNCHANGED));
-	    } else {
-	        return accountRepository
-	                .findAllByDetail_EmailContainingIgnoreCaseOrderByDetail_Email(q, pageable)
-	                .map(a -> toResponse(a, PasswordStatus.UNCHANGED));
+	    Set<Integer> accountIds = accountSearchIndex.findByEmail(q);
+	    if (accountIds.isEmpty()) {
+	        return Page.empty(pageable);
 	    }
+
+	    boolean broad = accountIds.size() > AccountSearchIndex.MAX_ID_MATCHES;
+	    return accountRepository
+	            .searchByEmail(broad, broad ? List.of(-1) : accountIds, broad ? q : null,
+	                    roleFilter, activeFilter, pageable)
+	            .map(a -> toResponse(a, PasswordStatus.UNCHANGED));
 	}
 	
 	
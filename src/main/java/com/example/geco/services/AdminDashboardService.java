@@ -1,11 +1,12 @@
 package com.example.geco.services;
 
 import java.time.LocalDate;
-import java.time.YearMonth;
 import java.time.format.TextStyle;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -20,9 +21,13 @@ import com.example.geco.dto.AdminBookingRequest;
 import com.example.geco.dto.AdminDashboardFinances;
 import com.example.geco.dto.AdminDashboardStats;
 import com.example.geco.dto.ChartData;
+import com.example.geco.dto.SeriesPoint;
+import com.example.geco.dto.TrendsResponse;
 import com.example.geco.repositories.AccountRepository;
+import com.example.geco.repositories.BookingDailyStatsRepository;
 import com.example.geco.repositories.BookingRepository;
 import com.example.geco.repositories.TourPackageRepository;
+import com.example.geco.services.BookingSeriesService.Granularity;
 
 import jakarta.persistence.EntityNotFoundException;
 
@@ -42,6 +47,13 @@ public class AdminDashboardService {
 	
 	@Autowired
 	private TourPackageRepository packageRepository;
+	
+	// Every chart and total below reads the daily rollup, never the booking table.
+	@Autowired
+	private BookingDailyStatsRepository statsRepository;
+	
+	@Autowired
+	private BookingSeriesService bookingSeriesService;
 
 	public AdminDashboardStats getDashboardStats(LocalDate date) {
 		return new AdminDashboardStats(
@@ -83,16 +95,19 @@ public class AdminDashboardService {
 		
 		// When there's no provided year and month, it means all.
 		if (year == null && month == null) {
-			totalBookings = (int) bookingRepository.count();
-			totalRevenue = bookingRepository.findTotalRevenueByStatus(BookingStatus.COMPLETED);
-			completedBookings = bookingRepository.countByBookingStatus(BookingStatus.COMPLETED).intValue();
+			totalBookings = statsRepository.sumBookings();
+			totalRevenue = statsRepository.sumRevenueByStatus(BookingStatus.COMPLETED);
+			completedBookings = statsRepository.sumBookingsByStatus(BookingStatus.COMPLETED);
 			
 		// When there's no provided year but there's a month, it means data on that month across years.
 		} else if (year == null) {
-			int startYear = bookingRepository.getEarliestYear();
-			int endYear = bookingRepository.getLatestYear();
+			Integer startYear = statsRepository.getEarliestYear();
+			Integer endYear = statsRepository.getLatestYear();
 
-			Object[] stats = bookingRepository.getMonthAcrossYearsStats(month, startYear, endYear);
+			Object[] stats = statsRepository.getMonthAcrossYearsStats(
+					month,
+					startYear != null ? startYear : 0,
+					endYear != null ? endYear : 0);
 
 		    totalBookings = ((Number) stats[0]).intValue();
 		    completedBookings = ((Number) stats[1]).intValue();
@@ -103,17 +118,17 @@ public class AdminDashboardService {
 			LocalDate startDate = LocalDate.of(year, 1, 1);
 	        LocalDate endDate = LocalDate.of(year, 12, 31);
 
-	        totalBookings = bookingRepository.countByVisitDateBetween(startDate, endDate);
-	        completedBookings = bookingRepository.countByBookingStatusAndVisitDateBetween(BookingStatus.COMPLETED, startDate, endDate);
-	        totalRevenue = bookingRepository.getTotalRevenueByBookingStatusAndVisitDateBetween(startDate, endDate, BookingStatus.COMPLETED);
+	        totalBookings = statsRepository.sumBookingsBetween(startDate, endDate);
+	        completedBookings = statsRepository.sumBookingsByStatusBetween(BookingStatus.COMPLETED, startDate, endDate);
+	        totalRevenue = statsRepository.sumRevenueByStatusBetween(BookingStatus.COMPLETED, startDate, endDate);
 			
 		} else {
 			LocalDate startDate = LocalDate.of(year, month, 1);
 			LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
 			
-			totalBookings = bookingRepository.countByVisitDateBetween(startDate, endDate);
-			totalRevenue = bookingRepository.getTotalRevenueByBookingStatusAndVisitDateBetween(startDate, endDate, BookingStatus.COMPLETED);
-			completedBookings = bookingRepository.countByBookingStatusAndVisitDateBetween(BookingStatus.COMPLETED, startDate, endDate);		
+			totalBookings = statsRepository.sumBookingsBetween(startDate, endDate);
+			totalRevenue = statsRepository.sumRevenueByStatusBetween(BookingStatus.COMPLETED, startDate, endDate);
+			completedBookings = statsRepository.sumBookingsByStatusBetween(BookingStatus.COMPLETED, startDate, endDate);		
 		}
 
 		averageRevenuePerBooking = (completedBookings == 0) ? 0 : totalRevenue / completedBookings;
@@ -126,139 +141,117 @@ public class AdminDashboardService {
 			    .build();
 	}
 
-	public List<ChartData> getYearlyBookings(Integer startYear, Integer endYear) {
-		if (startYear == null) {
-			startYear = bookingRepository.getEarliestYear();
-		}
-		
-		if (endYear == null) {
-			endYear = bookingRepository.getLatestYear();
-		}
+	// Bookings, visitors and availed packages per year, from one series query and one package query.
+	public TrendsResponse getYearlyTrends(Integer startYear, Integer endYear) {
+		int[] years = resolveYears(startYear, endYear);
+		List<SeriesPoint> series = yearlySeries(years[0], years[1]);
 		
-		List<ChartData> yearlyBookings = new ArrayList<>();
-		for (int year = startYear; year <= endYear; year++) {
-			LocalDate startDate = LocalDate.of(year, 1, 1);
-	        LocalDate endDate = LocalDate.of(year, 12, 31);
-	        
-	        yearlyBookings.add(
-					ChartData.builder()
-					.period(String.valueOf(year))
-					.value(bookingRepository.countByBookingStatusAndVisitDateBetween(
-							BookingStatus.COMPLETED,
-							startDate,
-							endDate))
-					.build()
-					);
-		}
+		return TrendsResponse.builder()
+				.bookings(toChart(series, SeriesPoint::getBookings, false))
+				.visitors(toChart(series, SeriesPoint::getVisitors, false))
+				.packages(getAvailedPackages(years[0], years[1]))
+				.build();
+	}
+	
+	// Bookings, visitors and availed packages per month of a year, from one series query and one package query.
+	public TrendsResponse getMonthlyTrends(Integer year) {
+		List<SeriesPoint> series = monthlySeries(year);
 		
-		return yearlyBookings;
+		return TrendsResponse.builder()
+				.bookings(toChart(series, SeriesPoint::getBookings, true))
+				.visitors(toChart(series, SeriesPoint::getVisitors, true))
+				.packages(getAvailedPackages(year, year))
+				.build();
+	}
+
+	public List<ChartData> getYearlyBookings(Integer startYear, Integer endYear) {
+		int[] years = resolveYears(startYear, endYear);
+		return toChart(yearlySeries(years[0], years[1]), SeriesPoint::getBookings, false);
 	}
 
 	public List<ChartData> getMonthlyBookings(Integer year) {
-		if (year == null) {
-			throw new IllegalArgumentException("Please provide a year.");
-		}
-		
-		List<ChartData> getMonthlyBookings = new ArrayList<>();
-		for (int month = 1; month <= 12; month++) {
-			YearMonth yearMonth = YearMonth.of(year, month);
-		    LocalDate startDate = yearMonth.atDay(1);
-		    LocalDate endDate = yearMonth.atEndOfMonth();
-	        
-		    getMonthlyBookings.add(
-					ChartData.builder()
-					.period(yearMonth.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH))
-					.value(bookingRepository.countByBookingStatusAndVisitDateBetween(
-							BookingStatus.COMPLETED,
-							startDate,
-							endDate))
-					.build()
-					);
-		}
-		
-		return getMonthlyBookings;
+		return toChart(monthlySeries(year), SeriesPoint::getBookings, true);
 	}
 
 	public List<ChartData> getYearlyVisitors(Integer startYear, Integer endYear) {
-		if (startYear == null) {
-			startYear = bookingRepository.getEarliestYear();
-		}
-		
-		if (endYear == null) {
-			endYear = bookingRepository.getLatestYear();
-		}
-		
-		List<ChartData> yearlyVisitors = new ArrayList<>();
-		
-		for (int year = startYear; year <= endYear; year++) {
-			LocalDate startDate = LocalDate.of(year, 1, 1);
-	        LocalDate endDate = LocalDate.of(year, 12, 31);
-	        
-	        yearlyVisitors.add(
-					ChartData.builder()
-					.period(String.valueOf(year))
-					.value(bookingRepository.totalGroupSizeByStatusAndVisitDateBetween(
-							BookingStatus.COMPLETED,
-							startDate,
-							endDate))
-					.build()
-					);
-		}
-		return yearlyVisitors;
+		int[] years = resolveYears(startYear, endYear);
+		return toChart(yearlySeries(years[0], years[1]), SeriesPoint::getVisitors, false);
 	}
 	
 	public List<ChartData> getMonthlyVisitors(Integer year) {
-		if (year == null) {
-			throw new IllegalArgumentException("Please provide a year.");
-		}
+		return toChart(monthlySeries(year), SeriesPoint::getVisitors, true);
+	}
+
+	public List<ChartData> getAvailedPackages(Integer startYear, Integer endYear) {
+		int[] years = resolveYears(startYear, endYear);
+		
+		Map<Integer, Long> bookingsByPackage = bookingSeriesService.getBookingsByPackage(
+				LocalDate.of(years[0], 1, 1),
+				LocalDate.of(years[1], 12, 31));
 		
-		List<ChartData> monthlyVisitors = new ArrayList<>();
-		for (int month = 1; month <= 12; month++) {
-			YearMonth yearMonth = YearMonth.of(year, month);
-		    LocalDate startDate = yearMonth.atDay(1);
-		    LocalDate endDate = yearMonth.atEndOfMonth();
-	        
-		    monthlyVisitors.add(
+		List<ChartData> availedPackages = new ArrayList<>();
+		for (TourPackage tourPackage : packageRepository.findAll()) {
+			availedPackages.add(
 					ChartData.builder()
-					.period(yearMonth.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH))
-					.value(bookingRepository.totalGroupSizeByStatusAndVisitDateBetween(
-							BookingStatus.COMPLETED,
-							startDate,
-							endDate))
+					.period(tourPackage.getName())
+					.value(bookingsByPackage.getOrDefault(tourPackage.getPackageId(), 0L))
 					.build()
 					);
 		}
 		
-		return monthlyVisitors;
+		return availedPackages;
 	}
-
-	public List<ChartData> getAvailedPackages(Integer startYear, Integer endYear) {
+	
+	// Missing ends of the range default to the first and last years with bookings.
+	private int[] resolveYears(Integer startYear, Integer endYear) {
 		if (startYear == null) {
-			startYear = bookingRepository.getEarliestYear();
+			startYear = statsRepository.getEarliestYear();
 		}
 		
 		if (endYear == null) {
-			endYear = bookingRepository.getLatestYear();
+			endYear = statsRepository.getLatestYear();
 		}
 		
-		LocalDate startDate = LocalDate.of(startYear, 1, 1);
-        LocalDate endDate = LocalDate.of(endYear, 12, 31);
+		int thisYear = LocalDate.now().getYear();
+		return new int[] {
+				startYear != null ? startYear : thisYear,
+				endYear != null ? endYear : thisYear
+		};
+	}
+	
+	private List<SeriesPoint> yearlySeries(int startYear, int endYear) {
+		if (startYear > endYear) {
+			throw new IllegalArgumentException("Starting year cannot be greater than the ending year");
+		}
 		
-		List<ChartData> availedPackages = new ArrayList<>();
-		List<TourPackage> tourPackages = packageRepository.findAll();
-
-		for (TourPackage tourPackage : tourPackages) {
-			availedPackages.add(
-					ChartData.builder()
-					.period(tourPackage.getName())
-					.value(bookingRepository.countByTourPackageAndVisitDateBetween(
-							tourPackage,
-							startDate,
-							endDate))
-					.build()
-					);
+		return bookingSeriesService.getSeries(
+				LocalDate.of(startYear, 1, 1),
+				LocalDate.of(endYear, 12, 31),
+				Granularity.YEAR,
+				BookingStatus.COMPLETED);
+	}
+	
+	private List<SeriesPoint> monthlySeries(Integer year) {
+		if (year == null) {
+			throw new IllegalArgumentException("Please provide a year.");
 		}
 		
-		return availedPackages;
+		return bookingSeriesService.getSeries(
+				LocalDate.of(year, 1, 1),
+				LocalDate.of(year, 12, 31),
+				Granularity.MONTH,
+				BookingStatus.COMPLETED);
+	}
+	
+	// Monthly charts are labelled with short month names, yearly ones with the year.
+	private static List<ChartData> toChart(List<SeriesPoint> series, Function<SeriesPoint, Long> value, boolean monthly) {
+		return series.stream()
+				.map(point -> ChartData.builder()
+						.period(monthly
+								? point.getStartDate().getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH)
+								: point.getPeriod())
+						.value(value.apply(point))
+						.build())
+				.toList();
 	}
 }
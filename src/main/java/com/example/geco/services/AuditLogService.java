@@ -1,6 +1,7 @@
 package com.example.geco.services;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -13,10 +14,15 @@ import org.springframework.transaction.annotation.Transactional;
 import com.example.geco.domains.Account.Role;
 import com.example.geco.domains.AuditLog;
 import com.example.geco.domains.AuditLog.LogAction;
+import com.example.geco.dto.AuditQueueStats;
 import com.example.geco.repositories.AuditLogRepository;
 import com.example.geco.repositories.BookingRepository;
+import com.example.geco.utils.JsonPatch;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.persistence.EntityNotFoundException;
+
 @Service
 @Transactional
 public class AuditLogService {
@@ -27,18 +33,12 @@ public class AuditLogService {
     @Autowired 
     BookingRepository bookingRepository;
     
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+    
     @Autowired
     private ObjectMapper objectMapper;
 
-    private String json(Object value) {
-        try {
-            return value == null ? null : objectMapper.writeValueAsString(value);
-            
-        } catch (Exception e) {
-            return "JSON_ERROR: " + e.getMessage();
-        }
-    }
-
     public void logAction(
             String entityName,
             Long entityId,
@@ -48,18 +48,52 @@ public class AuditLogService {
             Integer id,
             String email,
             Role role) {
-    	auditLogRepository.save(
-    		    AuditLog.builder()
-    		        .entityName(entityName)
-    		        .entityId(entityId)
-    		        .action(action)
-    		        .oldValue(json(oldValue))
-    		        .newValue(json(newValue))
-    		        .performedByAccountId(id)
-    		        .performedByEmail(email)
-    		        .performedByRole(role)
-    		        .build()
-    		);
+    	auditLogWriter.write(entityName, entityId, action, oldValue, newValue, id, email, role);
+    }
+    
+    // Rebuilds an entity's JSON state at a point in time from its last snapshot and the diffs after it.
+    @Transactional(readOnly = true)
+    public JsonNode getStateAt(String entityName, Long entityId, LocalDateTime at) {
+    	if (entityName == null || entityName.isBlank()) {
+    		throw new IllegalArgumentException("Entity name is missing.");
+    	}
+    	
+    	LocalDateTime time = at != null ? at : LocalDateTime.now();
+    	
+    	List<AuditLog> snapshots = auditLogRepository.findSnapshotsAtOrBefore(
+    			entityName, entityId, time, PageRequest.of(0, 1));
+    	
+    	if (snapshots.isEmpty()) {
+    		throw new EntityNotFoundException("No audit history for " + entityName + " " + entityId + " at " + time + ".");
+    	}
+    	
+    	AuditLog snapshot = snapshots.get(0);
+    	JsonNode state = parse(snapshot.getNewValue());
+    	
+    	for (AuditLog entry : auditLogRepository.findDiffsAfter(
+    			entityName, entityId, snapshot.getTimestamp(), snapshot.getId(), time)) {
+    		state = JsonPatch.apply(parse(entry.getDiff()), state);
+    	}
+    	
+    	if (state == null || state.isNull()) {
+    		throw new EntityNotFoundException(entityName + " " + entityId + " did not exist at " + time + ".");
+    	}
+    	
+    	return state;
+    }
+    
+    private JsonNode parse(String json) {
+    	if (json == null) return null;
+    	
+    	try {
+    		return objectMapper.readTree(json);
+    	} catch (Exception e) {
+    		throw new IllegalStateException("Audit log entry is not valid JSON.", e);
+    	}
+    }
+    
+    public AuditQueueStats getQueueStats() {
+    	return auditLogWriter.getStats();
     }
     
     @Transactional(readOnly = true)
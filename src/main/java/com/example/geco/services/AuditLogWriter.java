@@ -0,0 +1,413 @@
+package com.example.geco.services;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.geco.domains.Account.Role;
+import com.example.geco.domains.AuditLog.LogAction;
+import com.example.geco.dto.AuditQueueStats;
+import com.example.geco.utils.JsonPatch;
+import com.example.geco.utils.TransactionUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Writes audit_log rows in JDBC batches instead of one repository save per staff action.
+// Each row stores an RFC 6902 diff from the old state to the new one; the full new state is
+// only kept on snapshot rows (creates, deletes, and every app.audit.snapshot-every changes
+// of an entity), which AuditLogService replays diffs onto to rebuild past states.
+//
+// ASYNC (default): entries are queued once the surrounding transaction commits and a
+// background thread renders and inserts them. When the queue is full the caller writes
+// its entry itself, so audit rows are delayed under load but never dropped.
+// COMMIT: entries are buffered per transaction and inserted together just before it
+// commits, so the audit rows commit or roll back with the change they describe.
+@Service
+public class AuditLogWriter {
+	private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+	public enum Durability {
+		ASYNC,
+		COMMIT
+	}
+
+	// performed_by_role has no @Enumerated on the entity, so it is stored by ordinal.
+	private static final String INSERT_SQL =
+			"INSERT INTO audit_log (entity_name, entity_id, action, performed_by_account_id, "
+			+ "performed_by_email, performed_by_role, old_value, new_value, diff, is_snapshot, timestamp) "
+			+ "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String LAST_SNAPSHOT_SQL =
+			"SELECT MAX(id) FROM audit_log WHERE entity_name = ? AND entity_id = ? "
+			+ "AND (is_snapshot IS NULL OR is_snapshot = TRUE)";
+
+	private static final String COUNT_SINCE_SQL =
+			"SELECT COUNT(*) FROM audit_log WHERE entity_name = ? AND entity_id = ? AND id > ?";
+
+	private static final int MAX_TRACKED_ENTITIES = 10_000;
+
+	@Value("${app.audit.durability:ASYNC}")
+	private Durability durability;
+
+	@Value("${app.audit.queue-capacity:10000}")
+	private int queueCapacity;
+
+	@Value("${app.audit.batch-size:200}")
+	private int batchSize;
+
+	@Value("${app.audit.snapshot-every:20}")
+	private int snapshotEvery;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	// oldValue/newValue are a JsonNode snapshot, or the error text if the value could not be read.
+	private record Entry(
+			String entityName,
+			Long entityId,
+			LogAction action,
+			Object oldValue,
+			Object newValue,
+			Integer accountId,
+			String email,
+			Role role,
+			LocalDateTime timestamp) {}
+
+	private BlockingQueue<Entry> queue;
+
+	// Queued or being written; flush() waits for this to reach zero.
+	private final AtomicInteger pending = new AtomicInteger();
+
+	private final AtomicInteger highWaterMark = new AtomicInteger();
+	private final AtomicLong written = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final AtomicLong overflowed = new AtomicLong();
+
+	// Held while a batch is taken off the queue and inserted.
+	private final ReentrantLock writeLock = new ReentrantLock();
+
+	private final Object bufferKey = new Object();
+
+	// Diff rows written since each entity's last snapshot, -1 when it has none. Guarded by itself.
+	private final Map<String, Integer> sinceSnapshot = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+			return size() > MAX_TRACKED_ENTITIES;
+		}
+	};
+
+	private final TransactionTemplate transactionTemplate;
+
+	private volatile boolean running;
+	private Thread writer;
+
+	public AuditLogWriter(PlatformTransactionManager transactionManager) {
+		// Also used from afterCommit callbacks, where the caller's transaction is still bound.
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	@PostConstruct
+	void start() {
+		queue = new ArrayBlockingQueue<>(queueCapacity);
+		running = true;
+		writer = Thread.ofVirtual().name("audit-log-writer").start(this::writeLoop);
+	}
+
+	@PreDestroy
+	void shutdown() throws InterruptedException {
+		running = false;
+		writer.interrupt();
+		writer.join(TimeUnit.SECONDS.toMillis(10));
+		writeQueued();
+	}
+
+	public void write(
+			String entityName,
+			Long entityId,
+			LogAction action,
+			Object oldValue,
+			Object newValue,
+			Integer accountId,
+			String email,
+			Role role) {
+		// Snapshot now: the entities may change, or lose their session, before the row is written.
+		Entry entry = new Entry(
+				entityName,
+				entityId,
+				action,
+				snapshot(oldValue),
+				snapshot(newValue),
+				accountId,
+				email,
+				role,
+				LocalDateTime.now());
+
+		if (durability == Durability.COMMIT) {
+			buffer(entry);
+		} else {
+			TransactionUtils.afterCommit(() -> enqueue(entry));
+		}
+	}
+
+	// Blocks until every entry queued so far has been written.
+	public void flush() {
+		writeQueued();
+
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (pending.get() > 0 && System.nanoTime() < deadline) {
+			try {
+				Thread.sleep(5);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	public AuditQueueStats getStats() {
+		return AuditQueueStats.builder()
+				.durability(durability.name())
+				.depth(queue.size())
+				.capacity(queueCapacity)
+				.highWaterMark(highWaterMark.get())
+				.written(written.get())
+				.failed(failed.get())
+				.overflowed(overflowed.get())
+				.build();
+	}
+
+	private void enqueue(Entry entry) {
+		pending.incrementAndGet();
+
+		if (queue.offer(entry)) {
+			highWaterMark.accumulateAndGet(queue.size(), Math::max);
+			return;
+		}
+
+		overflowed.incrementAndGet();
+		insert(List.of(entry));
+	}
+
+	private void buffer(Entry entry) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			pending.incrementAndGet();
+			insert(List.of(entry));
+			return;
+		}
+
+		@SuppressWarnings("unchecked")
+		List<Entry> buffered = (List<Entry>) TransactionSynchronizationManager.getResource(bufferKey);
+		if (buffered != null) {
+			buffered.add(entry);
+			return;
+		}
+
+		List<Entry> entries = new ArrayList<>();
+		entries.add(entry);
+		TransactionSynchronizationManager.bindResource(bufferKey, entries);
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void beforeCommit(boolean readOnly) {
+				// Same connection as the transaction, so a failed insert fails the commit.
+				TransactionSynchronizationManager.unbindResource(bufferKey);
+				jdbcTemplate.batchUpdate(INSERT_SQL, rows(entries));
+				written.addAndGet(entries.size());
+			}
+
+			@Override
+			public void afterCompletion(int status) {
+				TransactionSynchronizationManager.unbindResourceIfPossible(bufferKey);
+			}
+		});
+	}
+
+	private void writeLoop() {
+		while (running) {
+			Entry first;
+			try {
+				first = queue.take();
+			} catch (InterruptedException e) {
+				continue;
+			}
+
+			writeLock.lock();
+			try {
+				List<Entry> batch = new ArrayList<>(batchSize);
+				batch.add(first);
+				queue.drainTo(batch, batchSize - 1);
+				insert(batch);
+			} finally {
+				writeLock.unlock();
+			}
+		}
+	}
+
+	private void writeQueued() {
+		writeLock.lock();
+		try {
+			List<Entry> batch = new ArrayList<>(batchSize);
+			while (queue.drainTo(batch, batchSize) > 0) {
+				insert(batch);
+				batch.clear();
+			}
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	private void insert(List<Entry> batch) {
+		try {
+			insertRows(rows(batch));
+		} finally {
+			pending.addAndGet(-batch.size());
+		}
+	}
+
+	private void insertRows(List<Object[]> rows) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+			written.addAndGet(rows.size());
+		} catch (RuntimeException e) {
+			if (rows.size() == 1) {
+				failed.incrementAndGet();
+				log.error("Failed to write audit log for {} {}", rows.get(0)[0], rows.get(0)[1], e);
+			} else {
+				// One bad row fails the whole batch; retry the rows one at a time.
+				log.warn("Audit log batch of {} failed, retrying rows individually", rows.size(), e);
+				for (Object[] row : rows) {
+					insertRows(List.<Object[]>of(row));
+				}
+			}
+		}
+	}
+
+	private List<Object[]> rows(List<Entry> batch) {
+		List<Object[]> rows = new ArrayList<>(batch.size());
+		for (Entry entry : batch) {
+			rows.add(row(entry));
+		}
+		return rows;
+	}
+
+	private Object[] row(Entry entry) {
+		Object oldValue = entry.oldValue();
+		Object newValue = entry.newValue();
+
+		String oldText = null;
+		String newText = null;
+		String diff = null;
+		boolean isSnapshot;
+
+		if (oldValue instanceof String || newValue instanceof String) {
+			// Could not be read as JSON; keep the text, outside the reconstructable history.
+			oldText = render(oldValue);
+			newText = render(newValue);
+			isSnapshot = false;
+		} else if (oldValue == null || newValue == null || entry.action() == LogAction.CREATE) {
+			// Deletes keep the old state, since nothing after them can describe it.
+			oldText = newValue == null ? render(oldValue) : null;
+			newText = render(newValue);
+			isSnapshot = true;
+			trackSnapshot(entry, true);
+		} else {
+			diff = render(JsonPatch.diff((JsonNode) oldValue, (JsonNode) newValue));
+			isSnapshot = trackSnapshot(entry, false);
+			newText = isSnapshot ? render(newValue) : null;
+		}
+
+		return new Object[] {
+				entry.entityName(),
+				entry.entityId(),
+				entry.action() != null ? entry.action().name() : null,
+				entry.accountId(),
+				entry.email(),
+				entry.role() != null ? entry.role().ordinal() : null,
+				oldText,
+				newText,
+				diff,
+				isSnapshot,
+				Timestamp.valueOf(entry.timestamp())
+		};
+	}
+
+	// Records one more row for the entity and returns whether it should be a snapshot.
+	private boolean trackSnapshot(Entry entry, boolean forced) {
+		String key = entry.entityName() + ":" + entry.entityId();
+
+		Integer count;
+		synchronized (sinceSnapshot) {
+			count = sinceSnapshot.get(key);
+		}
+		if (count == null && !forced) {
+			count = loadSinceSnapshot(entry);
+		}
+
+		synchronized (sinceSnapshot) {
+			Integer current = sinceSnapshot.get(key);
+			if (current != null) count = current;
+
+			boolean snapshot = forced || count < 0 || count + 1 >= snapshotEvery;
+			sinceSnapshot.put(key, snapshot ? 0 : count + 1);
+			return snapshot;
+		}
+	}
+
+	private int loadSinceSnapshot(Entry entry) {
+		Long lastSnapshotId = jdbcTemplate.queryForObject(
+				LAST_SNAPSHOT_SQL, Long.class, entry.entityName(), entry.entityId());
+		if (lastSnapshotId == null) return -1;
+
+		Integer count = jdbcTemplate.queryForObject(
+				COUNT_SINCE_SQL, Integer.class, entry.entityName(), entry.entityId(), lastSnapshotId);
+		return count != null ? count : 0;
+	}
+
+	private Object snapshot(Object value) {
+		try {
+			return value == null ? null : objectMapper.valueToTree(value);
+
+		} catch (Exception e) {
+			return "JSON_ERROR: " + e.getMessage();
+		}
+	}
+
+	private String render(Object snapshot) {
+		if (!(snapshot instanceof JsonNode node)) return (String) snapshot;
+
+		try {
+			return objectMapper.writeValueAsString(node);
+
+		} catch (Exception e) {
+			return "JSON_ERROR: " + e.getMessage();
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package com.example.geco.services;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.geco.domains.CalendarDate;
+import com.example.geco.exceptions.ServiceUnavailableException;
+import com.example.geco.repositories.CalendarDateRepository;
+
+// Serializes booking writes that touch the same visit date.
+// Within a node, requests wait on a lock stripe picked by date; across nodes,
+// the calendar_date row of each date is locked FOR UPDATE. Both are held until
+// the surrounding transaction completes, so the overlap check and the insert
+// are atomic for that day while other days proceed in parallel.
+@Service
+public class BookingAdmissionService {
+	private static final int STRIPES = 64;
+
+	@Value("${app.booking.admission.lock-timeout-ms:10000}")
+	private long lockTimeoutMillis;
+
+	@Autowired
+	private CalendarDateRepository calendarDateRepository;
+
+	@Autowired
+	private CalendarDateService calendarDateService;
+
+	@Autowired
+	private BookingScheduleIndex bookingScheduleIndex;
+
+	private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+	public BookingAdmissionService() {
+		for (int i = 0; i < STRIPES; i++) {
+			stripes[i] = new ReentrantLock();
+		}
+	}
+
+	private static int stripeOf(LocalDate date) {
+		return Math.floorMod(date.hashCode(), STRIPES);
+	}
+
+	private void lockStripe(int stripe) {
+		ReentrantLock lock = stripes[stripe];
+
+		try {
+			if (!lock.tryLock(lockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+				throw new ServiceUnavailableException("Too many booking requests for this date. Please try again.");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ServiceUnavailableException("Booking request was interrupted.", e);
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				lock.unlock();
+			}
+		});
+	}
+
+	// Locks the given visit dates for the rest of the current transaction.
+	// Stripes are taken in index order and rows in date order so that two
+	// requests touching the same pair of dates can never deadlock.
+	public List<CalendarDate> admit(LocalDate... dates) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			throw new IllegalStateException("Booking admission requires an active transaction.");
+		}
+
+		SortedSet<LocalDate> sortedDates = new TreeSet<>();
+		for (LocalDate date : dates) {
+			if (date != null) sortedDates.add(date);
+		}
+
+		SortedSet<Integer> sortedStripes = new TreeSet<>();
+		for (LocalDate date : sortedDates) {
+			sortedStripes.add(stripeOf(date));
+		}
+
+		for (int stripe : sortedStripes) {
+			lockStripe(stripe);
+		}
+
+		List<CalendarDate> admitted = new ArrayList<>();
+		for (LocalDate date : sortedDates) {
+			// Only a date's first booking creates its row, in its own transaction and so on a
+			// second connection. The check does not lock: a locking read of a missing row
+			// would hold a gap lock the creating transaction then waits on.
+			if (!calendarDateRepository.existsByDate(date)) {
+				try {
+					calendarDateService.createCalendarDateIfMissing(date);
+				} catch (DataIntegrityViolationException e) {
+					// Another node created the row first; locking it below is enough.
+				}
+			}
+
+			CalendarDate calendarDate = calendarDateRepository.findForUpdateByDate(date)
+					.orElseThrow(() -> new IllegalStateException("Calendar date " + date + " could not be locked."));
+
+			bookingScheduleIndex.sync(date, calendarDate.getScheduleVersion());
+			admitted.add(calendarDate);
+		}
+
+		return admitted;
+	}
+
+	// Records that the schedule of the admitted dates changed in this transaction.
+	public void markChanged(List<CalendarDate> admitted) {
+		for (CalendarDate calendarDate : admitted) {
+			long nextVersion = calendarDate.getScheduleVersion() + 1;
+			calendarDate.setScheduleVersion(nextVersion);
+			calendarDateRepository.save(calendarDate);
+
+			bookingScheduleIndex.markVersion(calendarDate.getDate(), nextVersion);
+		}
+	}
+}
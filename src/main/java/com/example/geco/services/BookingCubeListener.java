@@ -0,0 +1,29 @@
+package com.example.geco.services;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.example.geco.domains.Booking;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// JPA listener on Booking that keeps the analytics cube in step with booking writes,
+// including those made straight through the repository. Looked up lazily for the
+// same reason as AccountSearchListener.
+public class BookingCubeListener {
+	@Autowired
+	private ObjectProvider<BookingCubeService> bookingCubeService;
+
+	@PostPersist
+	@PostUpdate
+	public void onChange(Booking booking) {
+		bookingCubeService.getObject().record(booking);
+	}
+
+	@PostRemove
+	public void onRemove(Booking booking) {
+		bookingCubeService.getObject().remove(booking.getBookingId());
+	}
+}
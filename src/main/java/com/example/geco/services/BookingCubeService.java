@@ -0,0 +1,465 @@
+package com.example.geco.services;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.geco.domains.Booking;
+import com.example.geco.domains.Booking.BookingStatus;
+import com.example.geco.domains.Booking.PaymentMethod;
+import com.example.geco.dto.AnalyticsRequest;
+import com.example.geco.dto.AnalyticsRequest.Dimension;
+import com.example.geco.dto.AnalyticsRow;
+import com.example.geco.utils.TransactionUtils;
+
+// Booking facts held column by column in primitive arrays, one row per booking, for
+// ad-hoc filter / group-by queries without touching the database. The table is read
+// once, the first time it is queried; after that BookingCubeListener and the bulk
+// status update report each committed booking write, which overwrites the booking's
+// row or appends a new one, and reconcile() reloads it for writes made on other nodes.
+// Counted bookings are the same as in booking_daily_stats: active, with a visit date
+// and a status.
+@Service
+public class BookingCubeService {
+	public static final int MAX_GROUP_BY = 3;
+
+	// Each grouped dimension takes 21 bits of the packed group key.
+	private static final int KEY_BITS = 21;
+	private static final int KEY_MASK = (1 << KEY_BITS) - 1;
+
+	private static final Logger log = LoggerFactory.getLogger(BookingCubeService.class);
+
+	private static final BookingStatus[] STATUSES = BookingStatus.values();
+	private static final PaymentMethod[] PAYMENT_METHODS = PaymentMethod.values();
+
+	private static final String LOAD_SQL = """
+			SELECT booking_id, visit_date, visit_time, package_id, booking_status, payment_method, group_size, total_price
+			FROM booking
+			WHERE is_active = TRUE
+			  AND visit_date IS NOT NULL
+			  AND booking_status IS NOT NULL
+			""";
+
+	private static final String ROLLUP_TOTALS_SQL = """
+			SELECT booking_status, SUM(bookings), SUM(visitors), SUM(revenue)
+			FROM booking_daily_stats
+			GROUP BY booking_status
+			""";
+
+	@Value("${app.analytics.cube-max-age-ms:3600000}")
+	private long maxAgeMs;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// A booking as stored in the cube; status null means it no longer counts.
+	private record Fact(
+			int bookingId,
+			LocalDate visitDate,
+			LocalTime visitTime,
+			Integer tourPackageId,
+			BookingStatus status,
+			PaymentMethod paymentMethod,
+			Integer groupSize,
+			Double totalPrice) {}
+
+	private static final class Columns {
+		private final Map<Integer, Integer> rowOf = new HashMap<>();
+		private int size;
+
+		private int[] days = new int[1024];           // epoch day of the visit
+		private int[] months = new int[1024];         // year * 12 + month - 1
+		private int[] packageIds = new int[1024];     // 0 when none
+		private byte[] statuses = new byte[1024];     // ordinal, -1 when the row no longer counts
+		private byte[] paymentMethods = new byte[1024]; // ordinal + 1, 0 when none
+		private byte[] hours = new byte[1024];        // -1 when no visit time
+		private int[] groupSizes = new int[1024];
+		private long[] revenueCents = new long[1024];
+
+		void put(Fact fact) {
+			Integer row = rowOf.get(fact.bookingId());
+
+			if (fact.status() == null) {
+				if (row != null) statuses[row] = -1;
+				return;
+			}
+
+			if (row == null) {
+				if (size == days.length) grow();
+				row = size++;
+				rowOf.put(fact.bookingId(), row);
+			}
+
+			LocalDate date = fact.visitDate();
+			days[row] = (int) date.toEpochDay();
+			months[row] = date.getYear() * 12 + date.getMonthValue() - 1;
+			packageIds[row] = fact.tourPackageId() != null ? fact.tourPackageId() : 0;
+			statuses[row] = (byte) fact.status().ordinal();
+			paymentMethods[row] = (byte) (fact.paymentMethod() != null ? fact.paymentMethod().ordinal() + 1 : 0);
+			hours[row] = (byte) (fact.visitTime() != null ? fact.visitTime().getHour() : -1);
+			groupSizes[row] = fact.groupSize() != null ? fact.groupSize() : 0;
+			revenueCents[row] = fact.totalPrice() != null ? Math.round(fact.totalPrice() * 100) : 0;
+		}
+
+		private void grow() {
+			int capacity = days.length * 2;
+			days = Arrays.copyOf(days, capacity);
+			months = Arrays.copyOf(months, capacity);
+			packageIds = Arrays.copyOf(packageIds, capacity);
+			statuses = Arrays.copyOf(statuses, capacity);
+			paymentMethods = Arrays.copyOf(paymentMethods, capacity);
+			hours = Arrays.copyOf(hours, capacity);
+			groupSizes = Arrays.copyOf(groupSizes, capacity);
+			revenueCents = Arrays.copyOf(revenueCents, capacity);
+		}
+
+		// Packed into KEY_BITS; every value is non-negative.
+		int valueOf(Dimension dimension, int row) {
+			return switch (dimension) {
+				case PACKAGE -> packageIds[row];
+				case STATUS -> statuses[row];
+				case PAYMENT_METHOD -> paymentMethods[row];
+				case WEEKDAY -> weekdayOf(days[row]);
+				case HOUR -> hours[row] + 1;
+				case GROUP_SIZE -> groupSizes[row];
+				case DATE -> days[row];
+				case MONTH -> months[row];
+				case YEAR -> months[row] / 12;
+			};
+		}
+	}
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	// All guarded by lock. pending is non-null while the table is being read, and
+	// collects writes committed meanwhile so they are replayed over what was read.
+	private Columns columns;
+	private List<Fact> pending;
+	private long loadedAt;
+
+	private final Object loadLock = new Object();
+
+	// 1 = Monday ... 7 = Sunday; epoch day 0 was a Thursday.
+	private static int weekdayOf(int epochDay) {
+		return Math.floorMod(epochDay + 3, 7) + 1;
+	}
+
+	private static Fact factOf(Booking booking) {
+		boolean counts = booking.isActive() && booking.getVisitDate() != null && booking.getBookingStatus() != null;
+
+		return new Fact(
+				booking.getBookingId(),
+				booking.getVisitDate(),
+				booking.getVisitTime(),
+				booking.getTourPackage() != null ? booking.getTourPackage().getPackageId() : null,
+				counts ? booking.getBookingStatus() : null,
+				booking.getPaymentMethod(),
+				booking.getGroupSize(),
+				booking.getTotalPrice());
+	}
+
+	private static Fact removed(int bookingId) {
+		return new Fact(bookingId, null, null, null, null, null, null, null);
+	}
+
+	// Stores the booking's current values once the current transaction commits.
+	public void record(Booking booking) {
+		if (booking == null || booking.getBookingId() == null) return;
+
+		Fact fact = factOf(booking);
+		TransactionUtils.afterCommit(() -> apply(fact));
+	}
+
+	public void remove(Integer bookingId) {
+		if (bookingId == null) return;
+
+		Fact fact = removed(bookingId);
+		TransactionUtils.afterCommit(() -> apply(fact));
+	}
+
+	private void apply(Fact fact) {
+		lock.writeLock().lock();
+		try {
+			// Not loaded yet: the load will read the committed row itself.
+			if (columns != null) columns.put(fact);
+			if (pending != null) pending.add(fact);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private void ensureLoaded() {
+		lock.readLock().lock();
+		try {
+			if (columns != null) return;
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		synchronized (loadLock) {
+			lock.readLock().lock();
+			try {
+				if (columns != null) return;
+			} finally {
+				lock.readLock().unlock();
+			}
+			load();
+		}
+	}
+
+	// Reads the whole table into fresh columns and swaps them in. Queries keep using the
+	// current columns meanwhile. Callers hold loadLock.
+	private void load() {
+		lock.writeLock().lock();
+		try {
+			pending = new ArrayList<>();
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		Columns loaded = new Columns();
+		try {
+			jdbcTemplate.query(LOAD_SQL, rs -> {
+				Date visitDate = rs.getDate("visit_date");
+				Time visitTime = rs.getTime("visit_time");
+				String paymentMethod = rs.getString("payment_method");
+
+				loaded.put(new Fact(
+						rs.getInt("booking_id"),
+						visitDate.toLocalDate(),
+						visitTime != null ? visitTime.toLocalTime() : null,
+						rs.getObject("package_id", Integer.class),
+						BookingStatus.valueOf(rs.getString("booking_status")),
+						paymentMethod != null ? PaymentMethod.valueOf(paymentMethod) : null,
+						rs.getObject("group_size", Integer.class),
+						rs.getObject("total_price", Double.class)));
+			});
+		} catch (RuntimeException e) {
+			lock.writeLock().lock();
+			try {
+				pending = null;
+			} finally {
+				lock.writeLock().unlock();
+			}
+			throw e;
+		}
+
+		lock.writeLock().lock();
+		try {
+			pending.forEach(loaded::put);
+			pending = null;
+			columns = loaded;
+			loadedAt = System.currentTimeMillis();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	// Writes committed on other nodes, including the lifecycle sweep, never reach this
+	// node's listeners. The shared rollup sees every write, so the cube is reloaded when
+	// its totals per status drift from the rollup's, and regardless once it is older than
+	// the maximum age, for changes that leave the totals alone.
+	@Scheduled(fixedDelayString = "${app.analytics.cube-check-ms:60000}")
+	public void reconcile() {
+		synchronized (loadLock) {
+			long age;
+			lock.readLock().lock();
+			try {
+				// Never queried on this node, so there is nothing to keep in step.
+				if (columns == null) return;
+				age = System.currentTimeMillis() - loadedAt;
+			} finally {
+				lock.readLock().unlock();
+			}
+
+			if (age >= maxAgeMs || !matchesRollup()) {
+				try {
+					load();
+				} catch (RuntimeException e) {
+					log.warn("Reloading the booking cube failed, keeping the current one", e);
+				}
+			}
+		}
+	}
+
+	private boolean matchesRollup() {
+		Map<String, double[]> rollup = new HashMap<>();
+		jdbcTemplate.query(ROLLUP_TOTALS_SQL, rs -> {
+			rollup.put(rs.getString(1), new double[] { rs.getLong(2), rs.getLong(3), rs.getDouble(4) });
+		});
+
+		Map<String, double[]> cube = new HashMap<>();
+		lock.readLock().lock();
+		try {
+			Columns c = columns;
+			for (int row = 0; row < c.size; row++) {
+				if (c.statuses[row] < 0) continue;
+
+				double[] sum = cube.computeIfAbsent(STATUSES[c.statuses[row]].name(), k -> new double[3]);
+				sum[0]++;
+				sum[1] += c.groupSizes[row];
+				sum[2] += c.revenueCents[row] / 100.0;
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		// Statuses whose rollup rows have all gone to zero still have rows.
+		rollup.values().removeIf(sum -> sum[0] == 0 && sum[1] == 0 && Math.abs(sum[2]) < 0.01);
+		if (!rollup.keySet().equals(cube.keySet())) return false;
+
+		for (Map.Entry<String, double[]> entry : cube.entrySet()) {
+			double[] expected = rollup.get(entry.getKey());
+			double[] actual = entry.getValue();
+
+			if (expected[0] != actual[0] || expected[1] != actual[1] || Math.abs(expected[2] - actual[2]) >= 0.01) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Null or empty filters match everything.
+	private static boolean[] maskOf(List<? extends Enum<?>> values, int length, int offset) {
+		if (values == null || values.isEmpty()) return null;
+
+		boolean[] mask = new boolean[length];
+		for (Enum<?> value : values) {
+			if (value != null) mask[value.ordinal() + offset] = true;
+		}
+		return mask;
+	}
+
+	public List<AnalyticsRow> query(AnalyticsRequest request) {
+		List<Dimension> groupBy = request.getGroupBy() != null ? request.getGroupBy() : List.of();
+		if (groupBy.size() > MAX_GROUP_BY) {
+			throw new IllegalArgumentException("Cannot group by more than " + MAX_GROUP_BY + " dimensions.");
+		}
+		if (groupBy.contains(null) || groupBy.stream().distinct().count() < groupBy.size()) {
+			throw new IllegalArgumentException("Group by dimensions must be set and distinct.");
+		}
+		if (request.getStartDate() != null && request.getEndDate() != null
+				&& request.getEndDate().isBefore(request.getStartDate())) {
+			throw new IllegalArgumentException("End date cannot be earlier than start date.");
+		}
+
+		Dimension[] dimensions = groupBy.toArray(Dimension[]::new);
+
+		int fromDay = request.getStartDate() != null ? (int) request.getStartDate().toEpochDay() : Integer.MIN_VALUE;
+		int toDay = request.getEndDate() != null ? (int) request.getEndDate().toEpochDay() : Integer.MAX_VALUE;
+		int minGroupSize = request.getMinGroupSize() != null ? request.getMinGroupSize() : Integer.MIN_VALUE;
+		int maxGroupSize = request.getMaxGroupSize() != null ? request.getMaxGroupSize() : Integer.MAX_VALUE;
+
+		int[] packageFilter = request.getTourPackageIds() == null || request.getTourPackageIds().isEmpty()
+				? null
+				: request.getTourPackageIds().stream().filter(id -> id != null).mapToInt(Integer::intValue).sorted().toArray();
+
+		boolean[] statusMask = maskOf(request.getStatuses(), STATUSES.length, 0);
+		boolean[] paymentMask = maskOf(request.getPaymentMethods(), PAYMENT_METHODS.length + 1, 1);
+		boolean[] weekdayMask = maskOf(request.getWeekdays(), 8, 1);
+
+		boolean[] hourMask = null;
+		if (request.getHours() != null && !request.getHours().isEmpty()) {
+			hourMask = new boolean[24];
+			for (Integer hour : request.getHours()) {
+				if (hour == null || hour < 0 || hour > 23) {
+					throw new IllegalArgumentException("Hours must be between 0 and 23.");
+				}
+				hourMask[hour] = true;
+			}
+		}
+
+		ensureLoaded();
+
+		// {bookings, visitors, revenue cents} per packed group key.
+		Map<Long, long[]> sums = new HashMap<>();
+
+		lock.readLock().lock();
+		try {
+			Columns c = columns;
+
+			for (int row = 0; row < c.size; row++) {
+				byte status = c.statuses[row];
+				if (status < 0) continue;
+				if (statusMask != null && !statusMask[status]) continue;
+
+				int day = c.days[row];
+				if (day < fromDay || day > toDay) continue;
+
+				int groupSize = c.groupSizes[row];
+				if (groupSize < minGroupSize || groupSize > maxGroupSize) continue;
+
+				if (paymentMask != null && !paymentMask[c.paymentMethods[row]]) continue;
+				if (weekdayMask != null && !weekdayMask[weekdayOf(day)]) continue;
+				if (hourMask != null && (c.hours[row] < 0 || !hourMask[c.hours[row]])) continue;
+				if (packageFilter != null && Arrays.binarySearch(packageFilter, c.packageIds[row]) < 0) continue;
+
+				long key = 0;
+				for (Dimension dimension : dimensions) {
+					key = (key << KEY_BITS) | (c.valueOf(dimension, row) & KEY_MASK);
+				}
+
+				long[] sum = sums.computeIfAbsent(key, k -> new long[3]);
+				sum[0]++;
+				sum[1] += groupSize;
+				sum[2] += c.revenueCents[row];
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		List<Long> keys = new ArrayList<>(sums.keySet());
+		keys.sort(null);
+
+		List<AnalyticsRow> rows = new ArrayList<>(keys.size());
+		for (long key : keys) {
+			long[] sum = sums.get(key);
+
+			rows.add(AnalyticsRow.builder()
+					.group(groupOf(dimensions, key))
+					.bookings(sum[0])
+					.visitors(sum[1])
+					.revenue(sum[2] / 100.0)
+					.build());
+		}
+		return rows;
+	}
+
+	private static Map<String, Object> groupOf(Dimension[] dimensions, long key) {
+		Map<String, Object> group = new LinkedHashMap<>();
+
+		for (int i = 0; i < dimensions.length; i++) {
+			int shift = (dimensions.length - 1 - i) * KEY_BITS;
+			int value = (int) ((key >>> shift) & KEY_MASK);
+
+			group.put(dimensions[i].name(), switch (dimensions[i]) {
+				case PACKAGE -> value != 0 ? value : null;
+				case STATUS -> STATUSES[value].name();
+				case PAYMENT_METHOD -> value != 0 ? PAYMENT_METHODS[value - 1].name() : null;
+				case WEEKDAY -> DayOfWeek.of(value).name();
+				case HOUR -> value != 0 ? value - 1 : null;
+				case GROUP_SIZE, YEAR -> value;
+				case DATE -> LocalDate.ofEpochDay(value).toString();
+				case MONTH -> String.format("%04d-%02d", value / 12, value % 12 + 1);
+			});
+		}
+		return group;
+	}
+}
@@ -0,0 +1,184 @@
+package com.example.geco.services;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.geco.domains.Booking;
+import com.example.geco.domains.Booking.BookingStatus;
+import com.example.geco.domains.Booking.PaymentMethod;
+import com.example.geco.domains.Booking.PaymentStatus;
+import com.example.geco.repositories.BookingRepository;
+
+// Nightly pass that moves bookings the park has moved past: unpaid online bookings
+// are cancelled before their visit and approved bookings are completed after it;
+// optionally, unreviewed bookings are cancelled once their day has gone. Bookings
+// are walked by visit date in chunks of whole dates, one transaction per chunk, so
+// every affected date is recounted exactly once. A scheduler lease keeps the pass on one node.
+@Service
+public class BookingLifecycleSweeper {
+	private static final Logger log = LoggerFactory.getLogger(BookingLifecycleSweeper.class);
+
+	static final String LEASE_NAME = "booking-lifecycle-sweep";
+
+	@Value("${app.booking.sweep.chunk-size:200}")
+	private int chunkSize;
+
+	@Value("${app.booking.sweep.lease-seconds:900}")
+	private long leaseSeconds;
+
+	@Value("${app.booking.sweep.auto-complete:true}")
+	private boolean autoComplete;
+
+	// Approved bookings are completed once their visit date is this many days past.
+	@Value("${app.booking.sweep.complete-after-days:1}")
+	private int completeAfterDays;
+
+	@Value("${app.booking.sweep.auto-cancel-unpaid:true}")
+	private boolean autoCancelUnpaid;
+
+	// Unpaid online bookings visiting within this many days are cancelled.
+	@Value("${app.booking.sweep.cancel-unpaid-days-before:1}")
+	private int cancelUnpaidDaysBefore;
+
+	// Off unless enabled: staff may still confirm a walk-in or cash booking after its day.
+	@Value("${app.booking.sweep.auto-cancel-pending:false}")
+	private boolean autoCancelPending;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private SchedulerLeaseService leaseService;
+
+	private final TransactionTemplate transaction;
+
+	// Active bookings in one of fromStatuses, visiting on or before lastVisitDate and matching
+	// the payment filters (null matches any), are moved to target.
+	private record Rule(
+			List<BookingStatus> fromStatuses,
+			PaymentMethod paymentMethod,
+			PaymentStatus paymentStatus,
+			LocalDate lastVisitDate,
+			BookingStatus target) {}
+
+	public BookingLifecycleSweeper(PlatformTransactionManager transactionManager) {
+		this.transaction = new TransactionTemplate(transactionManager);
+	}
+
+	@Scheduled(cron = "${app.booking.sweep-cron:0 15 1 * * *}")
+	public int sweep() {
+		Duration leaseTtl = Duration.ofSeconds(leaseSeconds);
+
+		if (!leaseService.tryAcquire(LEASE_NAME, leaseTtl)) {
+			log.debug("Booking lifecycle sweep is running on another node");
+			return 0;
+		}
+
+		int swept = 0;
+		try {
+			for (Rule rule : rules(LocalDate.now())) {
+				swept += sweep(rule, leaseTtl);
+			}
+		} catch (IllegalStateException e) {
+			log.warn("Booking lifecycle sweep stopped early", e);
+		} finally {
+			leaseService.release(LEASE_NAME);
+		}
+
+		if (swept > 0) {
+			log.info("Booking lifecycle sweep moved {} booking(s)", swept);
+		}
+
+		return swept;
+	}
+
+	// Unpaid bookings are cancelled before past approved ones are completed, so a booking
+	// that was never paid for is not marked as completed.
+	private List<Rule> rules(LocalDate today) {
+		List<Rule> rules = new ArrayList<>();
+
+		if (autoCancelUnpaid) {
+			rules.add(new Rule(
+					List.of(BookingStatus.PENDING, BookingStatus.APPROVED),
+					PaymentMethod.ONLINE,
+					PaymentStatus.UNPAID,
+					today.plusDays(cancelUnpaidDaysBefore),
+					BookingStatus.CANCELLED));
+		}
+
+		if (autoCancelPending) {
+			rules.add(new Rule(List.of(BookingStatus.PENDING), null, null, today.minusDays(1), BookingStatus.CANCELLED));
+		}
+
+		if (autoComplete) {
+			rules.add(new Rule(
+					List.of(BookingStatus.APPROVED), null, null, today.minusDays(completeAfterDays), BookingStatus.COMPLETED));
+		}
+
+		return rules;
+	}
+
+	private int sweep(Rule rule, Duration leaseTtl) {
+		int swept = 0;
+		LocalDate cursor = LocalDate.EPOCH;
+
+		while (!cursor.isAfter(rule.lastVisitDate())) {
+			// Every listed date has at least one candidate, so chunkSize dates always fill a chunk.
+			List<Object[]> counts = bookingRepository.countSweepCandidatesByVisitDate(
+					cursor,
+					rule.lastVisitDate(),
+					rule.fromStatuses(),
+					rule.paymentMethod(),
+					rule.paymentStatus(),
+					PageRequest.of(0, chunkSize));
+
+			if (counts.isEmpty()) break;
+
+			// Whole dates only; a date with more candidates than a chunk holds is taken on its own.
+			LocalDate chunkEnd = null;
+			long candidates = 0;
+			for (Object[] row : counts) {
+				long count = (Long) row[1];
+				if (chunkEnd != null && candidates + count > chunkSize) break;
+
+				chunkEnd = (LocalDate) row[0];
+				candidates += count;
+			}
+
+			LocalDate start = cursor;
+			LocalDate end = chunkEnd;
+			try {
+				swept += transaction.execute(status -> {
+					List<Booking> bookings = bookingRepository.findSweepCandidates(
+							start, end, rule.fromStatuses(), rule.paymentMethod(), rule.paymentStatus());
+					return bookingService.applyStatuses(bookings, rule.target(), null).size();
+				});
+			} catch (RuntimeException e) {
+				log.warn("Failed to sweep bookings visiting {} to {}", start, end, e);
+			}
+
+			cursor = chunkEnd.plusDays(1);
+
+			if (!leaseService.tryAcquire(LEASE_NAME, leaseTtl)) {
+				throw new IllegalStateException("Lost the " + LEASE_NAME + " lease to another node.");
+			}
+		}
+
+		return swept;
+	}
+}
@@ -0,0 +1,356 @@
+package com.example.geco.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.geco.domains.Booking;
+import com.example.geco.domains.Booking.BookingStatus;
+import com.example.geco.domains.SlotHold;
+import com.example.geco.repositories.BookingRepository;
+import com.example.geco.repositories.SlotHoldRepository;
+import com.example.geco.utils.TimingWheel;
+import com.example.geco.utils.TransactionUtils;
+
+// In-memory schedule of booked intervals, one sorted structure per visit date.
+// A day is loaded from the database the first time it is queried and is then
+// kept in sync by BookingService after each committed booking write. Active slot
+// holds are kept alongside the bookings of their day and count as occupied; a
+// timing wheel drops them from memory once they expire.
+@Service
+public class BookingScheduleIndex {
+	// Bookings in these statuses no longer hold their time slot.
+	public static final List<BookingStatus> RELEASED_STATUSES =
+			List.of(BookingStatus.CANCELLED, BookingStatus.REJECTED);
+
+	// Upper bound on days held in memory; the furthest ones are dropped first and reload on demand.
+	static final int MAX_DAYS = 800;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private SlotHoldRepository slotHoldRepository;
+
+	private final ConcurrentMap<LocalDate, DaySchedule> days = new ConcurrentHashMap<>();
+
+	private record HoldKey(LocalDate visitDate, String token) {}
+
+	// One-second ticks; a turn of the wheel covers holds of up to an hour.
+	private final TimingWheel<HoldKey> holdExpiry = new TimingWheel<>(1000, 3600, System.currentTimeMillis());
+
+	public record Slot(int bookingId, int startMinute, int endMinute) {
+		public LocalTime getStartTime() {
+			return LocalTime.MIN.plusMinutes(startMinute);
+		}
+
+		public LocalTime getEndTime() {
+			return LocalTime.MIN.plusMinutes(endMinute);
+		}
+
+		// Holds are not bookings yet, so they carry booking ID 0.
+		public boolean isHold() {
+			return bookingId == 0;
+		}
+	}
+
+	private record Hold(String token, int startMinute, int endMinute, LocalDateTime expiresAt) {
+		boolean isActive(LocalDateTime now) {
+			return expiresAt.isAfter(now);
+		}
+	}
+
+	// Intervals of a single day, sorted by start minute.
+	private static final class DaySchedule {
+		private final TreeMap<Integer, List<Slot>> byStart = new TreeMap<>();
+		private final Map<Integer, Slot> byBookingId = new HashMap<>();
+		private int longestSlot = 0;
+		
+		// Few per day, so they are scanned rather than indexed.
+		private final Map<String, Hold> holds = new HashMap<>();
+		
+		// CalendarDate.scheduleVersion this day was loaded at, -1 when unknown.
+		private volatile long version = -1;
+
+		synchronized void put(Slot slot) {
+			remove(slot.bookingId());
+
+			byStart.computeIfAbsent(slot.startMinute(), k -> new ArrayList<>()).add(slot);
+			byBookingId.put(slot.bookingId(), slot);
+			longestSlot = Math.max(longestSlot, slot.endMinute() - slot.startMinute());
+		}
+
+		synchronized void remove(int bookingId) {
+			Slot existing = byBookingId.remove(bookingId);
+			if (existing == null) return;
+
+			List<Slot> atStart = byStart.get(existing.startMinute());
+			atStart.removeIf(s -> s.bookingId() == bookingId);
+			if (atStart.isEmpty()) {
+				byStart.remove(existing.startMinute());
+			}
+		}
+
+		synchronized void putHold(Hold hold) {
+			holds.put(hold.token(), hold);
+		}
+
+		synchronized void removeHold(String token) {
+			holds.remove(token);
+		}
+
+		// Only slots starting within [start - longestSlot, end] can touch [start, end].
+		synchronized Optional<Slot> findOverlap(int start, int end, Integer excludeBookingId, String excludeHoldToken) {
+			for (List<Slot> slots : byStart.subMap(start - longestSlot, true, end, true).values()) {
+				for (Slot slot : slots) {
+					if (excludeBookingId != null && slot.bookingId() == excludeBookingId) continue;
+
+					// Inclusive bounds, same as the original linear check.
+					if (slot.endMinute() >= start && slot.startMinute() <= end) {
+						return Optional.of(slot);
+					}
+				}
+			}
+
+			// Expired holds the wheel has not dropped yet no longer count.
+			LocalDateTime now = LocalDateTime.now();
+			for (Hold hold : holds.values()) {
+				if (hold.token().equals(excludeHoldToken) || !hold.isActive(now)) continue;
+
+				if (hold.endMinute() >= start && hold.startMinute() <= end) {
+					return Optional.of(new Slot(0, hold.startMinute(), hold.endMinute()));
+				}
+			}
+			return Optional.empty();
+		}
+
+		synchronized List<Slot> snapshot() {
+			List<Slot> slots = new ArrayList<>(byBookingId.values());
+
+			LocalDateTime now = LocalDateTime.now();
+			for (Hold hold : holds.values()) {
+				if (hold.isActive(now)) slots.add(new Slot(0, hold.startMinute(), hold.endMinute()));
+			}
+			return slots;
+		}
+	}
+
+	private static int toMinute(LocalTime time) {
+		return time.toSecondOfDay() / 60;
+	}
+
+	private static boolean holdsSlot(Booking booking) {
+		return booking.isActive()
+				&& booking.getVisitTime() != null
+				&& !RELEASED_STATUSES.contains(booking.getBookingStatus());
+	}
+
+	private static void addSlot(DaySchedule schedule, Integer bookingId, LocalTime visitTime, Integer duration) {
+		if (visitTime == null) return;
+
+		int start = toMinute(visitTime);
+		int length = (duration != null && duration > 0) ? duration : 0;
+		schedule.put(new Slot(bookingId, start, start + length));
+	}
+
+	private static Hold toHold(SlotHold hold) {
+		int start = toMinute(hold.getVisitTime());
+		int length = Math.max(hold.getDurationMinutes(), 0);
+		return new Hold(hold.getToken(), start, start + length, hold.getExpiresAt());
+	}
+
+	private void addHold(DaySchedule schedule, SlotHold hold) {
+		schedule.putHold(toHold(hold));
+		holdExpiry.schedule(new HoldKey(hold.getVisitDate(), hold.getToken()), toEpochMillis(hold.getExpiresAt()));
+	}
+
+	private static long toEpochMillis(LocalDateTime time) {
+		return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+
+	private DaySchedule load(LocalDate date) {
+		DaySchedule schedule = new DaySchedule();
+
+		for (Object[] row : bookingRepository.findScheduleSlotsByVisitDate(date, RELEASED_STATUSES)) {
+			addSlot(schedule, (Integer) row[0], (LocalTime) row[1], (Integer) row[2]);
+		}
+
+		for (SlotHold hold : slotHoldRepository.findActiveByVisitDateBetween(date, date, LocalDateTime.now())) {
+			addHold(schedule, hold);
+		}
+
+		return schedule;
+	}
+
+	private DaySchedule day(LocalDate date) {
+		DaySchedule schedule = days.get(date);
+		if (schedule != null) return schedule;
+
+		evictBefore(LocalDate.now());
+		evictBeyondCapacity(1);
+		return days.computeIfAbsent(date, this::load);
+	}
+
+	public Optional<Slot> findOverlap(LocalDate visitDate, LocalTime start, int durationMinutes, Integer excludeBookingId) {
+		return findOverlap(visitDate, start, durationMinutes, excludeBookingId, null);
+	}
+
+	// excludeHoldToken lets a booking pass over the hold it is consuming.
+	public Optional<Slot> findOverlap(
+			LocalDate visitDate,
+			LocalTime start,
+			int durationMinutes,
+			Integer excludeBookingId,
+			String excludeHoldToken) {
+		if (visitDate == null || start == null) return Optional.empty();
+
+		int startMinute = toMinute(start);
+		int endMinute = startMinute + Math.max(durationMinutes, 0);
+
+		return day(visitDate).findOverlap(startMinute, endMinute, excludeBookingId, excludeHoldToken);
+	}
+
+	public List<Slot> getSlots(LocalDate visitDate) {
+		return day(visitDate).snapshot();
+	}
+
+	// Loads every day of the range that is not loaded yet with a single query.
+	// Preloaded days carry no version, so a booking write still reloads them under its lock.
+	public void preload(LocalDate from, LocalDate to) {
+		evictBefore(LocalDate.now());
+
+		Map<LocalDate, DaySchedule> loaded = new HashMap<>();
+		for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+			if (!days.containsKey(date)) loaded.put(date, new DaySchedule());
+		}
+		if (loaded.isEmpty()) return;
+		evictBeyondCapacity(loaded.size());
+
+		for (Object[] row : bookingRepository.findScheduleSlotsByVisitDateBetween(from, to, RELEASED_STATUSES)) {
+			DaySchedule schedule = loaded.get((LocalDate) row[0]);
+			if (schedule != null) addSlot(schedule, (Integer) row[1], (LocalTime) row[2], (Integer) row[3]);
+		}
+
+		for (SlotHold hold : slotHoldRepository.findActiveByVisitDateBetween(from, to, LocalDateTime.now())) {
+			DaySchedule schedule = loaded.get(hold.getVisitDate());
+			if (schedule != null) addHold(schedule, hold);
+		}
+
+		loaded.forEach(days::putIfAbsent);
+	}
+
+	// Reloads the day when another node has written to it since it was loaded.
+	// Callers must hold the date's calendar_date row lock.
+	public void sync(LocalDate date, long version) {
+		DaySchedule schedule = days.get(date);
+		if (schedule != null && schedule.version == version) return;
+
+		DaySchedule fresh = load(date);
+		fresh.version = version;
+		days.put(date, fresh);
+	}
+
+	public void markVersion(LocalDate date, long version) {
+		TransactionUtils.afterCommit(() -> {
+			DaySchedule schedule = days.get(date);
+			if (schedule != null) schedule.version = version;
+		});
+	}
+
+	// Re-index a booking after a write; previousDate is its visit date before the change, if any.
+	public void index(Booking booking, LocalDate previousDate) {
+		if (booking == null || booking.getBookingId() == null) return;
+
+		int bookingId = booking.getBookingId();
+		LocalDate visitDate = booking.getVisitDate();
+		boolean holdsSlot = holdsSlot(booking);
+
+		int start = holdsSlot ? toMinute(booking.getVisitTime()) : 0;
+		Integer duration = booking.getTourPackage() != null ? booking.getTourPackage().getDuration() : null;
+		int length = (duration != null && duration > 0) ? duration : 0;
+		Slot slot = new Slot(bookingId, start, start + length);
+
+		TransactionUtils.afterCommit(() -> {
+			if (previousDate != null && !previousDate.equals(visitDate)) {
+				DaySchedule previous = days.get(previousDate);
+				if (previous != null) previous.remove(bookingId);
+			}
+
+			// Days not loaded yet will pick the booking up from the database.
+			DaySchedule current = visitDate != null ? days.get(visitDate) : null;
+			if (current == null) return;
+
+			if (holdsSlot) {
+				current.put(slot);
+			} else {
+				current.remove(bookingId);
+			}
+		});
+	}
+
+	// Adds a hold once the transaction that stored it commits.
+	public void hold(SlotHold hold) {
+		TransactionUtils.afterCommit(() -> {
+			// Days not loaded yet will pick the hold up from the database.
+			DaySchedule schedule = days.get(hold.getVisitDate());
+			if (schedule != null) addHold(schedule, hold);
+		});
+	}
+
+	public void release(LocalDate visitDate, String token) {
+		TransactionUtils.afterCommit(() -> {
+			holdExpiry.cancel(new HoldKey(visitDate, token));
+
+			DaySchedule schedule = days.get(visitDate);
+			if (schedule != null) schedule.removeHold(token);
+		});
+	}
+
+	@Scheduled(fixedDelayString = "${app.booking.hold-tick-ms:1000}")
+	public void expireHolds() {
+		for (HoldKey key : holdExpiry.advance(System.currentTimeMillis())) {
+			DaySchedule schedule = days.get(key.visitDate());
+			if (schedule != null) schedule.removeHold(key.token());
+		}
+	}
+
+	public void evict(LocalDate date) {
+		if (date != null) days.remove(date);
+	}
+
+	public void evictAll() {
+		days.clear();
+	}
+
+	// Past dates can no longer be booked, so their schedules are dropped.
+	private void evictBefore(LocalDate date) {
+		days.keySet().removeIf(d -> d.isBefore(date));
+	}
+
+	// Makes room for incoming days by dropping the furthest ones. Near dates are the ones
+	// being booked, so they stay; a dropped day is reloaded with its holds when next used.
+	private void evictBeyondCapacity(int incoming) {
+		int excess = days.size() + incoming - MAX_DAYS;
+		if (excess <= 0) return;
+
+		days.keySet().stream()
+				.sorted(Comparator.reverseOrder())
+				.limit(excess)
+				.toList()
+				.forEach(days::remove);
+	}
+}
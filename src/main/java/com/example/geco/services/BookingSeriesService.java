@@ -0,0 +1,147 @@
+package com.example.geco.services;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.geco.domains.Booking.BookingStatus;
+import com.example.geco.dto.SeriesPoint;
+import com.example.geco.repositories.BookingDailyStatsRepository;
+
+// Booking time series read from the daily rollup. A whole series is one GROUP BY query
+// at the requested granularity (weeks fold the daily rows), and buckets with no
+// bookings are filled with zeros here, so a chart is one round trip for any range.
+@Service
+@Transactional(readOnly = true)
+public class BookingSeriesService {
+	public static final int MAX_POINTS = 1000;
+
+	public enum Granularity {
+		DAY, WEEK, MONTH, YEAR
+	}
+
+	@Autowired
+	private BookingDailyStatsRepository statsRepository;
+
+	// Every bucket from the one holding startDate to the one holding endDate. A null status counts every status.
+	public List<SeriesPoint> getSeries(
+			LocalDate startDate,
+			LocalDate endDate,
+			Granularity granularity,
+			BookingStatus status) {
+		if (startDate == null || endDate == null) {
+			throw new IllegalArgumentException("Start and end dates are required.");
+		}
+		if (endDate.isBefore(startDate)) {
+			throw new IllegalArgumentException("End date cannot be earlier than start date.");
+		}
+		if (granularity == null) {
+			throw new IllegalArgumentException("Granularity is required.");
+		}
+
+		LocalDate first = bucketOf(startDate, granularity);
+		LocalDate last = bucketOf(endDate, granularity);
+		if (bucketsBetween(first, last, granularity) >= MAX_POINTS) {
+			throw new IllegalArgumentException("A series cannot have more than " + MAX_POINTS + " points.");
+		}
+
+		// {bookings, visitors, revenue} per bucket start.
+		Map<LocalDate, double[]> sums = new HashMap<>();
+
+		switch (granularity) {
+			case DAY, WEEK -> {
+				for (Object[] row : statsRepository.sumByDay(startDate, endDate, status)) {
+					add(sums, bucketOf((LocalDate) row[0], granularity), row, 1);
+				}
+			}
+			case MONTH -> {
+				for (Object[] row : statsRepository.sumByMonth(startDate, endDate, status)) {
+					add(sums, LocalDate.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue(), 1), row, 2);
+				}
+			}
+			case YEAR -> {
+				for (Object[] row : statsRepository.sumByYear(startDate, endDate, status)) {
+					add(sums, LocalDate.of(((Number) row[0]).intValue(), 1, 1), row, 1);
+				}
+			}
+		}
+
+		List<SeriesPoint> points = new ArrayList<>();
+		for (LocalDate bucket = first; !bucket.isAfter(last); bucket = next(bucket, granularity)) {
+			double[] sum = sums.getOrDefault(bucket, new double[3]);
+
+			points.add(SeriesPoint.builder()
+					.period(label(bucket, granularity))
+					.startDate(bucket)
+					.bookings((long) sum[0])
+					.visitors((long) sum[1])
+					.revenue((long) sum[2])
+					.build());
+		}
+		return points;
+	}
+
+	// Bookings per tour package ID over the range, in one query; packages with none are absent.
+	public Map<Integer, Long> getBookingsByPackage(LocalDate startDate, LocalDate endDate) {
+		Map<Integer, Long> bookings = new HashMap<>();
+		for (Object[] row : statsRepository.sumBookingsByPackage(startDate, endDate)) {
+			bookings.put((Integer) row[0], ((Number) row[1]).longValue());
+		}
+		return bookings;
+	}
+
+	// row[offset..offset+2] hold the bookings, visitors and revenue sums.
+	private static void add(Map<LocalDate, double[]> sums, LocalDate bucket, Object[] row, int offset) {
+		double[] sum = sums.computeIfAbsent(bucket, key -> new double[3]);
+		for (int i = 0; i < 3; i++) {
+			Object value = row[offset + i];
+			sum[i] += value != null ? ((Number) value).doubleValue() : 0;
+		}
+	}
+
+	private static LocalDate bucketOf(LocalDate date, Granularity granularity) {
+		return switch (granularity) {
+			case DAY -> date;
+			case WEEK -> date.with(DayOfWeek.MONDAY);
+			case MONTH -> date.withDayOfMonth(1);
+			case YEAR -> date.withDayOfYear(1);
+		};
+	}
+
+	private static LocalDate next(LocalDate bucket, Granularity granularity) {
+		return switch (granularity) {
+			case DAY -> bucket.plusDays(1);
+			case WEEK -> bucket.plusWeeks(1);
+			case MONTH -> bucket.plusMonths(1);
+			case YEAR -> bucket.plusYears(1);
+		};
+	}
+
+	private static long bucketsBetween(LocalDate first, LocalDate last, Granularity granularity) {
+		return switch (granularity) {
+			case DAY -> ChronoUnit.DAYS.between(first, last);
+			case WEEK -> ChronoUnit.WEEKS.between(first, last);
+			case MONTH -> ChronoUnit.MONTHS.between(first, last);
+			case YEAR -> ChronoUnit.YEARS.between(first, last);
+		};
+	}
+
+	private static String label(LocalDate bucket, Granularity granularity) {
+		return switch (granularity) {
+			case DAY -> bucket.toString();
+			case WEEK -> bucket.get(IsoFields.WEEK_BASED_YEAR) + "-W"
+					+ String.format("%02d", bucket.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+			case MONTH -> bucket.toString().substring(0, 7);
+			case YEAR -> String.valueOf(bucket.getYear());
+		};
+	}
+}
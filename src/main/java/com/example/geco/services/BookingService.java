@@ -6,27 +6,35 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.Timestamp;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.YearMonth;
 import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -42,15 +50,25 @@ import com.example.geco.domains.CalendarDate;
 import com.example.geco.domains.PackageInclusion;
 import com.example.geco.domains.TourPackage;
 import com.example.geco.dto.BookingInclusionRequest;
+import com.example.geco.dto.BookingListItem;
+import com.example.geco.dto.BookingQuote;
 import com.example.geco.dto.BookingRequest;
 import com.example.geco.dto.BookingUpdateRequest;
+import com.example.geco.dto.BulkBookingStatusRequest;
+import com.example.geco.dto.BulkBookingStatusResult;
 import com.example.geco.dto.CalendarDay;
+import com.example.geco.dto.CalendarDay.BusyLevel;
+import com.example.geco.dto.CalendarDaySummary;
 import com.example.geco.dto.ChartData;
+import com.example.geco.dto.CursorPage;
 import com.example.geco.dto.UserBookingUpdateRequest;
 import com.example.geco.repositories.AccountRepository;
+import com.example.geco.repositories.BookingDailyStatsRepository;
 import com.example.geco.repositories.BookingRepository;
 import com.example.geco.repositories.PackageInclusionRepository;
 import com.example.geco.repositories.TourPackageRepository;
+import com.example.geco.services.BookingSeriesService.Granularity;
+import com.example.geco.utils.BookingCursor;
 import com.example.geco.utils.DateTimeUtils;
 import com.example.geco.utils.ImageUtils;
 
@@ -59,6 +77,21 @@ import jakarta.persistence.EntityNotFoundException;
 @Service
 @Transactional
 public class BookingService extends BaseService{
+	// Park opens by 7:00 and closes by 17:00.
+	public static final LocalTime OPENING_TIME = LocalTime.of(7, 0);
+	public static final LocalTime CLOSING_TIME = LocalTime.of(17, 0);
+	
+	public static final int MAX_BULK_BOOKINGS = 500;
+	
+	private static final String UPDATE_STATUSES_SQL =
+			"UPDATE booking SET booking_status = ?, payment_status = ?, updated_at = ?, version = version + 1 "
+			+ "WHERE booking_id = ? AND version = ?";
+	
+	// Booking statuses a bulk update may move a booking to; REJECTED, CANCELLED and COMPLETED are final.
+	private static final Map<BookingStatus, Set<BookingStatus>> BULK_TRANSITIONS = Map.of(
+			BookingStatus.PENDING, Set.of(BookingStatus.APPROVED, BookingStatus.REJECTED, BookingStatus.CANCELLED),
+			BookingStatus.APPROVED, Set.of(BookingStatus.COMPLETED, BookingStatus.CANCELLED));
+	
 	@Value("${app.upload-dir.payments:C:/sts-4.32.0.RELEASE/dev/geco/uploads/payments}")
 	private String paymentsUploadDir;
 	
@@ -68,9 +101,6 @@ public class BookingService extends BaseService{
 	@Autowired
 	private StorageService storageService;
 	
-	@Autowired
-	private RestrictionService restrictionService;
-
 	@Value("${app.storage.bucket.booking_payments:}")
 	private String paymentsBucket;
 	
@@ -89,6 +119,42 @@ public class BookingService extends BaseService{
 	@Autowired
 	private CalendarDateService calendarDateService;
 	
+	@Autowired
+	private BookingScheduleIndex bookingScheduleIndex;
+	
+	@Autowired
+	private BookingAdmissionService bookingAdmissionService;
+	
+	@Autowired
+	private CalendarCache calendarCache;
+	
+	@Autowired
+	private AccountSearchIndex accountSearchIndex;
+	
+	@Autowired
+	private PricingService pricingService;
+	
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	
+	@Autowired
+	private SlotHoldService slotHoldService;
+	
+	@Autowired
+	private WaitlistService waitlistService;
+	
+	@Autowired
+	private BookingStatsService bookingStatsService;
+	
+	@Autowired
+	private BookingCubeService bookingCubeService;
+	
+	@Autowired
+	private BookingDailyStatsRepository statsRepository;
+	
+	@Autowired
+	private BookingSeriesService bookingSeriesService;
+	
 	private Booking createBookingCopy(Booking booking) {
 		return Booking.builder()
 				.bookingId(booking.getBookingId())
@@ -105,10 +171,11 @@ public class BookingService extends BaseService{
 				.isActive(booking.isActive())
 				.createdAt(booking.getCreatedAt())
 				.updatedAt(booking.getUpdatedAt())
+				.version(booking.getVersion())
 				.build();
 	}
 	
-	private void validateVisitDate(LocalDate visitDate) {
+	static void validateVisitDate(LocalDate visitDate) {
 		LocalDate today = LocalDate.now();
 		
 		if (!visitDate.isAfter(today.plusDays(1))) {
@@ -116,116 +183,57 @@ public class BookingService extends BaseService{
 		}
 	}
 	
+	static void validateVisitWindow(LocalTime visitTime) {
+		if (visitTime.isBefore(OPENING_TIME) || visitTime.isAfter(CLOSING_TIME)) {
+			throw new IllegalArgumentException("Booking visit time must be between 7:00 and end at by 17:00.");
+		}
+	}
+	
 	private void validateVisitTime(Integer id, Integer tourDurationMinutes, LocalDate visitDate, LocalTime visitTime) {
+		validateVisitTime(id, tourDurationMinutes, visitDate, visitTime, null);
+	}
+	
+	// holdToken is the slot hold the booking is consuming, which must not count against it.
+	private void validateVisitTime(Integer id, Integer tourDurationMinutes, LocalDate visitDate, LocalTime visitTime, String holdToken) {
 		if (tourDurationMinutes < 0) {
 			tourDurationMinutes = 0;
 		}
 		
-		// Park opens by 8:00.
-		LocalTime startTime = LocalTime.of(7, 0);
-		
-		// Closes by 17:00.
-		LocalTime endTime = LocalTime.of(17, 0);
-		
-		if (visitTime.isBefore(startTime) || visitTime.isAfter(endTime)) {
-			throw new IllegalArgumentException("Booking visit time must be between 7:00 and end at by 17:00.");
-		}
+		validateVisitWindow(visitTime);
 		
 	    // Check if there's an overlap in schedule and selected schedule.
 		checkScheduleOverlap(
 				id,
 				visitDate, 
 				visitTime,
-				visitTime.plusMinutes(tourDurationMinutes)
+				tourDurationMinutes,
+				holdToken
 		);
 	}
 	
-	private void checkScheduleOverlap(Integer id, LocalDate visitDate, LocalTime requestedStart, LocalTime requestedEnd) {
-		List<Booking> bookingsOnDate = new ArrayList<>();
-		if (id != null ) {
-			 bookingsOnDate = bookingRepository.findByVisitDateAndBookingIdNotOrderByVisitTimeAsc(visitDate, id);
-			 
-		} else {
-			 bookingsOnDate = bookingRepository.findByVisitDateOrderByVisitTimeAsc(visitDate);
-		}
-				
-		for (Booking existing : bookingsOnDate) {
-		    int existingDuration = existing.getTourPackage().getDuration() != null
-		            ? existing.getTourPackage().getDuration()
-		            : 0;
-		    LocalTime existingStart = existing.getVisitTime();
-		    LocalTime existingEnd = existingStart.plusMinutes(existingDuration);
-
-		    // Check if times overlap
-		    boolean overlap = !requestedEnd.isBefore(existingStart) && !requestedStart.isAfter(existingEnd);
-		    if (overlap) {
-		        throw new IllegalArgumentException(
-		            "Selected time overlaps with an existing booking from " + existingStart + " to " + existingEnd + "."
-		        );
-		    }
-	    }
-	}
-	
-	private int getTotalInclusionPrice(List<BookingInclusionRequest> requests, int groupSize) {
-	    if (requests == null || requests.isEmpty()) {
-	        return 0;
-	    }
-
-	    // Fetch all PackageInclusions for the given inclusion IDs.
-	    List<Integer> inclusionIds = requests
-	            .stream()
-	            .map(BookingInclusionRequest::getInclusionId)
-	            .toList();
-
-	    List<PackageInclusion> inclusions = inclusionRepository.findAllByInclusionIdIn(inclusionIds);
-
-	    if (inclusions.size() != inclusionIds.size()) {
-	        throw new IllegalArgumentException("Some inclusion IDs do not exist.");
-	    }
-	    
-	    // Map inclusions by ID for easy lookup.
-	    Map<Integer, PackageInclusion> inclusionMap = inclusions.stream()
-	            .collect(Collectors.toMap(PackageInclusion::getInclusionId, pi -> pi));
-
-
-	    int totalPrice = 0;
-	    
-	    for (BookingInclusionRequest reqInclusion : requests) {
-	        PackageInclusion inclusion = inclusionMap.get(reqInclusion.getInclusionId());
-	        if (inclusion == null) {
-	            throw new IllegalArgumentException("Inclusion ID " + reqInclusion.getInclusionId() + " not found.");
-	        }
-
-	        if (reqInclusion.getQuantity() > groupSize) {
-	            throw new IllegalArgumentException("Inclusion quantity cannot exceed booking group size.");
-	        }
-
-	        totalPrice += inclusion.getInclusionPricePerPerson() * reqInclusion.getQuantity();
-	    }
-
-	    return totalPrice;
+	private void checkScheduleOverlap(Integer id, LocalDate visitDate, LocalTime requestedStart, int durationMinutes, String holdToken) {
+		bookingScheduleIndex.findOverlap(visitDate, requestedStart, durationMinutes, id, holdToken)
+			.ifPresent(existing -> {
+				throw new IllegalArgumentException(
+					"Selected time overlaps with " + (existing.isHold() ? "a slot being held" : "an existing booking")
+					+ " from " + existing.getStartTime() + " to " + existing.getEndTime() + "."
+				);
+			});
 	}
 	
-	private int getTotalInclusionPrice(Booking booking) {
-	    if (booking.getBookingInclusions() == null || booking.getBookingInclusions().isEmpty()) {
-	        return 0;
-	    }
-
-	    int totalPrice = 0;
-	    for (BookingInclusion inclusion : booking.getBookingInclusions()) {
-	        if (inclusion.getPriceAtBooking() == null || inclusion.getQuantity() == null) {
-	            throw new IllegalArgumentException("Booking Inclusion must have a price and quantity.");
-	        }
-	        if (inclusion.getQuantity() > booking.getGroupSize()) {
-	            throw new IllegalArgumentException("Inclusion quantity cannot exceed booking group size.");
-	        }
-
-	        totalPrice += inclusion.getPriceAtBooking() * inclusion.getQuantity();
-	    }
-
-	    return totalPrice;
+	// Total price of the booking as it stands, from the pricing snapshot.
+	private double getTotalPrice(Booking booking) {
+		List<BookingInclusionRequest> inclusions = booking.getBookingInclusions().stream()
+				.map(inclusion -> BookingInclusionRequest.builder()
+						.inclusionId(inclusion.getInclusion().getInclusionId())
+						.quantity(inclusion.getQuantity())
+						.build())
+				.toList();
+		
+		return pricingService
+				.quote(booking.getTourPackage().getPackageId(), booking.getGroupSize(), inclusions)
+				.getTotalPrice();
 	}
-
 	
 	public Booking addBooking(BookingRequest request) {
 		int accountId = request.getAccountId();
@@ -269,9 +277,22 @@ public class BookingService extends BaseService{
 	    if (packageInclusions.size() != bookingInclusionIds.size()) {
 	        throw new IllegalArgumentException("Some inclusion IDs do not exist.");
 	    }
+	    
+	    Map<Integer, PackageInclusion> inclusionsById = packageInclusions.stream()
+	            .collect(Collectors.toMap(PackageInclusion::getInclusionId, inclusion -> inclusion));
+	    
+	    BookingQuote quote = pricingService.quote(tourPackageId, groupSize, bookingInclusionRequests);
 
 		validateVisitDate(visitDate);
-		validateVisitTime(null, tourPackage.getDuration(), visitDate, visitTime);
+		
+		// Hold the visit date until commit so concurrent requests cannot pass the overlap check together.
+		List<CalendarDate> admittedDates = bookingAdmissionService.admit(visitDate);
+		
+		String holdToken = request.getHoldToken();
+		if (holdToken != null) {
+			slotHoldService.consume(holdToken, accountId, tourPackageId, visitDate, visitTime);
+		}
+		validateVisitTime(null, tourPackage.getDuration(), visitDate, visitTime, holdToken);
 	    
 		// Initial build of booking.
 	    Booking booking = Booking.builder()
@@ -283,20 +304,13 @@ public class BookingService extends BaseService{
 	            .paymentMethod(paymentMethod)
 	            .bookingStatus(Booking.BookingStatus.PENDING)
 	            .paymentStatus(Booking.PaymentStatus.UNPAID)
-	             .totalPrice(
-	            		 tourPackage.getBasePrice() +
-	            		(tourPackage.getPricePerPerson() * groupSize) 
-//	            		+ getTotalInclusionPrice(request.getBookingInclusionRequests(), groupSize)
-	            )
+	            .totalPrice(quote.getTotalPrice())
 	            .build();
 
 	    // Set booking reference for inclusions
 	    List<BookingInclusion> inclusions = new ArrayList<>();
 	    for (BookingInclusionRequest reqInclusion : bookingInclusionRequests) {
-	        PackageInclusion inclusion = packageInclusions.stream()
-	                .filter(pi -> pi.getInclusionId().equals(reqInclusion.getInclusionId()))
-	                .findFirst()
-	                .orElseThrow();
+	        PackageInclusion inclusion = inclusionsById.get(reqInclusion.getInclusionId());
 
 	        inclusions.add(BookingInclusion.builder()
 	                .booking(booking)
@@ -308,6 +322,10 @@ public class BookingService extends BaseService{
 	    
 	    booking.setBookingInclusions(inclusions);
 		Booking savedBooking = bookingRepository.save(booking);
+		bookingScheduleIndex.index(savedBooking, null);
+		calendarDateService.applyBookingChange(admittedDates, null, savedBooking);
+		bookingAdmissionService.markChanged(admittedDates);
+		waitlistService.claim(accountId, tourPackageId, visitDate);
 		
 		logIfStaffOrAdmin("Booking", (long) savedBooking.getBookingId(), LogAction.CREATE, null, savedBooking);
 		
@@ -315,7 +333,7 @@ public class BookingService extends BaseService{
 		String convertedTime = DateTimeUtils.formatTime(visitTime);
 		
 		String message = "Your booking on " + convertedDate + " at " + convertedTime + " was successfully submitted.";
-		notificationService.addNotification(account, savedBooking, message);
+		notificationService.queueNotification(account, savedBooking, message);
 		
 		return savedBooking;
 	}
@@ -326,353 +344,486 @@ public class BookingService extends BaseService{
 	            .orElseThrow(() -> new EntityNotFoundException("Booking with ID '" + id + "' not found."));
 	}
 	
+	// Bookings that exist among the given IDs; missing ones are left out.
 	@Transactional(readOnly = true)
-	public Page<Booking> getBookingByFilters(
-	        Integer accountId,
-	        LocalDate startDate,
-	        LocalDate endDate,
-	        BookingStatus bookingStatus,
-	        PaymentStatus paymentStatus,
-	        PaymentMethod paymentMethod,
-	        String email,
-	        String dateField,
-	        Pageable pageable
-	) {
-	    // Default to visitDate when not specified or unrecognized
-	    if (dateField == null || dateField.equalsIgnoreCase("visitDate")) {
-	        return bookingRepository.findByFilters(
-	                accountId,
-	                startDate,
-	                endDate,
-	                bookingStatus,
-	                paymentStatus,
-	                paymentMethod,
-	                email,
-	                pageable
-	        );
-	    }
-
-	    // Convert LocalDate range to LocalDateTime range for timestamp fields
-	    LocalDateTime startDateTime = (startDate != null) ? startDate.atStartOfDay() : null;
-	    LocalDateTime endDateTime = (endDate != null) ? endDate.atTime(LocalTime.MAX) : null;
-
-	    if ("createdAt".equalsIgnoreCase(dateField)) {
-	        return bookingRepository.findByFiltersByCreatedAt(
-	                accountId,
-	                startDateTime,
-	                endDateTime,
-	                bookingStatus,
-	                paymentStatus,
-	                paymentMethod,
-	                email,
-	                pageable
-	        );
-	    }
-
-	    if ("updatedAt".equalsIgnoreCase(dateField)) {
-	        return bookingRepository.findByFiltersByUpdatedAt(
-	                accountId,
-	                startDateTime,
-	                endDateTime,
-	                bookingStatus,
-	                paymentStatus,
-	                paymentMethod,
-	                email,
-	                pageable
-	        );
-	    }
-
-	    return bookingRepository.findByFilters(
-	            accountId,
-	            startDate,
-	            endDate,
-	            bookingStatus,
-	            paymentStatus,
-	            paymentMethod,
-	            email,
-	            pageable
-	    );
+	public List<Booking> getBookings(Collection<Integer> ids) {
+		if (ids == null || ids.isEmpty()) return List.of();
+		
+		Set<Integer> distinct = new LinkedHashSet<>(ids);
+		distinct.remove(null);
+		return bookingRepository.findAllWithAccountByBookingIdIn(distinct);
+	}
+	
+	private static final int MAX_CURSOR_PAGE_SIZE = 100;
+	
+	private static final String EXPAND_INCLUSIONS = "inclusions";
+	
+	// Which column a list's startDate/endDate filter applies to: visitDate (default), createdAt or updatedAt.
+	private record ListDateRange(
+			LocalDate visitFrom, LocalDate visitTo,
+			LocalDateTime createdFrom, LocalDateTime createdTo,
+			LocalDateTime updatedFrom, LocalDateTime updatedTo) {
+		
+		static ListDateRange of(LocalDate startDate, LocalDate endDate, String dateField) {
+			LocalDateTime startDateTime = (startDate != null) ? startDate.atStartOfDay() : null;
+		    LocalDateTime endDateTime = (endDate != null) ? endDate.atTime(LocalTime.MAX) : null;
+			
+			if ("createdAt".equalsIgnoreCase(dateField)) {
+				return new ListDateRange(null, null, startDateTime, endDateTime, null, null);
+			}
+			if ("updatedAt".equalsIgnoreCase(dateField)) {
+				return new ListDateRange(null, null, null, null, startDateTime, endDateTime);
+			}
+			return new ListDateRange(startDate, endDate, null, null, null, null);
+		}
+	}
+	
+	// Comma-separated ?expand= values. Only "inclusions" is supported.
+	private static boolean parseExpandInclusions(String expand) {
+		if (expand == null || expand.isBlank()) return false;
+		
+		boolean inclusions = false;
+		for (String value : expand.split(",")) {
+			String trimmed = value.trim();
+			if (trimmed.isEmpty()) continue;
+			
+			if (!trimmed.equalsIgnoreCase(EXPAND_INCLUSIONS)) {
+				throw new IllegalArgumentException("Unknown expand value \"" + trimmed + "\".");
+			}
+			inclusions = true;
+		}
+		return inclusions;
+	}
+	
+	// Placeholder for the repository's accountIds when no search narrows the accounts.
+	private static final List<Integer> ANY_ACCOUNT = List.of(-1);
+	
+	// How the email and client searches narrow a booking list: by the matched account IDs,
+	// or, for matches too broad for an IN list, by LIKE on the search terms themselves.
+	private record AccountFilter(boolean anyAccount, Collection<Integer> accountIds, String email, String client) {
+		static final AccountFilter NONE = new AccountFilter(true, ANY_ACCOUNT, null, null);
+		
+		static final AccountFilter NO_MATCH = new AccountFilter(false, ANY_ACCOUNT, null, null);
+		
+		boolean matchesNothing() {
+			return this == NO_MATCH;
+		}
 	}
 	
+	private AccountFilter findAccounts(String email, String client) {
+		Set<Integer> accountIds = findAccountIds(email, client);
+		
+		if (accountIds == null) return AccountFilter.NONE;
+		if (accountIds.isEmpty()) return AccountFilter.NO_MATCH;
+		
+		if (accountIds.size() > AccountSearchIndex.MAX_ID_MATCHES) {
+			return new AccountFilter(true, ANY_ACCOUNT,
+					email != null && !email.isBlank() ? email.trim() : null,
+					client != null && !client.isBlank() ? client.trim() : null);
+		}
+		return new AccountFilter(false, accountIds, null, null);
+	}
+	
+	// Accounts matching the email and client searches through the search index,
+	// or null when neither is given.
+	private Set<Integer> findAccountIds(String email, String client) {
+		Set<Integer> accountIds = null;
+		
+		if (email != null && !email.isBlank()) {
+			accountIds = accountSearchIndex.findByEmail(email);
+		}
+		
+		if (client != null && !client.isBlank()) {
+			Set<Integer> byClient = accountSearchIndex.findByNameOrEmail(client);
+			if (accountIds == null) {
+				accountIds = byClient;
+			} else {
+				accountIds.retainAll(byClient);
+			}
+		}
+		
+		return accountIds;
+	}
+	
+	// One extra query for the whole page instead of a lazy load per booking.
+	private void attachInclusions(List<BookingListItem> items) {
+		if (items.isEmpty()) return;
+		
+		Map<Integer, List<BookingListItem.InclusionSummary>> byBooking = new HashMap<>();
+		for (BookingListItem item : items) {
+			List<BookingListItem.InclusionSummary> inclusions = new ArrayList<>();
+			item.setBookingInclusions(inclusions);
+			byBooking.put(item.getBookingId(), inclusions);
+		}
+		
+		for (Object[] row : bookingRepository.findInclusionRowsByBookingIds(new ArrayList<>(byBooking.keySet()))) {
+			byBooking.get((Integer) row[0]).add(BookingListItem.InclusionSummary.builder()
+					.bookingInclusionId((Integer) row[1])
+					.inclusionId((Integer) row[2])
+					.inclusionName((String) row[3])
+					.quantity((Integer) row[4])
+					.priceAtBooking((Integer) row[5])
+					.build());
+		}
+	}
+	
+	// Booking list page. isActive null lists both active and inactive bookings.
 	@Transactional(readOnly = true)
-	public Page<Booking> getBookingByFiltersByMe(
-	        LocalDate startDate,
-	        LocalDate endDate,
-	        BookingStatus bookingStatus,
-	        PaymentStatus paymentStatus,
-	        PaymentMethod paymentMethod,
-	        String dateField,
-	        Pageable pageable
+	public Page<BookingListItem> getBookingList(
+			Integer accountId,
+			Boolean isActive,
+			LocalDate startDate,
+			LocalDate endDate,
+			String dateField,
+			BookingStatus bookingStatus,
+			PaymentStatus paymentStatus,
+			PaymentMethod paymentMethod,
+			String email,
+			String client,
+			String expand,
+			Pageable pageable
 	) {
+		boolean expandInclusions = parseExpandInclusions(expand);
+		ListDateRange range = ListDateRange.of(startDate, endDate, dateField);
 		
-		int accountId = getLoggedAccountId();
-		String email = getLoggedAccountEmail();
-		
-	    // Default to visitDate when not specified or unrecognized
-	    if (dateField == null || dateField.equalsIgnoreCase("visitDate")) {
-	        return bookingRepository.findByFilters(
-	                accountId,
-	                startDate,
-	                endDate,
-	                bookingStatus,
-	                paymentStatus,
-	                paymentMethod,
-	                email,
-	                pageable
-	        );
-	    }
-
-	    // Convert LocalDate range to LocalDateTime range for timestamp fields
-	    LocalDateTime startDateTime = (startDate != null) ? startDate.atStartOfDay() : null;
-	    LocalDateTime endDateTime = (endDate != null) ? endDate.atTime(LocalTime.MAX) : null;
-
-	    if ("createdAt".equalsIgnoreCase(dateField)) {
-	        return bookingRepository.findByFiltersByCreatedAt(
-	                accountId,
-	                startDateTime,
-	                endDateTime,
-	                bookingStatus,
-	                paymentStatus,
-	                paymentMethod,
-	                email,
-	                pageable
-	        );
-	    }
-
-	    if ("updatedAt".equalsIgnoreCase(dateField)) {
-	        return bookingRepository.findByFiltersByUpdatedAt(
-	                accountId,
-	                startDateTime,
-	                endDateTime,
-	                bookingStatus,
-	                paymentStatus,
-	                paymentMethod,
-	                email,
-	                pageable
-	        );
-	    }
-
-	    return bookingRepository.findByFilters(
-	            accountId,
-	            startDate,
-	            endDate,
-	            bookingStatus,
-	            paymentStatus,
-	            paymentMethod,
-	            email,
-	            pageable
-	    );
+		AccountFilter accounts = findAccounts(email, client);
+		if (accounts.matchesNothing()) {
+			return Page.empty(pageable);
+		}
+		
+		Page<BookingListItem> page = bookingRepository.findListItemsByFilters(
+				accountId, isActive, range.visitFrom(), range.visitTo(),
+				range.createdFrom(), range.createdTo(), range.updatedFrom(), range.updatedTo(),
+				bookingStatus, paymentStatus, paymentMethod,
+				accounts.anyAccount(), accounts.accountIds(), accounts.email(), accounts.client(),
+				pageable
+		);
+		
+		if (expandInclusions) {
+			attachInclusions(page.getContent());
+		}
+		
+		return page;
 	}
-
+	
 	@Transactional(readOnly = true)
-	public Page<Booking> getBookingByAccountAndDateRange(
-			Integer accountId, 
-	        LocalDate startDate, 
-	        LocalDate endDate,
-	        Pageable pageable) {
-	    if (accountId == null && startDate == null && endDate == null) {
-	    	return bookingRepository.findAllByOrderByVisitDateDescVisitTimeAsc(pageable);
-	    } 
-
-	    if (accountId == null) {
-	    	return bookingRepository.findByVisitDateBetweenOrderByVisitDateDesc(startDate, endDate, pageable);
-	    }
-	    
-	    if (startDate == null && endDate == null) {
-	    	return bookingRepository.findByAccount_AccountIdOrderByVisitDateDescVisitTimeAsc(accountId, pageable);
-	    } 
-	    
-    	return bookingRepository.findByAccount_AccountIdAndVisitDateBetweenOrderByVisitDateDescVisitTime(
-    			accountId, startDate, endDate, pageable);
+	public Page<BookingListItem> getMyBookingList(
+			LocalDate startDate,
+			LocalDate endDate,
+			String dateField,
+			BookingStatus bookingStatus,
+			PaymentStatus paymentStatus,
+			PaymentMethod paymentMethod,
+			String expand,
+			Pageable pageable
+	) {
+		return getBookingList(
+				getLoggedAccountId(), null, startDate, endDate, dateField,
+				bookingStatus, paymentStatus, paymentMethod, null, null,
+				expand, pageable);
 	}
 
+	// Keyset-paged counterpart of getBookingList.
 	@Transactional(readOnly = true)
-	public Page<Booking> getActiveBookingByAccountAndDateRange(
-			Integer accountId, 
-	        LocalDate startDate, 
-	        LocalDate endDate, 
-	        Pageable pageable) {
-	    if (accountId == null && startDate == null && endDate == null) {
-	    	return bookingRepository.findAllByIsActive(true, pageable);
-	    } 
-
-	    if (accountId == null) {
-	    	return bookingRepository.findByIsActiveAndVisitDateBetween(true, startDate, endDate, pageable);
-	    }
-	    
-	    if (startDate == null && endDate == null) {
-	    	return bookingRepository.findByAccount_AccountIdAndIsActiveOrderByVisitDateDescVisitTimeAsc(
-	    			accountId, true, pageable);
-	    } 
-	    
-    	return bookingRepository.findByAccount_AccountIdAndIsActiveAndVisitDateBetween(
-    			accountId, true, startDate, endDate, pageable);
+	public CursorPage<BookingListItem> getBookingListByCursor(
+			Integer accountId,
+			Boolean isActive,
+			LocalDate startDate,
+			LocalDate endDate,
+			String dateField,
+			BookingStatus bookingStatus,
+			PaymentStatus paymentStatus,
+			PaymentMethod paymentMethod,
+			String email,
+			String client,
+			String expand,
+			String cursor,
+			int size,
+			boolean includeTotal
+	) {
+		if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+			throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE + ".");
+		}
+		
+		boolean expandInclusions = parseExpandInclusions(expand);
+		BookingCursor after = BookingCursor.decode(cursor);
+		ListDateRange range = ListDateRange.of(startDate, endDate, dateField);
+		
+		AccountFilter accounts = findAccounts(email, client);
+		if (accounts.matchesNothing()) {
+			return CursorPage.<BookingListItem>builder()
+					.content(new ArrayList<>())
+					.size(size)
+					.totalElements(includeTotal ? 0L : null)
+					.build();
+		}
+		
+		// One extra row tells whether another page exists without a count.
+		List<BookingListItem> rows = bookingRepository.seekListItemsByFilters(
+				accountId, isActive, range.visitFrom(), range.visitTo(),
+				range.createdFrom(), range.createdTo(), range.updatedFrom(), range.updatedTo(),
+				bookingStatus, paymentStatus, paymentMethod,
+				accounts.anyAccount(), accounts.accountIds(), accounts.email(), accounts.client(),
+				after != null ? after.visitDate() : null,
+				after != null ? after.visitTime() : null,
+				after != null ? after.bookingId() : null,
+				PageRequest.of(0, size + 1)
+		);
+		
+		boolean hasNext = rows.size() > size;
+		List<BookingListItem> content = new ArrayList<>(hasNext ? rows.subList(0, size) : rows);
+		
+		if (expandInclusions) {
+			attachInclusions(content);
+		}
+		
+		Long totalElements = includeTotal
+				? bookingRepository.countListItemsByFilters(
+						accountId, isActive, range.visitFrom(), range.visitTo(),
+						range.createdFrom(), range.createdTo(), range.updatedFrom(), range.updatedTo(),
+						bookingStatus, paymentStatus, paymentMethod,
+						accounts.anyAccount(), accounts.accountIds(), accounts.email(), accounts.client())
+				: null;
+		
+		BookingListItem last = hasNext ? content.get(content.size() - 1) : null;
+		
+		return CursorPage.<BookingListItem>builder()
+				.content(content)
+				.size(size)
+				.hasNext(hasNext)
+				.nextCursor(last != null ? BookingCursor.of(last).encode() : null)
+				.totalElements(totalElements)
+				.build();
 	}
 	
 	@Transactional(readOnly = true)
-	public Page<Booking> getMyBookingByDateRange(
-			LocalDate startDate, 
-	        LocalDate endDate,
-	        Pageable pageable) {
-	    return getBookingByAccountAndDateRange(getLoggedAccountId(), startDate, endDate, pageable);
-	}
-
-	@Transactional(readOnly = true)
-	public Page<Booking> getInactiveBookingByAccountAndDateRange(
-			Integer accountId, 
-	        LocalDate startDate, 
-	        LocalDate endDate, 
-	        Pageable pageable) {
-	    if (accountId == null && startDate == null && endDate == null) {
-	    	return bookingRepository.findAllByIsActive(false, pageable);
-	    } 
-
-	    if (accountId == null) {
-	    	return bookingRepository.findByIsActiveAndVisitDateBetween(false, startDate, endDate, pageable);
-	    }
-	    
-	    if (startDate == null && endDate == null) {
-	    	return bookingRepository.findByAccount_AccountIdAndIsActiveOrderByVisitDateDescVisitTimeAsc(
-	    			accountId, false, pageable);
-	    } 
-	    
-    	return bookingRepository.findByAccount_AccountIdAndIsActiveAndVisitDateBetween(
-    			accountId, false, startDate, endDate, pageable);
+	public CursorPage<BookingListItem> getMyBookingListByCursor(
+			LocalDate startDate,
+			LocalDate endDate,
+			String dateField,
+			BookingStatus bookingStatus,
+			PaymentStatus paymentStatus,
+			PaymentMethod paymentMethod,
+			String expand,
+			String cursor,
+			int size,
+			boolean includeTotal
+	) {
+		return getBookingListByCursor(
+				getLoggedAccountId(), null, startDate, endDate, dateField,
+				bookingStatus, paymentStatus, paymentMethod, null, null,
+				expand, cursor, size, includeTotal);
 	}
 
+	// Bookings per month or year across the span of visit dates, from one aggregate query.
 	@Transactional(readOnly = true)
 	public double getAverageVisitor(String type) {
-	    Iterable<Booking> iterable =
-	            bookingRepository.findAllByOrderByVisitDateDescVisitTimeAsc();
-
-	    List<Booking> bookings = StreamSupport
-	            .stream(iterable.spliterator(), false)
-	            .collect(Collectors.toList());
-
-	    if (bookings.isEmpty()) return 0;
-
-	    // Find min/max visit dates, independent of list order
-	    LocalDate minDate = bookings.stream()
-	            .map(Booking::getVisitDate)
-	            .min(Comparator.naturalOrder())
-	            .orElseThrow();
-	    LocalDate maxDate = bookings.stream()
-	            .map(Booking::getVisitDate)
-	            .max(Comparator.naturalOrder())
-	            .orElseThrow();
-
-	    YearMonth start = YearMonth.from(minDate);
-	    YearMonth end = YearMonth.from(maxDate);
-
-	    // Count visitors per YearMonth
-	    Map<YearMonth, Long> visitorsPerMonth = bookings.stream()
-	            .collect(Collectors.groupingBy(
-	                    b -> YearMonth.from(b.getVisitDate()),
-	                    Collectors.counting()
-	            ));
-
-	    long totalVisitors = 0;
-	    int monthCount = 0;
-
-	    for (YearMonth ym = start; !ym.isAfter(end); ym = ym.plusMonths(1)) {
-	        totalVisitors += visitorsPerMonth.getOrDefault(ym, 0L);
-	        monthCount++;
-	    }
+	    Object[] span = bookingRepository.getVisitDateSpan().get(0);
+
+	    long totalVisitors = ((Number) span[0]).longValue();
+	    if (totalVisitors == 0) return 0;
+
+	    YearMonth start = YearMonth.from((LocalDate) span[1]);
+	    YearMonth end = YearMonth.from((LocalDate) span[2]);
 
 	    if ("year".equalsIgnoreCase(type)) {
 	        int yearCount = end.getYear() - start.getYear() + 1;
-	        return yearCount == 0 ? 0 : (double) totalVisitors / yearCount;
+	        return (double) totalVisitors / yearCount;
 	    } else if ("month".equalsIgnoreCase(type)) {
-	        return monthCount == 0 ? 0 : (double) totalVisitors / monthCount;
+	        long monthCount = ChronoUnit.MONTHS.between(start, end) + 1;
+	        return (double) totalVisitors / monthCount;
 	    } else {
 	        return 0;
 	    }
 	}
 
-	@Transactional(readOnly = true)
-	public Map<Integer, CalendarDay> getCalendar(int year, int month) {
+	// Share of the booking limit already accepted at which a day counts as moderate / high.
+	private static final double MODERATE_BUSY_RATIO = 0.5;
+	private static final double HIGH_BUSY_RATIO = 0.8;
+	
+	private static final int MAX_CALENDAR_RANGE_MONTHS = 24;
+
+	private static BusyLevel getBusyLevel(CalendarDate.DateStatus status, int acceptedBookings, Integer bookingLimit) {
+		if (status == CalendarDate.DateStatus.CLOSED) {
+			return null;
+		}
+		
+		if (status == CalendarDate.DateStatus.FULLY_BOOKED) {
+			return BusyLevel.FULL;
+		}
+		
+		if (bookingLimit == null || bookingLimit <= 0) {
+			return BusyLevel.LOW;
+		}
+		
+		double ratio = (double) acceptedBookings / bookingLimit;
+		
+		if (ratio >= HIGH_BUSY_RATIO) {
+			return BusyLevel.HIGH;
+		}
+		
+		if (ratio >= MODERATE_BUSY_RATIO) {
+			return BusyLevel.MODERATE;
+		}
+		
+		return BusyLevel.LOW;
+	}
+
+	private static YearMonth toCalendarMonth(int year, int month) {
 	    if (year <= 0) {
 	        throw new IllegalArgumentException("Invalid year.");
 	    }
 	    if (month < 1 || month > 12) {
 	        throw new IllegalArgumentException("Invalid month.");
 	    }
+	    
+	    return YearMonth.of(year, month);
+	}
 
-	    YearMonth yearMonth = YearMonth.of(year, month);
-	    int daysInMonth = yearMonth.lengthOfMonth();
+	@Transactional(readOnly = true)
+	public Map<Integer, CalendarDay> getCalendar(int year, int month) {
+	    YearMonth yearMonth = toCalendarMonth(year, month);
+	    return calendarCache.get(yearMonth, () -> computeCalendars(yearMonth, yearMonth).get(yearMonth));
+	}
+	
+	// Recomputes a month past its TTL first, so a change made on another node gets a new ETag
+	// instead of being answered with 304 for as long as clients keep revalidating.
+	@Transactional(readOnly = true)
+	public String getCalendarETag(int year, int month) {
+		YearMonth yearMonth = toCalendarMonth(year, month);
+		getCalendar(year, month);
+		return calendarCache.getETag(yearMonth);
+	}
+	
+	@Transactional(readOnly = true)
+	public Map<String, Map<Integer, CalendarDay>> getCalendarRange(YearMonth from, YearMonth to) {
+		Map<String, Map<Integer, CalendarDay>> calendar = new LinkedHashMap<>();
+		getCalendarMonths(from, to).forEach((yearMonth, days) -> calendar.put(yearMonth.toString(), days));
+		
+		return calendar;
+	}
+	
+	// Months missing from the cache are computed together from one scan of their combined span.
+	@Transactional(readOnly = true)
+	public Map<YearMonth, Map<Integer, CalendarDay>> getCalendarMonths(YearMonth from, YearMonth to) {
+		if (from == null || to == null) {
+			throw new IllegalArgumentException("Calendar range is missing.");
+		}
+		
+		if (from.getYear() <= 0) {
+			throw new IllegalArgumentException("Invalid year.");
+		}
+		
+		if (to.isBefore(from)) {
+			throw new IllegalArgumentException("Calendar range end must not be before its start.");
+		}
+		
+		long monthCount = ChronoUnit.MONTHS.between(from, to) + 1;
+		if (monthCount > MAX_CALENDAR_RANGE_MONTHS) {
+			throw new IllegalArgumentException("Calendar range cannot exceed " + MAX_CALENDAR_RANGE_MONTHS + " months.");
+		}
+		
+		Map<YearMonth, Map<Integer, CalendarDay>> months = new LinkedHashMap<>();
+		Map<YearMonth, Long> missingVersions = new LinkedHashMap<>();
+		
+		for (YearMonth yearMonth = from; !yearMonth.isAfter(to); yearMonth = yearMonth.plusMonths(1)) {
+			Map<Integer, CalendarDay> cached = calendarCache.getIfPresent(yearMonth);
+			months.put(yearMonth, cached);
+			
+			if (cached == null) {
+				missingVersions.put(yearMonth, calendarCache.getVersion(yearMonth));
+			}
+		}
+		
+		if (!missingVersions.isEmpty()) {
+			List<YearMonth> missing = new ArrayList<>(missingVersions.keySet());
+			Map<YearMonth, Map<Integer, CalendarDay>> computed =
+					computeCalendars(missing.get(0), missing.get(missing.size() - 1));
+			
+			for (YearMonth yearMonth : missing) {
+				months.put(yearMonth, calendarCache.put(yearMonth, missingVersions.get(yearMonth), computed.get(yearMonth)));
+			}
+		}
+		
+		return months;
+	}
 
-	    LocalDate start = yearMonth.atDay(1);
-	    LocalDate end = yearMonth.atEndOfMonth();
+	private Map<YearMonth, Map<Integer, CalendarDay>> computeCalendars(YearMonth from, YearMonth to) {
+	    LocalDate start = from.atDay(1);
+	    LocalDate end = to.atEndOfMonth();
 
-	    List<Booking> allBookings = bookingRepository.findByVisitDateBetween(start, end);
-	    Map<LocalDate, List<Booking>> bookingsByDate =
-	        allBookings.stream().collect(Collectors.groupingBy(Booking::getVisitDate));
+	    Map<LocalDate, CalendarDaySummary> summaryByDate = bookingRepository
+	        .summarizeActiveBookingsByVisitDateBetween(start, end, CalendarDateService.ACCEPTED_STATUSES)
+	        .stream()
+	        .collect(Collectors.toMap(CalendarDaySummary::getVisitDate, Function.identity()));
 
-	    List<CalendarDate> calendarDates =
-	        calendarDateService.getCalendarDateByYearMonth(null, yearMonth);
+	    List<CalendarDate> calendarDates = calendarDateService.getCalendarDateBetween(start, end);
 
 	    Map<LocalDate, CalendarDate> calendarDateByDate =
 	        calendarDates.stream().collect(Collectors.toMap(CalendarDate::getDate, Function.identity()));
 
-	    Integer globalBookingLimit = restrictionService
-	        .getRestriction("booking_limit")
-	        .getValue();
+	    // Null when no global limit is configured.
+	    Integer globalBookingLimit = calendarDateService.getGlobalBookingLimitOrNull();
 
-	    Map<Integer, CalendarDay> calendar = new HashMap<>();
+	    Map<YearMonth, Map<Integer, CalendarDay>> calendars = new LinkedHashMap<>();
 
-	    for (int day = 1; day <= daysInMonth; day++) {
-	        LocalDate date = yearMonth.atDay(day);
+	    for (YearMonth yearMonth = from; !yearMonth.isAfter(to); yearMonth = yearMonth.plusMonths(1)) {
+	        Map<Integer, CalendarDay> calendar = new HashMap<>();
 
-	        CalendarDate calendarDate = calendarDateByDate.get(date);
-	        CalendarDate.DateStatus storedStatus =
-	            (calendarDate != null ? calendarDate.getDateStatus() : null);
+	        for (int day = 1; day <= yearMonth.lengthOfMonth(); day++) {
+	            LocalDate date = yearMonth.atDay(day);
+	            calendar.put(day, buildCalendarDay(
+	                date, calendarDateByDate.get(date), summaryByDate.get(date), globalBookingLimit));
+	        }
 
-	        Integer perDateLimit =
-	            (calendarDate != null ? calendarDate.getBookingLimit() : null);
+	        calendars.put(yearMonth, calendar);
+	    }
 
-	        Integer effectiveLimit =
-	            (perDateLimit != null ? perDateLimit : globalBookingLimit);
+	    return calendars;
+	}
 
-	        List<Booking> bookingList = bookingsByDate.getOrDefault(date, List.of());
+	private CalendarDay buildCalendarDay(
+			LocalDate date,
+			CalendarDate calendarDate,
+			CalendarDaySummary summary,
+			Integer globalBookingLimit) {
+	    CalendarDate.DateStatus storedStatus =
+	        (calendarDate != null ? calendarDate.getDateStatus() : null);
 
-	        int visitorCount = bookingList.stream()
-	            .mapToInt(Booking::getGroupSize)
-	            .sum();
+	    Integer perDateLimit =
+	        (calendarDate != null ? calendarDate.getBookingLimit() : null);
 
-	        long acceptedBookings = bookingList.stream()
-	            .filter(b ->
-	                b.getBookingStatus() == Booking.BookingStatus.APPROVED ||
-	                b.getBookingStatus() == Booking.BookingStatus.COMPLETED
-	            )
-	            .count();
+	    Integer effectiveLimit =
+	        (perDateLimit != null ? perDateLimit : globalBookingLimit);
 
-	        CalendarDate.DateStatus effectiveStatus =
-        	    (storedStatus != null ? storedStatus : CalendarDate.DateStatus.AVAILABLE);
+	    int totalBookings = (summary != null ? summary.getBookings().intValue() : 0);
+	    int visitorCount = (summary != null ? summary.getVisitors().intValue() : 0);
+	    int acceptedBookings = (summary != null ? summary.getAcceptedBookings().intValue() : 0);
 
-        	// Add restrictions on Saturday and Sunday
-        	DayOfWeek dayOfWeek = date.getDayOfWeek();
-        	boolean isWeekend = dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+	    CalendarDate.DateStatus effectiveStatus =
+	        (storedStatus != null ? storedStatus : CalendarDate.DateStatus.AVAILABLE);
 
-        	if (isWeekend) {
-        	    effectiveStatus = CalendarDate.DateStatus.CLOSED;
-        	}
+	    // Add restrictions on Saturday and Sunday
+	    DayOfWeek dayOfWeek = date.getDayOfWeek();
+	    boolean isWeekend = dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
 
-        	if (effectiveStatus != CalendarDate.DateStatus.CLOSED && effectiveLimit != null) {
-        	    if (acceptedBookings >= effectiveLimit) {
-        	        effectiveStatus = CalendarDate.DateStatus.FULLY_BOOKED;
-        	    }
-        	}
+	    if (isWeekend) {
+	        effectiveStatus = CalendarDate.DateStatus.CLOSED;
+	    }
 
-	        calendar.put(day, CalendarDay.builder()
-	            .bookings(bookingList.size())
-	            .visitors(visitorCount)
-	            .status(effectiveStatus)
-	            .bookingLimit(effectiveLimit)
-	            .build()
-	        );
+	    if (effectiveStatus != CalendarDate.DateStatus.CLOSED && effectiveLimit != null) {
+	        if (acceptedBookings >= effectiveLimit) {
+	            effectiveStatus = CalendarDate.DateStatus.FULLY_BOOKED;
+	        }
 	    }
 
-	    return calendar;
+	    return CalendarDay.builder()
+	        .bookings(totalBookings)
+	        .visitors(visitorCount)
+	        .status(effectiveStatus)
+	        .bookingLimit(effectiveLimit)
+	        .busyLevel(getBusyLevel(effectiveStatus, acceptedBookings, effectiveLimit))
+	        .build();
 	}
 
 	
@@ -687,23 +838,22 @@ public class BookingService extends BaseService{
 		}
 		
 		YearMonth yearMonth = YearMonth.of(year, month);
-        int daysInMonth = yearMonth.lengthOfMonth();
-        
-    	List<Booking> allBookings = bookingRepository.findByVisitDateBetween(
-    		    LocalDate.of(year, month, 1),
-    		    LocalDate.of(year, month, daysInMonth)
-    		);
         
-
-    	int visitorCount = 0;
-        for (int day = 1; day <= daysInMonth; day++) {
-        	for (Booking booking : allBookings) {
-        		visitorCount += booking.getGroupSize();
-        	}
-        }
+		List<CalendarDaySummary> summaries = bookingRepository.summarizeActiveBookingsByVisitDateBetween(
+				yearMonth.atDay(1),
+				yearMonth.atEndOfMonth(),
+				CalendarDateService.ACCEPTED_STATUSES
+		);
+		
+		int bookingCount = 0;
+		int visitorCount = 0;
+		for (CalendarDaySummary summary : summaries) {
+			bookingCount += summary.getBookings().intValue();
+			visitorCount += summary.getVisitors().intValue();
+		}
 		
 		return CalendarDay.builder()
-				.bookings(allBookings.size())
+				.bookings(bookingCount)
 				.visitors(visitorCount)
 				.build();
 	}
@@ -717,9 +867,7 @@ public class BookingService extends BaseService{
 	    LocalDate startDate = yearMonth.atDay(1);
 	    LocalDate endDate = yearMonth.atEndOfMonth();
 		
-		List<Booking> bookings = bookingRepository.findByVisitDateBetween(startDate, endDate);
-		
-		return bookings.size();
+		return statsRepository.sumBookingsBetween(startDate, endDate).intValue();
 	}
 
 	@Transactional(readOnly = true)
@@ -731,18 +879,18 @@ public class BookingService extends BaseService{
 	    LocalDate startDate = yearMonth.atDay(1);
 	    LocalDate endDate = yearMonth.atEndOfMonth();
 		
-	    return bookingRepository.getTotalRevenueByBookingStatusAndVisitDateBetween(startDate, endDate, BookingStatus.COMPLETED);
+	    return statsRepository.sumRevenueByStatusBetween(BookingStatus.COMPLETED, startDate, endDate);
 	}
 
 	@Transactional(readOnly = true)
 	public Integer getNumberOfPendingBookings() {
-		return bookingRepository.countByBookingStatus(BookingStatus.PENDING).intValue();
+		return statsRepository.sumBookingsByStatus(BookingStatus.PENDING).intValue();
 	}
 
 	@Transactional(readOnly = true)
 	public List<ChartData> getYearlyRevenue(Integer startYear, Integer endYear) {
-	    Integer earliestYear = bookingRepository.getEarliestYear();
-	    Integer latestYear = bookingRepository.getLatestYear();
+	    Integer earliestYear = statsRepository.getEarliestYear();
+	    Integer latestYear = statsRepository.getLatestYear();
 
 	    if (startYear == null) {
 	        startYear = (earliestYear != null) ? earliestYear : LocalDate.now().getYear();
@@ -755,27 +903,14 @@ public class BookingService extends BaseService{
 	        throw new IllegalArgumentException("Starting year cannot be greater than the ending year");
 	    }
 
-	    List<ChartData> revenues = new ArrayList<>();
-
-	    for (int year = startYear; year <= endYear; year++) {
-	        LocalDate startDate = LocalDate.of(year, 1, 1);
-	        LocalDate endDate = LocalDate.of(year, 12, 31);
-
-	        Long totalRevenue = bookingRepository.getTotalRevenueByBookingStatusAndVisitDateBetween(
-	            startDate,
-	            endDate,
-	            Booking.BookingStatus.COMPLETED
-	        );
-
-	        revenues.add(
-	            new ChartData(
-	                String.valueOf(year),
-	                totalRevenue
-	            )
-	        );
-	    }
-
-	    return revenues;
+	    return bookingSeriesService.getSeries(
+	    		LocalDate.of(startYear, 1, 1),
+	    		LocalDate.of(endYear, 12, 31),
+	    		Granularity.YEAR,
+	    		BookingStatus.COMPLETED)
+	    	.stream()
+	    	.map(point -> new ChartData(point.getPeriod(), point.getRevenue()))
+	    	.toList();
 	}
 
 	@Transactional(readOnly = true)
@@ -784,22 +919,16 @@ public class BookingService extends BaseService{
 			throw new IllegalArgumentException("Please provide a year.");
 		}
 		
-		List<ChartData> revenues = new ArrayList<>();
-	    
-	    for (int month = 1; month <= 12; month++) {
-	        YearMonth yearMonth = YearMonth.of(year, month);
-	        LocalDate startDate = yearMonth.atDay(1);
-	        LocalDate endDate = yearMonth.atEndOfMonth();
-	        
-	        Long totalRevenue = bookingRepository.getTotalRevenueByBookingStatusAndVisitDateBetween(startDate, endDate, Booking.BookingStatus.COMPLETED);
-	        
-	        revenues.add(
-	        		new ChartData(
-	        				yearMonth.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH), 
-	        				totalRevenue));
-	    }
-	    
-	    return revenues;
+		return bookingSeriesService.getSeries(
+				LocalDate.of(year, 1, 1),
+				LocalDate.of(year, 12, 31),
+				Granularity.MONTH,
+				BookingStatus.COMPLETED)
+			.stream()
+			.map(point -> new ChartData(
+					point.getStartDate().getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH),
+					point.getRevenue()))
+			.toList();
 	}
 	
 	public Booking updateBooking(
@@ -833,6 +962,11 @@ public class BookingService extends BaseService{
 		List<BookingInclusionRequest> bookingInclusionRequests =
 		request != null ? request.getBookingInclusionRequests() : null;
 		
+		// Proof-of-payment uploads alone do not touch the schedule, so they skip the date lock.
+		List<CalendarDate> admittedDates = hasJsonChanges
+				? bookingAdmissionService.admit(existingBooking.getVisitDate(), visitDate)
+				: List.of();
+		
 		Booking prevBooking = createBookingCopy(existingBooking);
 		
 		boolean recalculatePrice = false;
@@ -908,12 +1042,7 @@ public class BookingService extends BaseService{
 		}
 		
 		if (recalculatePrice) {
-			existingBooking.setTotalPrice(
-			existingBooking.getTourPackage().getBasePrice()
-			       + (existingBooking.getTourPackage().getPricePerPerson()
-			       * existingBooking.getGroupSize())
-			// + getTotalInclusionPrice(existingBooking)
-			);
+			existingBooking.setTotalPrice(getTotalPrice(existingBooking));
 		}
 		
 		if (resubmit) {
@@ -989,6 +1118,9 @@ public class BookingService extends BaseService{
 		logIfStaffOrAdmin("Booking", (long) id, LogAction.UPDATE, prevBooking, existingBooking);
 		
 		Booking updatedBooking = bookingRepository.save(existingBooking);
+		bookingScheduleIndex.index(updatedBooking, prevBooking.getVisitDate());
+		calendarDateService.applyBookingChange(admittedDates, prevBooking, updatedBooking);
+		bookingAdmissionService.markChanged(admittedDates);
 		
 		// Specific notification message based on changes.
 		String convertedDate = DateTimeUtils.formatDate(updatedBooking.getVisitDate()); 
@@ -1024,7 +1156,7 @@ public class BookingService extends BaseService{
 		}
 
 		String message = hasChanges ? notificationMsg.toString().trim() : "Your booking has been updated.";
-		notificationService.addNotification(updatedBooking.getAccount(), updatedBooking, message);
+		notificationService.queueNotification(updatedBooking.getAccount(), updatedBooking, message);
 
 		return updatedBooking;
 	}
@@ -1055,6 +1187,9 @@ public class BookingService extends BaseService{
 		PaymentMethod paymentMethod = request.getPaymentMethod();
 		String staffReply = request.getStaffReply() != null ? request.getStaffReply().trim() : null;
 		
+		List<CalendarDate> admittedDates =
+				bookingAdmissionService.admit(existingBooking.getVisitDate(), visitDate);
+		
 		Booking prevBooking = createBookingCopy(existingBooking);
 		
 		boolean recalculatePrice = false;
@@ -1081,7 +1216,7 @@ public class BookingService extends BaseService{
 		        throw new IllegalArgumentException("Cannot change the visit time because the booking is within 2 days.");
 		    }
 		    
-			validateVisitTime(existingBooking.getBookingId(), existingBooking.getTourPackage().getDuration(), visitDate, visitTime);
+			validateVisitTime(existingBooking.getBookingId(), existingBooking.getTourPackage().getDuration(), existingBooking.getVisitDate(), visitTime);
 			existingBooking.setVisitTime(visitTime);
 		}
 		
@@ -1120,11 +1255,7 @@ public class BookingService extends BaseService{
 		}
 		
 		if (recalculatePrice) {
-			existingBooking.setTotalPrice(
-				existingBooking.getTourPackage().getBasePrice() +
-				(existingBooking.getTourPackage().getPricePerPerson() * existingBooking.getGroupSize())
-				// + getTotalInclusionPrice(existingBooking)
-			);
+			existingBooking.setTotalPrice(getTotalPrice(existingBooking));
 		}
 		
 		if (bookingStatus != null) {
@@ -1137,7 +1268,6 @@ public class BookingService extends BaseService{
 		        }
 		    }
 		    existingBooking.setBookingStatus(bookingStatus);
-		    calendarDateService.refreshCalendarDateStatus(existingBooking.getVisitDate());
 		}
 
 		if (paymentStatus != null) {
@@ -1155,6 +1285,9 @@ public class BookingService extends BaseService{
 		logIfStaffOrAdmin("Booking", (long) id, LogAction.UPDATE, prevBooking, existingBooking);
 		
 		Booking updatedBooking = bookingRepository.save(existingBooking);
+		bookingScheduleIndex.index(updatedBooking, prevBooking.getVisitDate());
+		calendarDateService.applyBookingChange(admittedDates, prevBooking, updatedBooking);
+		bookingAdmissionService.markChanged(admittedDates);
 		
 		
 		// Specific notification message based on staff changes.
@@ -1165,48 +1298,12 @@ public class BookingService extends BaseService{
 		boolean hasChanges = false;
 
 		if (!prevBooking.getBookingStatus().equals(existingBooking.getBookingStatus())) {
-		    String statusMsg = existingBooking.getBookingStatus().toString();
-		    switch(existingBooking.getBookingStatus()) {
-		        case PENDING:
-		            statusMsg = "awaiting review";
-		            break;
-		        case APPROVED:
-		            statusMsg = "approved";
-		            break;
-		        case REJECTED:
-		            statusMsg = "rejected";
-		            break;
-		        case CANCELLED:
-		            statusMsg = "cancelled";
-		            break;
-		        case COMPLETED:
-		            statusMsg = "marked as completed";
-		            break;
-		    }
-		    notificationMsg.append("Booking ").append(statusMsg).append(". ");
+		    notificationMsg.append("Booking ").append(describe(existingBooking.getBookingStatus())).append(". ");
 		    hasChanges = true;
 		}
 
 		if (!prevBooking.getPaymentStatus().equals(existingBooking.getPaymentStatus())) {
-		    String paymentMsg = existingBooking.getPaymentStatus().toString();
-		    switch(existingBooking.getPaymentStatus()) {
-		        case UNPAID:
-		            paymentMsg = "marked as unpaid";
-		            break;
-		        case PAYMENT_VERIFICATION:
-		            paymentMsg = "pending payment verification";
-		            break;
-		        case VERIFIED:
-		            paymentMsg = "payment verified";
-		            break;
-		        case REJECTED:
-		            paymentMsg = "payment rejected";
-		            break;
-		        case REFUNDED:
-		            paymentMsg = "refunded";
-		            break;
-		    }
-		    notificationMsg.append("Payment status: ").append(paymentMsg).append(". ");
+		    notificationMsg.append("Payment status: ").append(describe(existingBooking.getPaymentStatus())).append(". ");
 		    hasChanges = true;
 		}
 
@@ -1231,11 +1328,183 @@ public class BookingService extends BaseService{
 		}
 
 		String message = hasChanges ? notificationMsg.toString().trim() : "Your booking has been updated.";
-		notificationService.addNotification(updatedBooking.getAccount(), updatedBooking, message);
+		notificationService.queueNotification(updatedBooking.getAccount(), updatedBooking, message);
 
 		return updatedBooking;
 	}
 	
+	private static String describe(BookingStatus status) {
+		switch (status) {
+			case PENDING: return "awaiting review";
+			case APPROVED: return "approved";
+			case REJECTED: return "rejected";
+			case CANCELLED: return "cancelled";
+			case COMPLETED: return "marked as completed";
+			default: return status.toString();
+		}
+	}
+	
+	private static String describe(PaymentStatus status) {
+		switch (status) {
+			case UNPAID: return "marked as unpaid";
+			case PAYMENT_VERIFICATION: return "pending payment verification";
+			case VERIFIED: return "payment verified";
+			case REJECTED: return "payment rejected";
+			case REFUNDED: return "refunded";
+			default: return status.toString();
+		}
+	}
+	
+	// Applies one booking/payment status to many bookings. Transitions are checked in memory,
+	// the valid bookings move with a single UPDATE, each affected date is recounted once, and
+	// notifications and audit entries are queued together. Invalid bookings are reported, not fatal.
+	public BulkBookingStatusResult updateBookingStatuses(BulkBookingStatusRequest request) {
+		if (request == null || request.getBookingIds() == null || request.getBookingIds().isEmpty()) {
+			throw new IllegalArgumentException("At least one booking ID is required.");
+		}
+		
+		if (request.getBookingStatus() == null && request.getPaymentStatus() == null) {
+			throw new IllegalArgumentException("No status provided to update bookings.");
+		}
+		
+		Set<Integer> ids = new LinkedHashSet<>(request.getBookingIds());
+		ids.remove(null);
+		
+		if (ids.size() > MAX_BULK_BOOKINGS) {
+			throw new IllegalArgumentException("Cannot update more than " + MAX_BULK_BOOKINGS + " bookings at once.");
+		}
+		
+		BookingStatus bookingStatus = request.getBookingStatus();
+		PaymentStatus paymentStatus = request.getPaymentStatus();
+		LocalDate today = LocalDate.now();
+		
+		Map<Integer, Booking> found = new HashMap<>();
+		for (Booking booking : bookingRepository.findAllWithAccountByBookingIdIn(ids)) {
+			found.put(booking.getBookingId(), booking);
+		}
+		
+		Map<Integer, String> rejected = new LinkedHashMap<>();
+		List<Booking> accepted = new ArrayList<>();
+		
+		for (Integer id : ids) {
+			Booking booking = found.get(id);
+			String reason = null;
+			
+			if (booking == null) {
+				reason = "Booking not found.";
+			} else if (!booking.isActive()) {
+				reason = "Booking is disabled.";
+			} else if (bookingStatus != null && bookingStatus != booking.getBookingStatus()
+					&& !BULK_TRANSITIONS.getOrDefault(booking.getBookingStatus(), Set.of()).contains(bookingStatus)) {
+				reason = "Cannot move a " + booking.getBookingStatus() + " booking to " + bookingStatus + ".";
+			} else if (bookingStatus == BookingStatus.COMPLETED
+					&& (booking.getVisitDate() == null || !booking.getVisitDate().isBefore(today))) {
+				reason = "Cannot mark booking as COMPLETED unless the visit date is before today.";
+			} else if ((bookingStatus == null || bookingStatus == booking.getBookingStatus())
+					&& (paymentStatus == null || paymentStatus == booking.getPaymentStatus())) {
+				reason = "Booking already has the requested status.";
+			}
+			
+			if (reason != null) {
+				rejected.put(id, reason);
+			} else {
+				accepted.add(booking);
+			}
+		}
+		
+		return BulkBookingStatusResult.builder()
+				.updatedIds(applyStatuses(accepted, bookingStatus, paymentStatus))
+				.rejected(rejected)
+				.build();
+	}
+	
+	// Moves already-validated bookings to the given statuses (null leaves a status as it is)
+	// with one UPDATE, then recounts each affected date once and queues notifications and
+	// audit entries together. Changes made outside a request are audited without an actor.
+	public List<Integer> applyStatuses(List<Booking> bookings, BookingStatus bookingStatus, PaymentStatus paymentStatus) {
+		if (bookings.isEmpty()) return List.of();
+		
+		List<CalendarDate> admittedDates = bookingAdmissionService.admit(
+				bookings.stream().map(Booking::getVisitDate).distinct().toArray(LocalDate[]::new));
+		
+		// Copies stand in for the managed entities, so dirty checking never issues per-row updates.
+		List<Booking> befores = new ArrayList<>(bookings.size());
+		List<Booking> afters = new ArrayList<>(bookings.size());
+		LocalDateTime now = LocalDateTime.now();
+		
+		for (Booking booking : bookings) {
+			Booking before = createBookingCopy(booking);
+			Booking after = createBookingCopy(booking);
+			if (bookingStatus != null) after.setBookingStatus(bookingStatus);
+			if (paymentStatus != null) after.setPaymentStatus(paymentStatus);
+			after.setUpdatedAt(now);
+			after.setVersion(booking.getVersion() + 1);
+			
+			befores.add(before);
+			afters.add(after);
+		}
+		
+		List<Integer> updatedIds = afters.stream().map(Booking::getBookingId).toList();
+		
+		// One JDBC batch; a row changed since it was read fails the version check and the whole change rolls back.
+		bookingRepository.flush();
+		int[][] counts = jdbcTemplate.batchUpdate(UPDATE_STATUSES_SQL, afters, afters.size(), (ps, after) -> {
+			ps.setString(1, after.getBookingStatus() != null ? after.getBookingStatus().name() : null);
+			ps.setString(2, after.getPaymentStatus() != null ? after.getPaymentStatus().name() : null);
+			ps.setTimestamp(3, Timestamp.valueOf(after.getUpdatedAt()));
+			ps.setInt(4, after.getBookingId());
+			ps.setLong(5, after.getVersion() - 1);
+		});
+		
+		int row = 0;
+		for (int[] batch : counts) {
+			for (int count : batch) {
+				if (count == 0) {
+					throw new ObjectOptimisticLockingFailureException(Booking.class, afters.get(row).getBookingId());
+				}
+				row++;
+			}
+		}
+		
+		bookingStatsService.applyBookingChanges(befores, afters);
+		calendarDateService.applyBookingChanges(admittedDates, befores, afters);
+		for (Booking after : afters) {
+			bookingScheduleIndex.index(after, after.getVisitDate());
+			bookingCubeService.record(after);
+		}
+		bookingAdmissionService.markChanged(admittedDates);
+		
+		boolean authenticated = SecurityContextHolder.getContext().getAuthentication() != null;
+		for (int i = 0; i < afters.size(); i++) {
+			Long bookingId = (long) afters.get(i).getBookingId();
+			if (authenticated) {
+				logIfStaffOrAdmin("Booking", bookingId, LogAction.UPDATE, befores.get(i), afters.get(i));
+			} else {
+				auditLogService.logAction("Booking", bookingId, LogAction.UPDATE, befores.get(i), afters.get(i), null, null, null);
+			}
+		}
+		
+		Map<Integer, Booking> beforesById = befores.stream()
+				.collect(Collectors.toMap(Booking::getBookingId, Function.identity()));
+		
+		notificationService.queueNotifications(afters, after -> {
+			Booking before = beforesById.get(after.getBookingId());
+			StringBuilder message = new StringBuilder("Your booking on "
+					+ DateTimeUtils.formatDate(after.getVisitDate()) + " at "
+					+ DateTimeUtils.formatTime(after.getVisitTime()) + " was updated. ");
+			
+			if (before.getBookingStatus() != after.getBookingStatus()) {
+				message.append("Booking ").append(describe(after.getBookingStatus())).append(". ");
+			}
+			if (before.getPaymentStatus() != after.getPaymentStatus()) {
+				message.append("Payment status: ").append(describe(after.getPaymentStatus())).append(". ");
+			}
+			return message.toString().trim();
+		});
+		
+		return updatedIds;
+	}
+	
 	public void softDeleteBooking(int id) {
 		Booking booking = bookingRepository.findById(id)
 	            .orElseThrow(() -> new EntityNotFoundException("Booking with ID '" + id + "' not found."));
@@ -1245,9 +1514,13 @@ public class BookingService extends BaseService{
 	    }
 	    
 	    Booking prevBooking = createBookingCopy(booking);
+	    List<CalendarDate> admittedDates = bookingAdmissionService.admit(booking.getVisitDate());
 
 	    booking.setActive(false);
 		bookingRepository.save(booking);
+		bookingScheduleIndex.index(booking, booking.getVisitDate());
+		calendarDateService.applyBookingChange(admittedDates, prevBooking, booking);
+		bookingAdmissionService.markChanged(admittedDates);
 		
 		// Specific notification message based on changes.
 		String convertedDate = DateTimeUtils.formatDate(booking.getVisitDate()); 
@@ -1255,7 +1528,7 @@ public class BookingService extends BaseService{
 		
 		StringBuilder notificationMsg = new StringBuilder("Your booking on " + convertedDate + " at " + convertedTime + " was updated. ");
 		
-		notificationService.addNotification(booking.getAccount(), booking, notificationMsg.toString().trim());
+		notificationService.queueNotification(booking.getAccount(), booking, notificationMsg.toString().trim());
 		
 		logIfStaffOrAdmin("Booking", (long) id, LogAction.DISABLE, prevBooking, booking);
 	}
@@ -1269,9 +1542,13 @@ public class BookingService extends BaseService{
 	    }
 	    
 	    Booking prevBooking = createBookingCopy(booking);
+	    List<CalendarDate> admittedDates = bookingAdmissionService.admit(booking.getVisitDate());
 
 	    booking.setActive(true);
 		bookingRepository.save(booking);
+		bookingScheduleIndex.index(booking, booking.getVisitDate());
+		calendarDateService.applyBookingChange(admittedDates, prevBooking, booking);
+		bookingAdmissionService.markChanged(admittedDates);
 		
 		logIfStaffOrAdmin("Booking", (long) id, LogAction.RESTORE, prevBooking, booking);
 	}
@@ -0,0 +1,196 @@
+package com.example.geco.services;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.geco.domains.CalendarDate.DateStatus;
+import com.example.geco.domains.TourPackage;
+import com.example.geco.dto.AvailableSlot;
+import com.example.geco.dto.CalendarDay;
+import com.example.geco.repositories.TourPackageRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+
+// Finds the next bookable start times of a tour package. Each candidate day is
+// turned into a bitmap of occupied minutes, so testing a start time is a few
+// word operations instead of an overlap query.
+@Service
+@Transactional(readOnly = true)
+public class BookingSlotService {
+	private static final int MAX_SEARCH_DAYS = 366;
+	private static final int MAX_SLOTS = 100;
+
+	private static final DateTimeFormatter TWELVE_HOUR_FORMAT = new DateTimeFormatterBuilder()
+			.parseCaseInsensitive()
+			.appendPattern("h:mm a")
+			.toFormatter(Locale.ENGLISH);
+
+	// Spacing of candidate start times for packages without allowedStartTimes.
+	@Value("${app.booking.slot-step-minutes:30}")
+	private int slotStepMinutes;
+
+	// How far ahead the public slot search looks.
+	@Value("${app.booking.slot-search-horizon-months:12}")
+	private int searchHorizonMonths;
+
+	@Autowired
+	private TourPackageRepository tourPackageRepository;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private BookingScheduleIndex bookingScheduleIndex;
+
+	// One bit per minute of the day, set where an existing booking sits.
+	// Bounds are inclusive, matching BookingService's overlap check.
+	private static final class MinuteBitmap {
+		private final long[] words = new long[(24 * 60) / 64 + 1];
+
+		void set(int from, int to) {
+			for (int minute = Math.max(from, 0); minute <= Math.min(to, 24 * 60 - 1); ) {
+				int word = minute >>> 6;
+				int last = Math.min(to, (word << 6) + 63);
+				words[word] |= mask(minute & 63, last & 63);
+				minute = last + 1;
+			}
+		}
+
+		boolean isFree(int from, int to) {
+			for (int minute = Math.max(from, 0); minute <= Math.min(to, 24 * 60 - 1); ) {
+				int word = minute >>> 6;
+				int last = Math.min(to, (word << 6) + 63);
+				if ((words[word] & mask(minute & 63, last & 63)) != 0) return false;
+				minute = last + 1;
+			}
+			return true;
+		}
+
+		private static long mask(int fromBit, int toBit) {
+			long upTo = (toBit == 63) ? -1L : (1L << (toBit + 1)) - 1;
+			return upTo & (-1L << fromBit);
+		}
+	}
+
+	private static LocalTime parseStartTime(String value) {
+		String trimmed = value.trim();
+
+		try {
+			return LocalTime.parse(trimmed);
+		} catch (DateTimeParseException e) {
+			try {
+				return LocalTime.parse(trimmed, TWELVE_HOUR_FORMAT);
+			} catch (DateTimeParseException ignored) {
+				return null;
+			}
+		}
+	}
+
+	// Candidate start minutes inside opening hours whose tour also ends by closing time.
+	private List<Integer> getCandidateStarts(TourPackage tourPackage, int duration) {
+		int opening = BookingService.OPENING_TIME.toSecondOfDay() / 60;
+		int latestStart = BookingService.CLOSING_TIME.toSecondOfDay() / 60 - duration;
+
+		TreeSet<Integer> starts = new TreeSet<>();
+		List<String> allowedStartTimes = tourPackage.getAllowedStartTimes();
+
+		if (allowedStartTimes != null && !allowedStartTimes.isEmpty()) {
+			for (String allowed : allowedStartTimes) {
+				if (allowed == null) continue;
+
+				LocalTime time = parseStartTime(allowed);
+				if (time == null) continue;
+
+				int minute = time.toSecondOfDay() / 60;
+				if (minute >= opening && minute <= latestStart) starts.add(minute);
+			}
+		} else {
+			int step = Math.max(slotStepMinutes, 1);
+			for (int minute = opening; minute <= latestStart; minute += step) {
+				starts.add(minute);
+			}
+		}
+
+		return new ArrayList<>(starts);
+	}
+
+	public List<AvailableSlot> findAvailableSlots(int packageId, LocalDate from, LocalDate to, int limit) {
+		if (from == null || to == null) {
+			throw new IllegalArgumentException("Search date range is missing.");
+		}
+		if (to.isBefore(from)) {
+			throw new IllegalArgumentException("Search end date must not be before its start date.");
+		}
+		if (ChronoUnit.DAYS.between(from, to) + 1 > MAX_SEARCH_DAYS) {
+			throw new IllegalArgumentException("Search range cannot exceed " + MAX_SEARCH_DAYS + " days.");
+		}
+		if (limit < 1 || limit > MAX_SLOTS) {
+			throw new IllegalArgumentException("Number of slots must be between 1 and " + MAX_SLOTS + ".");
+		}
+		if (to.isAfter(LocalDate.now().plusMonths(searchHorizonMonths))) {
+			throw new IllegalArgumentException("Slots can only be searched up to " + searchHorizonMonths + " months ahead.");
+		}
+
+		TourPackage tourPackage = tourPackageRepository.findById(packageId)
+				.orElseThrow(() -> new EntityNotFoundException("Tour package with ID '" + packageId + "' not found."));
+
+		if (!tourPackage.isActive()) {
+			throw new IllegalArgumentException("Tour package is not available for booking.");
+		}
+
+		// Same earliest date as BookingService.validateVisitDate.
+		LocalDate earliest = LocalDate.now().plusDays(2);
+		LocalDate start = from.isBefore(earliest) ? earliest : from;
+
+		List<AvailableSlot> slots = new ArrayList<>();
+		if (start.isAfter(to)) return slots;
+
+		int duration = (tourPackage.getDuration() != null && tourPackage.getDuration() > 0) ? tourPackage.getDuration() : 0;
+		List<Integer> candidates = getCandidateStarts(tourPackage, duration);
+		if (candidates.isEmpty()) return slots;
+
+		Map<YearMonth, Map<Integer, CalendarDay>> calendar =
+				bookingService.getCalendarMonths(YearMonth.from(start), YearMonth.from(to));
+		bookingScheduleIndex.preload(start, to);
+
+		for (LocalDate date = start; !date.isAfter(to); date = date.plusDays(1)) {
+			// Weekend closures, CLOSED and FULLY_BOOKED days are already resolved by the calendar.
+			CalendarDay day = calendar.get(YearMonth.from(date)).get(date.getDayOfMonth());
+			if (day == null || day.getStatus() != DateStatus.AVAILABLE) continue;
+
+			MinuteBitmap occupied = new MinuteBitmap();
+			for (BookingScheduleIndex.Slot booked : bookingScheduleIndex.getSlots(date)) {
+				occupied.set(booked.startMinute(), booked.endMinute());
+			}
+
+			for (int candidate : candidates) {
+				if (!occupied.isFree(candidate, candidate + duration)) continue;
+
+				slots.add(AvailableSlot.builder()
+						.visitDate(date)
+						.startTime(LocalTime.MIN.plusMinutes(candidate))
+						.endTime(LocalTime.MIN.plusMinutes(candidate + duration))
+						.build());
+
+				if (slots.size() == limit) return slots;
+			}
+		}
+
+		return slots;
+	}
+}
@@ -0,0 +1,34 @@
+package com.example.geco.services;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.example.geco.domains.Booking;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+
+// JPA listener on Booking that feeds booking_daily_stats, so writes made straight through
+// the repository are counted as well. Updates and removals are reported before their SQL
+// runs, while the stored row still holds the values being replaced. Looked up lazily for
+// the same reason as AccountSearchListener.
+public class BookingStatsListener {
+	@Autowired
+	private ObjectProvider<BookingStatsService> bookingStatsService;
+
+	@PostPersist
+	public void onPersist(Booking booking) {
+		bookingStatsService.getObject().bookingInserted(booking);
+	}
+
+	@PreUpdate
+	public void onUpdate(Booking booking) {
+		bookingStatsService.getObject().bookingUpdating(booking);
+	}
+
+	@PreRemove
+	public void onRemove(Booking booking) {
+		bookingStatsService.getObject().bookingRemoving(booking);
+	}
+}
@@ -0,0 +1,241 @@
+package com.example.geco.services;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.geco.domains.Booking;
+import com.example.geco.domains.Booking.BookingStatus;
+import com.example.geco.domains.Booking.PaymentMethod;
+import com.example.geco.repositories.BookingDailyStatsRepository;
+import com.example.geco.repositories.BookingRepository;
+
+// Keeps booking_daily_stats in step with the booking table. BookingStatsListener reports
+// every JPA write and BookingService.applyStatuses its JDBC batch; each change is applied
+// as a delta upsert on the connection of the booking write, so the rollup commits or
+// rolls back together with it. rebuild() recomputes the whole table from booking.
+@Service
+public class BookingStatsService {
+	private static final Logger log = LoggerFactory.getLogger(BookingStatsService.class);
+
+	static final String REBUILD_LEASE_NAME = "booking-stats-rebuild";
+
+	private static final String UPSERT_SQL = """
+			INSERT INTO booking_daily_stats
+			  (stat_date, tour_package_id, booking_status, payment_method, bookings, visitors, revenue)
+			VALUES (?, ?, ?, ?, ?, ?, ?)
+			ON DUPLICATE KEY UPDATE
+			  bookings = bookings + VALUES(bookings),
+			  visitors = visitors + VALUES(visitors),
+			  revenue = revenue + VALUES(revenue)
+			""";
+
+	private static final String STORED_FACTS_SQL = """
+			SELECT visit_date, package_id, booking_status, payment_method, group_size, total_price, is_active
+			FROM booking
+			WHERE booking_id = ?
+			""";
+
+	private static final String REBUILD_SQL = """
+			INSERT INTO booking_daily_stats
+			  (stat_date, tour_package_id, booking_status, payment_method, bookings, visitors, revenue)
+			SELECT visit_date, package_id, booking_status, payment_method,
+			  COUNT(*), COALESCE(SUM(group_size), 0), COALESCE(SUM(total_price), 0)
+			FROM booking
+			WHERE is_active = TRUE
+			  AND visit_date IS NOT NULL
+			  AND booking_status IS NOT NULL
+			GROUP BY visit_date, package_id, booking_status, payment_method
+			""";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private BookingDailyStatsRepository statsRepository;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private SchedulerLeaseService leaseService;
+
+	private final TransactionTemplate transaction;
+
+	private record Key(LocalDate date, Integer tourPackageId, BookingStatus status, PaymentMethod paymentMethod) {}
+
+	// What one booking contributes to its key.
+	private record Facts(Key key, int visitors, double revenue) {}
+
+	private static final class Delta {
+		long bookings;
+		long visitors;
+		double revenue;
+
+		boolean isZero() {
+			return bookings == 0 && visitors == 0 && revenue == 0;
+		}
+	}
+
+	public BookingStatsService(PlatformTransactionManager transactionManager) {
+		this.transaction = new TransactionTemplate(transactionManager);
+	}
+
+	// Inactive bookings and bookings without a visit date or status count toward nothing.
+	private static Facts factsOf(
+			LocalDate visitDate,
+			Integer tourPackageId,
+			BookingStatus status,
+			PaymentMethod paymentMethod,
+			Integer groupSize,
+			Double totalPrice,
+			boolean active) {
+		if (!active || visitDate == null || status == null) return null;
+
+		return new Facts(
+				new Key(visitDate, tourPackageId, status, paymentMethod),
+				groupSize != null ? groupSize : 0,
+				totalPrice != null ? totalPrice : 0);
+	}
+
+	private static Facts factsOf(Booking booking) {
+		if (booking == null) return null;
+
+		return factsOf(
+				booking.getVisitDate(),
+				booking.getTourPackage() != null ? booking.getTourPackage().getPackageId() : null,
+				booking.getBookingStatus(),
+				booking.getPaymentMethod(),
+				booking.getGroupSize(),
+				booking.getTotalPrice(),
+				booking.isActive());
+	}
+
+	// The booking as currently stored, read on the caller's connection so writes this
+	// transaction has already flushed are seen.
+	private Facts storedFactsOf(int bookingId) {
+		List<Facts> rows = jdbcTemplate.query(STORED_FACTS_SQL, (rs, rowNum) -> {
+			Date visitDate = rs.getDate("visit_date");
+			Integer tourPackageId = rs.getObject("package_id", Integer.class);
+			String status = rs.getString("booking_status");
+			String paymentMethod = rs.getString("payment_method");
+			Integer groupSize = rs.getObject("group_size", Integer.class);
+			Double totalPrice = rs.getObject("total_price", Double.class);
+
+			return factsOf(
+					visitDate != null ? visitDate.toLocalDate() : null,
+					tourPackageId,
+					status != null ? BookingStatus.valueOf(status) : null,
+					paymentMethod != null ? PaymentMethod.valueOf(paymentMethod) : null,
+					groupSize,
+					totalPrice,
+					rs.getBoolean("is_active"));
+		}, bookingId);
+
+		return rows.isEmpty() ? null : rows.get(0);
+	}
+
+	// Called by BookingStatsListener right after a booking is inserted.
+	void bookingInserted(Booking booking) {
+		applyBookingChanges(List.of(), List.of(booking));
+	}
+
+	// Called by BookingStatsListener before a booking's UPDATE is sent: the stored row
+	// still holds the old values and the entity the ones about to be written.
+	void bookingUpdating(Booking booking) {
+		Map<Key, Delta> deltas = new HashMap<>();
+		add(deltas, storedFactsOf(booking.getBookingId()), -1);
+		add(deltas, factsOf(booking), 1);
+		upsert(deltas);
+	}
+
+	// Called by BookingStatsListener before a booking is deleted.
+	void bookingRemoving(Booking booking) {
+		Map<Key, Delta> deltas = new HashMap<>();
+		add(deltas, storedFactsOf(booking.getBookingId()), -1);
+		upsert(deltas);
+	}
+
+	// For writes that bypass JPA: subtracts what the befores contributed and adds the afters.
+	public void applyBookingChanges(List<Booking> befores, List<Booking> afters) {
+		Map<Key, Delta> deltas = new HashMap<>();
+		befores.forEach(before -> add(deltas, factsOf(before), -1));
+		afters.forEach(after -> add(deltas, factsOf(after), 1));
+		upsert(deltas);
+	}
+
+	private static void add(Map<Key, Delta> deltas, Facts facts, int sign) {
+		if (facts == null) return;
+
+		Delta delta = deltas.computeIfAbsent(facts.key(), key -> new Delta());
+		delta.bookings += sign;
+		delta.visitors += (long) sign * facts.visitors();
+		delta.revenue += sign * facts.revenue();
+	}
+
+	private void upsert(Map<Key, Delta> deltas) {
+		List<Map.Entry<Key, Delta>> changes = new ArrayList<>();
+		for (Map.Entry<Key, Delta> entry : deltas.entrySet()) {
+			if (!entry.getValue().isZero()) changes.add(entry);
+		}
+		if (changes.isEmpty()) return;
+
+		jdbcTemplate.batchUpdate(UPSERT_SQL, changes, changes.size(), (ps, change) -> {
+			Key key = change.getKey();
+			Delta delta = change.getValue();
+
+			ps.setDate(1, Date.valueOf(key.date()));
+			if (key.tourPackageId() != null) {
+				ps.setInt(2, key.tourPackageId());
+			} else {
+				ps.setNull(2, Types.INTEGER);
+			}
+			ps.setString(3, key.status().name());
+			ps.setString(4, key.paymentMethod() != null ? key.paymentMethod().name() : null);
+			ps.setLong(5, delta.bookings);
+			ps.setLong(6, delta.visitors);
+			ps.setDouble(7, delta.revenue);
+		});
+	}
+
+	// Recomputes booking_daily_stats from booking in one transaction. Meant for an
+	// offline window: booking writes committed while it runs may be counted twice or lost.
+	public long rebuild() {
+		return transaction.execute(status -> {
+			jdbcTemplate.update("DELETE FROM booking_daily_stats");
+			jdbcTemplate.update(REBUILD_SQL);
+			return statsRepository.count();
+		});
+	}
+
+	// Fills the rollup on first start against an existing booking table. The lease keeps a
+	// cluster starting up together from rebuilding it more than once.
+	@EventListener(ApplicationReadyEvent.class)
+	public void backfillIfEmpty() {
+		if (statsRepository.count() > 0 || bookingRepository.count() == 0) return;
+		if (!leaseService.tryAcquire(REBUILD_LEASE_NAME, Duration.ofMinutes(30))) return;
+
+		try {
+			if (statsRepository.count() == 0) {
+				log.info("Backfilled booking_daily_stats with {} rows", rebuild());
+			}
+		} finally {
+			leaseService.release(REBUILD_LEASE_NAME);
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.example.geco.services;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.geco.dto.CalendarDay;
+import com.example.geco.utils.TransactionUtils;
+
+// Month calendars keyed by year/month. Each month has a version that is bumped
+// after any committed write that can change it (booking counters, calendar_date
+// rows, the booking_limit restriction); an entry is only served while its
+// version is current, and the version doubles as the month's ETag.
+@Service
+public class CalendarCache {
+	private static final int MAX_CACHED_MONTHS = 48;
+
+	// Upper bound on staleness for writes made by other nodes.
+	@Value("${app.calendar.cache-ttl-seconds:300}")
+	private long ttlSeconds;
+
+	private record Entry(long version, long cachedAt, Map<Integer, CalendarDay> days) {}
+
+	private final ConcurrentMap<YearMonth, Entry> entries = new ConcurrentHashMap<>();
+	private final ConcurrentMap<YearMonth, Long> versions = new ConcurrentHashMap<>();
+
+	// Seeded from the clock so versions keep increasing across restarts.
+	private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis());
+	private volatile long baseVersion = sequence.get();
+
+	public long getVersion(YearMonth yearMonth) {
+		return versions.getOrDefault(yearMonth, baseVersion);
+	}
+
+	public String getETag(YearMonth yearMonth) {
+		return "\"" + yearMonth + "-" + getVersion(yearMonth) + "\"";
+	}
+
+	public Map<Integer, CalendarDay> get(YearMonth yearMonth, Supplier<Map<Integer, CalendarDay>> loader) {
+		Map<Integer, CalendarDay> cached = getIfPresent(yearMonth);
+		if (cached != null) return cached;
+
+		// Computed against the version read here, so a write committing meanwhile
+		// leaves this entry already outdated rather than serving stale data.
+		long version = getVersion(yearMonth);
+		return put(yearMonth, version, loader.get());
+	}
+
+	// Returns the month only while its entry is current and within the TTL.
+	public Map<Integer, CalendarDay> getIfPresent(YearMonth yearMonth) {
+		Entry entry = entries.get(yearMonth);
+		if (entry == null || entry.version() != getVersion(yearMonth)) return null;
+		if (System.currentTimeMillis() - entry.cachedAt() >= ttlSeconds * 1000) return null;
+
+		return entry.days();
+	}
+
+	// version must be read before the days were computed. If a write has committed since,
+	// the days may predate it: they are returned but neither cached nor given a version.
+	public Map<Integer, CalendarDay> put(YearMonth yearMonth, long version, Map<Integer, CalendarDay> computed) {
+		Map<Integer, CalendarDay> days = Collections.unmodifiableMap(computed);
+
+		synchronized (this) {
+			if (getVersion(yearMonth) != version) return days;
+
+			// An expired entry that turns out to differ was changed by another node. Without an
+			// entry to compare against, clients may hold any earlier result, so the version moves on.
+			Entry previous = entries.get(yearMonth);
+			if (previous == null || !previous.days().equals(days)) {
+				version = sequence.incrementAndGet();
+				versions.put(yearMonth, version);
+			}
+
+			if (entries.size() >= MAX_CACHED_MONTHS && !entries.containsKey(yearMonth)) {
+				entries.clear();
+			}
+			entries.put(yearMonth, new Entry(version, System.currentTimeMillis(), days));
+		}
+
+		return days;
+	}
+
+	// Invalidates the month of the given date once the current transaction commits.
+	public void evict(LocalDate date) {
+		if (date == null) return;
+
+		YearMonth yearMonth = YearMonth.from(date);
+		TransactionUtils.afterCommit(() -> {
+			synchronized (this) {
+				versions.put(yearMonth, sequence.incrementAndGet());
+				entries.remove(yearMonth);
+			}
+		});
+	}
+
+	public void evictAll() {
+		TransactionUtils.afterCommit(() -> {
+			synchronized (this) {
+				baseVersion = sequence.incrementAndGet();
+				versions.clear();
+				entries.clear();
+			}
+		});
+	}
+}
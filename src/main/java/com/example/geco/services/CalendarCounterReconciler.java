@@ -0,0 +1,102 @@
+package com.example.geco.services;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.geco.domains.CalendarDate;
+import com.example.geco.dto.CalendarDaySummary;
+import com.example.geco.repositories.BookingRepository;
+import com.example.geco.repositories.CalendarDateRepository;
+
+// Nightly safety net for the booking counters stored on calendar_date.
+// Compares them with a grouped count of the booking table and recounts
+// every drifted date under its row lock, one transaction per date.
+@Service
+public class CalendarCounterReconciler {
+	private static final Logger log = LoggerFactory.getLogger(CalendarCounterReconciler.class);
+
+	static final String STARTUP_LEASE_NAME = "calendar-counter-reconcile";
+
+	@Autowired
+	private SchedulerLeaseService leaseService;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	@Autowired
+	private CalendarDateRepository calendarDateRepository;
+
+	@Autowired
+	private CalendarDateService calendarDateService;
+
+	// Rows that existed before the counters were added hold zeros, and deltas applied on
+	// top of them would flip full dates back to available. Recounting once on startup sets
+	// them right; the lease keeps a cluster starting up together from all doing it.
+	@EventListener(ApplicationReadyEvent.class)
+	public void reconcileOnStartup() {
+		if (!leaseService.tryAcquire(STARTUP_LEASE_NAME, Duration.ofMinutes(30))) return;
+
+		try {
+			reconcile();
+		} finally {
+			leaseService.release(STARTUP_LEASE_NAME);
+		}
+	}
+
+	@Scheduled(cron = "${app.calendar.reconcile-cron:0 30 2 * * *}")
+	public int reconcile() {
+		// visitDate -> {totalBookings, visitorCount, acceptedBookings}
+		Map<LocalDate, int[]> actual = new HashMap<>();
+		for (CalendarDaySummary summary : bookingRepository.summarizeActiveBookingsByVisitDate(CalendarDateService.ACCEPTED_STATUSES)) {
+			actual.put(summary.getVisitDate(), new int[] {
+					summary.getBookings().intValue(),
+					summary.getVisitors().intValue(),
+					summary.getAcceptedBookings().intValue()
+			});
+		}
+
+		TreeSet<LocalDate> drifted = new TreeSet<>();
+		List<CalendarDate> calendarDates = calendarDateRepository.findAll();
+
+		for (CalendarDate cd : calendarDates) {
+			int[] counters = actual.remove(cd.getDate());
+			if (counters == null) counters = new int[] {0, 0, 0};
+
+			if (cd.getTotalBookings() != counters[0]
+					|| cd.getVisitorCount() != counters[1]
+					|| cd.getAcceptedBookings() != counters[2]) {
+				drifted.add(cd.getDate());
+			}
+		}
+
+		// Dates with bookings but no calendar row yet.
+		drifted.addAll(actual.keySet());
+
+		int fixed = 0;
+		for (LocalDate date : drifted) {
+			try {
+				if (calendarDateService.reconcileCalendarDate(date)) fixed++;
+			} catch (RuntimeException e) {
+				log.warn("Failed to reconcile calendar counters for {}", date, e);
+			}
+		}
+
+		if (fixed > 0) {
+			log.info("Reconciled calendar counters for {} date(s)", fixed);
+		}
+
+		return fixed;
+	}
+}
@@ -2,25 +2,31 @@ package com.example.geco.services;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.geco.domains.AuditLog.LogAction;
+import com.example.geco.domains.Booking;
 import com.example.geco.domains.Booking.BookingStatus;
 import com.example.geco.domains.CalendarDate;
 import com.example.geco.domains.CalendarDate.DateStatus;
 import com.example.geco.domains.Restriction;
 import com.example.geco.dto.CalendarDateRequest;
+import com.example.geco.dto.CalendarDaySummary;
 import com.example.geco.repositories.BookingRepository;
 import com.example.geco.repositories.CalendarDateRepository;
 import com.example.geco.repositories.RestrictionRepository;
 
+import jakarta.persistence.EntityNotFoundException;
+
 @Service
 @Transactional
 public class CalendarDateService extends BaseService {
@@ -34,16 +40,31 @@ public class CalendarDateService extends BaseService {
 	@Autowired
 	public CalendarDateRepository calendarDateRepository;
 	
+	@Autowired
+	public CalendarCache calendarCache;
+	
+	// Looked up lazily: WaitlistService locks dates through BookingAdmissionService, which depends on this service.
+	@Autowired
+	private ObjectProvider<WaitlistService> waitlistService;
+	
+	// Bookings in these statuses count toward a date's booking limit.
+	public static final List<BookingStatus> ACCEPTED_STATUSES =
+			List.of(BookingStatus.APPROVED, BookingStatus.COMPLETED);
+	
 	public CalendarDate createCalendarDateCopy(CalendarDate c) {
 		return CalendarDate.builder()
 				.dateId(c.getDateId())
 				.date(c.getDate())
 				.dateStatus(c.getDateStatus())
 				.bookingLimit(c.getBookingLimit())
+				.totalBookings(c.getTotalBookings())
+				.acceptedBookings(c.getAcceptedBookings())
+				.visitorCount(c.getVisitorCount())
+				.version(c.getVersion())
 			    .build();
 	}
 	
-	private Integer getGlobalBookingLimitOrNull() {
+	public Integer getGlobalBookingLimitOrNull() {
         return restrictionRepository.findByNameIgnoreCase("booking_limit")
             .map(Restriction::getValue) // assumes Integer
             .orElse(null);
@@ -63,33 +84,160 @@ public class CalendarDateService extends BaseService {
 	    return calendarDateRepository.findByDateStatusAndDateBetweenOrderByDate(status, startDate, endDate);
 	}
 	
+	@Transactional(readOnly = true)
+	public CalendarDate getCalendarDate(LocalDate date) {
+		return calendarDateRepository.findByDate(date)
+				.orElseThrow(() -> new EntityNotFoundException("Calendar date " + date + " not found."));
+	}
+	
+	@Transactional(readOnly = true)
+	public List<CalendarDate> getCalendarDateBetween(LocalDate startDate, LocalDate endDate) {
+		return calendarDateRepository.findByDateBetweenOrderByDate(startDate, endDate);
+	}
+	
+	// totalBookings, visitorCount and acceptedBookings of the active bookings on a date.
+	private int[] countActiveBookings(LocalDate date) {
+		int[] counters = {0, 0, 0};
+		
+		for (CalendarDaySummary summary : bookingRepository.summarizeActiveBookingsByVisitDateBetween(date, date, ACCEPTED_STATUSES)) {
+			counters[0] = summary.getBookings().intValue();
+			counters[1] = summary.getVisitors().intValue();
+			counters[2] = summary.getAcceptedBookings().intValue();
+		}
+		
+		return counters;
+	}
+	
+	// New rows start from the bookings already on that date.
+	private CalendarDate newCalendarDate(LocalDate date, DateStatus status, Integer bookingLimit) {
+		int[] counters = countActiveBookings(date);
+		
+		return CalendarDate.builder()
+				.date(date)
+				.dateStatus(status)
+				.bookingLimit(bookingLimit)
+				.totalBookings(counters[0])
+				.visitorCount(counters[1])
+				.acceptedBookings(counters[2])
+				.build();
+	}
+	
+	// Runs in its own transaction so a concurrent insert of the same date only fails this call.
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public void createCalendarDateIfMissing(LocalDate date) {
+		if (calendarDateRepository.findByDate(date).isPresent()) return;
+		
+		calendarDateRepository.saveAndFlush(
+				newCalendarDate(date, DateStatus.AVAILABLE, null) // inherit global limit by default
+		);
+	}
+	
 	@Transactional
     public void refreshCalendarDateStatus(LocalDate date) {
         CalendarDate cd = calendarDateRepository.findByDate(date)
             .orElseGet(() -> calendarDateRepository.save(
-                CalendarDate.builder()
-                    .date(date)
-                    .dateStatus(DateStatus.AVAILABLE)
-                    .bookingLimit(null) // inherit global by default
-                    .build()
+                newCalendarDate(date, DateStatus.AVAILABLE, null) // inherit global by default
             ));
 
-        if (cd.getDateStatus() == DateStatus.CLOSED) return;
+        applyCapacityStatus(cd, getGlobalBookingLimitOrNull());
+        calendarDateRepository.save(cd);
+        calendarCache.evict(date);
+    }
+	
+	// Flips between AVAILABLE and FULLY_BOOKED from the stored counters; CLOSED days are left alone.
+	private void applyCapacityStatus(CalendarDate cd, Integer globalBookingLimit) {
+		if (cd.getDateStatus() == DateStatus.CLOSED) return;
+		
+		Integer effectiveLimit = (cd.getBookingLimit() != null)
+	            ? cd.getBookingLimit()
+	            : globalBookingLimit;
+		
+		if (effectiveLimit == null) return;
+		
+		cd.setDateStatus(cd.getAcceptedBookings() >= effectiveLimit ? DateStatus.FULLY_BOOKED : DateStatus.AVAILABLE);
+	}
+	
+	// totalBookings, visitorCount and acceptedBookings a booking adds to the given date.
+	private static int[] countersOf(Booking booking, LocalDate date) {
+		if (booking == null || !booking.isActive() || !date.equals(booking.getVisitDate())) {
+			return new int[] {0, 0, 0};
+		}
+		
+		int visitors = booking.getGroupSize() != null ? booking.getGroupSize() : 0;
+		int accepted = ACCEPTED_STATUSES.contains(booking.getBookingStatus()) ? 1 : 0;
+		
+		return new int[] {1, visitors, accepted};
+	}
+	
+	// Moves a booking's contribution between the calendar rows of its old and new visit date.
+	// The rows must be locked by BookingAdmissionService so the increments cannot be lost.
+	public void applyBookingChange(List<CalendarDate> lockedDates, Booking before, Booking after) {
+		applyBookingChanges(lockedDates, Collections.singletonList(before), Collections.singletonList(after));
+	}
+
+	// Same as applyBookingChange for many bookings at once; befores and afters pair up by index.
+	// Deltas are summed first, so each date is recomputed and saved once however many bookings moved.
+	public void applyBookingChanges(List<CalendarDate> lockedDates, List<Booking> befores, List<Booking> afters) {
+		Integer globalBookingLimit = null;
+		boolean globalLoaded = false;
 
-        Integer effectiveLimit = (cd.getBookingLimit() != null)
-            ? cd.getBookingLimit()
-            : getGlobalBookingLimitOrNull();
+		for (CalendarDate cd : lockedDates) {
+			int[] delta = new int[3];
+			for (int i = 0; i < befores.size(); i++) {
+				int[] previous = countersOf(befores.get(i), cd.getDate());
+				int[] current = countersOf(afters.get(i), cd.getDate());
 
-        if (effectiveLimit == null) return;
+				for (int c = 0; c < delta.length; c++) {
+					delta[c] += current[c] - previous[c];
+				}
+			}
 
-        long acceptedCount = bookingRepository.countByVisitDateAndBookingStatusIn(
-            date,
-            List.of(BookingStatus.APPROVED, BookingStatus.COMPLETED)
-        );
+			if (Arrays.equals(delta, new int[3])) continue;
 
-        cd.setDateStatus(acceptedCount >= effectiveLimit ? DateStatus.FULLY_BOOKED : DateStatus.AVAILABLE);
-        calendarDateRepository.save(cd);
-    }
+			cd.setTotalBookings(cd.getTotalBookings() + delta[0]);
+			cd.setVisitorCount(cd.getVisitorCount() + delta[1]);
+			cd.setAcceptedBookings(cd.getAcceptedBookings() + delta[2]);
+
+			if (!globalLoaded) {
+				globalBookingLimit = getGlobalBookingLimitOrNull();
+				globalLoaded = true;
+			}
+			
+			applyCapacityStatus(cd, globalBookingLimit);
+			calendarDateRepository.save(cd);
+			calendarCache.evict(cd.getDate());
+			
+			// A cancelled, rejected or deleted accepted booking frees a spot for the waitlist.
+			if (delta[2] < 0) {
+				waitlistService.getObject().capacityFreed(cd.getDate());
+			}
+		}
+	}
+	
+	// Recounts one date from the booking table under its row lock. Returns true when the counters had drifted.
+	public boolean reconcileCalendarDate(LocalDate date) {
+		Optional<CalendarDate> locked = calendarDateRepository.findForUpdateByDate(date);
+		
+		// A date with bookings but no row yet gets one holding its counts.
+		CalendarDate cd = locked.orElseGet(() -> newCalendarDate(date, DateStatus.AVAILABLE, null));
+		int[] counters = countActiveBookings(date);
+		
+		if (locked.isPresent()
+				&& cd.getTotalBookings() == counters[0]
+				&& cd.getVisitorCount() == counters[1]
+				&& cd.getAcceptedBookings() == counters[2]) {
+			return false;
+		}
+		
+		cd.setTotalBookings(counters[0]);
+		cd.setVisitorCount(counters[1]);
+		cd.setAcceptedBookings(counters[2]);
+		applyCapacityStatus(cd, getGlobalBookingLimitOrNull());
+		calendarDateRepository.save(cd);
+		calendarCache.evict(date);
+		
+		return true;
+	}
 	
 
 	public CalendarDate updateCalendarDate(CalendarDateRequest request) {
@@ -119,32 +267,16 @@ public class CalendarDateService extends BaseService {
 	            entity.setBookingLimit(request.getBookingLimit());
 	        }
 	    } else {
-	        entity = CalendarDate.builder()
-	            .date(request.getDate())
-	            .dateStatus(request.getDateStatus())
-	            .bookingLimit(request.getBookingLimit())
-	            .build();
+	        entity = newCalendarDate(request.getDate(), request.getDateStatus(), request.getBookingLimit());
 	    }
 
 	    // --- Auto status update based on accepted bookings vs booking limit ---
 	    // Don't override CLOSED days.
-
-    	
-   	 	List<BookingStatus> activeStatuses = 
-   			 List.of(BookingStatus.APPROVED, BookingStatus.COMPLETED);
-	        	
-   	 
 	    if (entity.getDateStatus() != DateStatus.CLOSED) {
 	        Integer effectiveLimit = entity.getBookingLimit(); // per-date limit (already includes request update if provided)
 
 	        if (effectiveLimit != null) {
-	        	long acceptedCount =
-        		    bookingRepository.countByVisitDateAndBookingStatusIn(
-        		        entity.getDate(),
-        		        activeStatuses
-        		    );
-	        	
-	        	if (acceptedCount >= effectiveLimit) {
+	        	if (entity.getAcceptedBookings() >= effectiveLimit) {
 	        	    entity.setDateStatus(DateStatus.FULLY_BOOKED);
 	        	} else {
 	        	    entity.setDateStatus(DateStatus.AVAILABLE);
@@ -154,6 +286,12 @@ public class CalendarDateService extends BaseService {
 	    }
 
 	    CalendarDate saved = calendarDateRepository.save(entity);
+	    calendarCache.evict(saved.getDate());
+	    
+	    if (saved.getDateStatus() == DateStatus.AVAILABLE
+	    		&& (prev == null || prev.getDateStatus() != DateStatus.AVAILABLE)) {
+	        waitlistService.getObject().capacityFreed(saved.getDate());
+	    }
 
 	    if (byDate.isPresent()) {
 	        logIfStaffOrAdmin("CalendarDate", (long) saved.getDateId(), LogAction.UPDATE, prev, saved);
@@ -181,20 +319,6 @@ public class CalendarDateService extends BaseService {
 	            ? calendarDateRepository.findByDateGreaterThanEqual(fromDate)
 	            : calendarDateRepository.findByDateGreaterThanEqualAndBookingLimit(fromDate, oldValue);
 
-	    // Define which bookings count toward capacity
-	    List<BookingStatus> activeStatuses = List.of(
-	        BookingStatus.APPROVED
-	    );
-
-	    // Count active bookings per date in ONE query
-	    Map<LocalDate, Long> activeBookingsByDate =
-	        bookingRepository.countBookingsByVisitDateFromAndStatusIn(fromDate, activeStatuses)
-	            .stream()
-	            .collect(Collectors.toMap(
-	                row -> (LocalDate) row[0],
-	                row -> (Long) row[1]
-	            ));
-
 	    for (CalendarDate calendarDate : datesToUpdate) {
 	        calendarDate.setBookingLimit(newValue);
 
@@ -203,15 +327,17 @@ public class CalendarDateService extends BaseService {
 	            continue;
 	        }
 
-	        long activeBookings = activeBookingsByDate.getOrDefault(calendarDate.getDate(), 0L);
-
-	        if (activeBookings >= newValue) {
+	        if (calendarDate.getAcceptedBookings() >= newValue) {
 	            calendarDate.setDateStatus(DateStatus.FULLY_BOOKED);
 	        } else {
+	            if (calendarDate.getDateStatus() == DateStatus.FULLY_BOOKED) {
+	                waitlistService.getObject().capacityFreed(calendarDate.getDate());
+	            }
 	            calendarDate.setDateStatus(DateStatus.AVAILABLE);
 	        }
 	    }
 
 	    calendarDateRepository.saveAll(datesToUpdate);
+	    calendarCache.evictAll();
 	}
 }
@@ -0,0 +1,129 @@
+package com.example.geco.services;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.geco.domains.Feedback.FeedbackStatus;
+import com.example.geco.dto.AdminDashboardOverview;
+import com.example.geco.dto.TrendsResponse;
+
+import jakarta.annotation.PreDestroy;
+
+// Builds the whole admin dashboard in one call. Each part is an independent read, so
+// they run at once on virtual threads, each in its own read-only transaction. A part
+// still running when its timeout ends is cancelled and reported as unavailable, and
+// the rest of the dashboard is returned without it. The transaction timeout makes the
+// database stop a cancelled part's query, and a shared permit count caps how many
+// pool connections dashboard parts hold across all requests.
+@Service
+public class DashboardOverviewService {
+	private static final Logger log = LoggerFactory.getLogger(DashboardOverviewService.class);
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private FeedbackService feedbackService;
+
+	@Autowired
+	private AdminDashboardService adminDashboardService;
+
+	private final long partTimeoutMs;
+
+	private final TransactionTemplate readOnly;
+
+	private final Semaphore connections;
+
+	private final ExecutorService executor =
+			Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("dashboard-part-", 0).factory());
+
+	public DashboardOverviewService(
+			PlatformTransactionManager transactionManager,
+			@Value("${app.dashboard.part-timeout-ms:2000}") long partTimeoutMs,
+			@Value("${app.dashboard.max-concurrent-parts:4}") int maxConcurrentParts) {
+		this.partTimeoutMs = partTimeoutMs;
+		this.connections = new Semaphore(maxConcurrentParts);
+
+		this.readOnly = new TransactionTemplate(transactionManager);
+		this.readOnly.setReadOnly(true);
+		// Whole seconds, rounded up; applied as the query timeout of every statement in the part.
+		this.readOnly.setTimeout((int) Math.max(1, (partTimeoutMs + 999) / 1000));
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	// Monthly figures are for the month of date; monthly trends are for its year.
+	public AdminDashboardOverview getOverview(LocalDate date) {
+		Future<Integer> monthlyBooking = submit(() -> bookingService.getNumberOfBookingByMonth(date));
+		Future<Long> monthlyRevenue = submit(() -> bookingService.getMonthRevenue(date));
+		Future<Integer> pendingBookings = submit(() -> bookingService.getNumberOfPendingBookings());
+		Future<Integer> unreadFeedback = submit(() -> feedbackService.getNumberOfNewFeedbacks(FeedbackStatus.NEW));
+		Future<TrendsResponse> yearlyTrends = submit(() -> adminDashboardService.getYearlyTrends(null, null));
+		Future<TrendsResponse> monthlyTrends = submit(() -> adminDashboardService.getMonthlyTrends(date.getYear()));
+
+		// Every part started together, so one deadline gives each the same timeout.
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(partTimeoutMs);
+		List<String> unavailable = new ArrayList<>();
+
+		return AdminDashboardOverview.builder()
+				.monthlyBooking(await("monthlyBooking", monthlyBooking, deadline, unavailable))
+				.monthlyRevenue(await("monthlyRevenue", monthlyRevenue, deadline, unavailable))
+				.pendingBookings(await("pendingBookings", pendingBookings, deadline, unavailable))
+				.unreadFeedback(await("unreadFeedback", unreadFeedback, deadline, unavailable))
+				.yearlyTrends(await("yearlyTrends", yearlyTrends, deadline, unavailable))
+				.monthlyTrends(await("monthlyTrends", monthlyTrends, deadline, unavailable))
+				.unavailable(unavailable)
+				.build();
+	}
+
+	// A part waits for a permit no longer than its own timeout.
+	private <T> Future<T> submit(Supplier<T> part) {
+		return executor.submit(() -> {
+			if (!connections.tryAcquire(partTimeoutMs, TimeUnit.MILLISECONDS)) {
+				throw new TimeoutException("No connection available for the dashboard part.");
+			}
+			try {
+				return readOnly.execute(status -> part.get());
+			} finally {
+				connections.release();
+			}
+		});
+	}
+
+	private static <T> T await(String name, Future<T> part, long deadline, List<String> unavailable) {
+		try {
+			return part.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			part.cancel(true);
+			log.warn("Dashboard part '{}' timed out", name);
+		} catch (ExecutionException e) {
+			log.warn("Dashboard part '{}' failed", name, e.getCause());
+		} catch (InterruptedException e) {
+			part.cancel(true);
+			Thread.currentThread().interrupt();
+		}
+
+		unavailable.add(name);
+		return null;
+	}
+}
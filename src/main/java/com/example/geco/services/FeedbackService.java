@@ -2,6 +2,7 @@ package com.example.geco.services;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -41,6 +42,9 @@ public class FeedbackService extends BaseService{
 	@Autowired
 	private BookingRepository bookingRepository;
 	
+	@Autowired
+	private AccountSearchIndex accountSearchIndex;
+	
 	public FeedbackResponse toResponse(Feedback feedback) {
 		return FeedbackResponse.builder()
 				.feedbackId(feedback.getFeedbackId())
@@ -166,9 +170,6 @@ public class FeedbackService extends BaseService{
 	    endDate = defaultEndDate(endDate);
 	    validateDateRange(startDate, endDate);
 
-	    String q = email == null ? "" : email.trim();
-	    if (q.isEmpty()) q = null;
-
 	    Double minStars = null;
 	    Double maxStars = null;
 	    if (stars != null) {
@@ -179,8 +180,25 @@ public class FeedbackService extends BaseService{
 	        maxStars = minStars + 1.0;
 	    }
 
+	    // Resolved to account IDs through the search index instead of a LIKE scan,
+	    // unless it matches too many accounts for an IN list.
+	    Set<Integer> accountIds = null;
+	    String broadEmail = null;
+	    if (email != null && !email.isBlank()) {
+	        accountIds = accountSearchIndex.findByEmail(email);
+	        if (accountIds.isEmpty()) {
+	            return Page.empty(pageable);
+	        }
+	        if (accountIds.size() > AccountSearchIndex.MAX_ID_MATCHES) {
+	            accountIds = null;
+	            broadEmail = email.trim();
+	        }
+	    }
+
 	    Page<Feedback> feedbacks = feedbackRepository.searchFeedbacks(
-	        categoryId, startDate, endDate, feedbackStatus, isActive, q, minStars, maxStars, pageable
+	        categoryId, startDate, endDate, feedbackStatus, isActive,
+	        accountIds == null, accountIds != null ? accountIds : List.of(-1), broadEmail,
+	        minStars, maxStars, pageable
 	    );
 
 	    return mapToResponse(feedbacks);
@@ -0,0 +1,22 @@
+package com.example.geco.services;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// JPA listener on Attraction, TourPackage, Booking and Feedback that marks the home
+// stats snapshot stale. Looked up lazily for the same reason as AccountSearchListener.
+public class HomeStatsListener {
+	@Autowired
+	private ObjectProvider<HomepageService> homepageService;
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	public void onChange(Object entity) {
+		homepageService.getObject().invalidate();
+	}
+}
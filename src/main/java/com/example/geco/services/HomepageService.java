@@ -1,30 +1,129 @@
 package com.example.geco.services;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.example.geco.dto.HomeStats;
+import com.example.geco.utils.TransactionUtils;
+
+import jakarta.annotation.PreDestroy;
 
+// Serves the public home page stats from an in-memory snapshot. Only the very first
+// request computes them inline; after that a stale snapshot is returned at once while
+// a single background refresh replaces it. HomeStatsListener marks the snapshot stale
+// after committed writes to what it counts, and the schedule refreshes it regardless.
 @Service
 public class HomepageService {
+	private static final Logger log = LoggerFactory.getLogger(HomepageService.class);
+
 	@Autowired
 	AttractionService attractionService;
-	
+
 	@Autowired
 	TourPackageService tourPackageService;
-	
+
 	@Autowired
 	BookingService bookingService;
-	
+
 	@Autowired
 	FeedbackService feedbackService;
 
+	// generation is the invalidation count the stats were loaded under.
+	private record Snapshot(HomeStats stats, long generation) {}
+
+	private volatile Snapshot snapshot;
+
+	// Bumped on every invalidation; a snapshot from an older generation is stale.
+	private final AtomicLong generation = new AtomicLong();
+
+	private final AtomicBoolean refreshing = new AtomicBoolean();
+
+	private final Object loadLock = new Object();
+
+	private final ExecutorService executor =
+			Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("home-stats-", 0).factory());
+
 	public HomeStats getHomeStats() {
+		Snapshot current = snapshot;
+		if (current == null) {
+			return loadFirst();
+		}
+
+		if (current.generation() != generation.get()) {
+			refreshAsync();
+		}
+		return current.stats();
+	}
+
+	// Marks the snapshot stale once the current transaction commits and starts a refresh.
+	public void invalidate() {
+		TransactionUtils.afterCommit(() -> {
+			generation.incrementAndGet();
+			if (snapshot != null) {
+				refreshAsync();
+			}
+		});
+	}
+
+	@Scheduled(fixedDelayString = "${app.home.stats-refresh-ms:300000}")
+	public void refreshOnSchedule() {
+		if (snapshot != null) {
+			refreshAsync();
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdown();
+	}
+
+	private HomeStats loadFirst() {
+		synchronized (loadLock) {
+			Snapshot current = snapshot;
+			if (current != null) return current.stats();
+
+			long loadedGeneration = generation.get();
+			HomeStats stats = load();
+			snapshot = new Snapshot(stats, loadedGeneration);
+			return stats;
+		}
+	}
+
+	// Starts a refresh unless one is already running. Writes committed while it loads
+	// leave the installed snapshot stale, so the next read starts another.
+	private void refreshAsync() {
+		if (!refreshing.compareAndSet(false, true)) return;
+
+		try {
+			executor.execute(() -> {
+				try {
+					long loadedGeneration = generation.get();
+					snapshot = new Snapshot(load(), loadedGeneration);
+				} catch (RuntimeException e) {
+					log.warn("Home stats refresh failed, serving the previous snapshot", e);
+				} finally {
+					refreshing.set(false);
+				}
+			});
+		} catch (RuntimeException e) {
+			refreshing.set(false);
+			throw e;
+		}
+	}
+
+	private HomeStats load() {
 		return new HomeStats(
 				attractionService.getAttractionsNumber(),
 				tourPackageService.getPackagesNumber(),
 				bookingService.getAverageVisitor("month"),
 				feedbackService.getAverageRating());
 	}
-
 }
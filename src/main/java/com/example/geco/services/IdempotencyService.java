@@ -0,0 +1,247 @@
+package com.example.geco.services;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.geco.domains.IdempotencyRecord;
+import com.example.geco.domains.IdempotencyRecord.RecordStatus;
+import com.example.geco.exceptions.ConflictException;
+import com.example.geco.repositories.IdempotencyRecordRepository;
+import com.example.geco.utils.TransactionUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Runs a write at most once per Idempotency-Key. The key is claimed in its own transaction,
+// then the write and the stored response commit together, so a retry either replays the
+// response or, if the first attempt died, runs the write again. Replays are served from a
+// bounded in-memory cache first and from idempotency_record otherwise.
+@Service
+public class IdempotencyService extends BaseService {
+	public static final String HEADER = "Idempotency-Key";
+	public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+	private static final int MAX_KEY_LENGTH = 255;
+
+	@Value("${app.idempotency.ttl-hours:24}")
+	private long ttlHours;
+
+	@Value("${app.idempotency.cache-size:10000}")
+	private int cacheSize;
+
+	// A claim older than this belongs to a request that died before finishing, and may be retaken.
+	@Value("${app.idempotency.in-progress-timeout-seconds:300}")
+	private long inProgressTimeoutSeconds;
+
+	@Autowired
+	private IdempotencyRecordRepository recordRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private final TransactionTemplate newTransaction;
+	private final TransactionTemplate transaction;
+
+	private record CachedResponse(String requestHash, int status, JsonNode body, LocalDateTime expiresAt) {}
+
+	private record Claim(IdempotencyRecord record, boolean owned) {}
+
+	// Guarded by itself.
+	private final Map<String, CachedResponse> cache = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+			return size() > cacheSize;
+		}
+	};
+
+	public IdempotencyService(PlatformTransactionManager transactionManager) {
+		this.newTransaction = new TransactionTemplate(transactionManager);
+		this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.transaction = new TransactionTemplate(transactionManager);
+	}
+
+	// Runs the action, or replays the response stored for this key. requestParts identify
+	// the request, so reusing a key for a different request is rejected instead of replayed.
+	public ResponseEntity<?> execute(
+			String key,
+			String operation,
+			List<Object> requestParts,
+			Supplier<ResponseEntity<?>> action) {
+		if (key == null) return action.get();
+
+		String trimmedKey = key.trim();
+		if (trimmedKey.isEmpty() || trimmedKey.length() > MAX_KEY_LENGTH) {
+			throw new IllegalArgumentException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters.");
+		}
+
+		int accountId = getLoggedAccountId();
+		String requestHash = hash(requestParts);
+		String cacheKey = accountId + "|" + operation + "|" + trimmedKey;
+
+		CachedResponse cached = cached(cacheKey);
+		if (cached != null) {
+			return replay(cached, requestHash);
+		}
+
+		Claim claim = claim(accountId, operation, trimmedKey, requestHash);
+		IdempotencyRecord record = claim.record();
+
+		if (!claim.owned()) {
+			if (!record.getRequestHash().equals(requestHash)) {
+				throw new IllegalArgumentException(HEADER + " was already used for a different request.");
+			}
+			if (record.getStatus() == RecordStatus.IN_PROGRESS) {
+				throw new ConflictException("A request with this " + HEADER + " is still being processed.");
+			}
+
+			CachedResponse stored = toCached(record);
+			cache(cacheKey, stored);
+			return replay(stored, requestHash);
+		}
+
+		try {
+			return transaction.execute(status -> {
+				ResponseEntity<?> response = action.get();
+
+				IdempotencyRecord completed = recordRepository.findById(record.getId()).orElseThrow();
+				completed.setStatus(RecordStatus.COMPLETED);
+				completed.setResponseStatus(response.getStatusCode().value());
+				completed.setResponseBody(json(response.getBody()));
+				recordRepository.save(completed);
+
+				CachedResponse stored = toCached(completed);
+				TransactionUtils.afterCommit(() -> cache(cacheKey, stored));
+
+				return response;
+			});
+		} catch (RuntimeException e) {
+			// Nothing was committed; free the key so the client can retry.
+			release(record.getId());
+			throw e;
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.idempotency.cleanup-ms:3600000}")
+	@Transactional
+	public void purgeExpired() {
+		recordRepository.deleteExpired(LocalDateTime.now());
+	}
+
+	private Claim claim(int accountId, String operation, String key, String requestHash) {
+		try {
+			return newTransaction.execute(status -> tryClaim(accountId, operation, key, requestHash));
+		} catch (DataIntegrityViolationException e) {
+			// Lost the insert race to a concurrent retry; its row is there now.
+			return newTransaction.execute(status -> tryClaim(accountId, operation, key, requestHash));
+		}
+	}
+
+	private Claim tryClaim(int accountId, String operation, String key, String requestHash) {
+		LocalDateTime now = LocalDateTime.now();
+
+		Optional<IdempotencyRecord> existing =
+				recordRepository.findByAccountIdAndOperationAndIdempotencyKey(accountId, operation, key);
+
+		if (existing.isPresent()) {
+			IdempotencyRecord record = existing.get();
+			boolean expired = record.getExpiresAt().isBefore(now);
+			boolean abandoned = record.getStatus() == RecordStatus.IN_PROGRESS
+					&& record.getCreatedAt().isBefore(now.minusSeconds(inProgressTimeoutSeconds));
+
+			if (!expired && !abandoned) {
+				return new Claim(record, false);
+			}
+
+			recordRepository.delete(record);
+			recordRepository.flush();
+		}
+
+		IdempotencyRecord claimed = recordRepository.saveAndFlush(IdempotencyRecord.builder()
+				.accountId(accountId)
+				.operation(operation)
+				.idempotencyKey(key)
+				.requestHash(requestHash)
+				.status(RecordStatus.IN_PROGRESS)
+				.expiresAt(now.plusHours(ttlHours))
+				.build());
+
+		return new Claim(claimed, true);
+	}
+
+	private void release(Long recordId) {
+		newTransaction.executeWithoutResult(status -> recordRepository.deleteById(recordId));
+	}
+
+	private ResponseEntity<?> replay(CachedResponse cached, String requestHash) {
+		if (!cached.requestHash().equals(requestHash)) {
+			throw new IllegalArgumentException(HEADER + " was already used for a different request.");
+		}
+
+		return ResponseEntity.status(cached.status())
+				.header(REPLAYED_HEADER, "true")
+				.body(cached.body());
+	}
+
+	private CachedResponse cached(String cacheKey) {
+		synchronized (cache) {
+			CachedResponse cached = cache.get(cacheKey);
+			if (cached == null) return null;
+
+			if (cached.expiresAt().isBefore(LocalDateTime.now())) {
+				cache.remove(cacheKey);
+				return null;
+			}
+			return cached;
+		}
+	}
+
+	private void cache(String cacheKey, CachedResponse response) {
+		synchronized (cache) {
+			cache.put(cacheKey, response);
+		}
+	}
+
+	private CachedResponse toCached(IdempotencyRecord record) {
+		try {
+			JsonNode body = record.getResponseBody() != null ? objectMapper.readTree(record.getResponseBody()) : null;
+			return new CachedResponse(record.getRequestHash(), record.getResponseStatus(), body, record.getExpiresAt());
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Stored idempotent response is not valid JSON.", e);
+		}
+	}
+
+	private String json(Object value) {
+		try {
+			return value == null ? null : objectMapper.writeValueAsString(value);
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Failed to store the idempotent response.", e);
+		}
+	}
+
+	private String hash(List<Object> requestParts) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(requestParts)));
+		} catch (NoSuchAlgorithmException | JsonProcessingException e) {
+			throw new IllegalStateException("Failed to fingerprint the request.", e);
+		}
+	}
+}
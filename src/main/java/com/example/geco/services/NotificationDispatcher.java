@@ -0,0 +1,197 @@
+package com.example.geco.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.geco.domains.Notification;
+import com.example.geco.domains.NotificationOutbox;
+import com.example.geco.repositories.AccountRepository;
+import com.example.geco.repositories.BookingRepository;
+import com.example.geco.repositories.NotificationOutboxRepository;
+import com.example.geco.repositories.NotificationRepository;
+
+import jakarta.annotation.PreDestroy;
+
+// Turns notification_outbox rows into Notification rows off the request path.
+// Woken on a virtual thread after each committed booking write, and polled on a
+// schedule so rows left behind by a crash or restart are still delivered.
+@Service
+public class NotificationDispatcher {
+	private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+	public static final int MAX_ATTEMPTS = 5;
+
+	@Value("${app.notification.outbox-batch-size:100}")
+	private int batchSize;
+
+	@Autowired
+	private NotificationOutboxRepository outboxRepository;
+
+	@Autowired
+	private NotificationRepository notificationRepository;
+
+	@Autowired
+	private AccountRepository accountRepository;
+
+	@Autowired
+	private BookingRepository bookingRepository;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final ExecutorService executor =
+			Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("notification-outbox-", 0).factory());
+
+	private final AtomicBoolean draining = new AtomicBoolean();
+	private final AtomicBoolean requested = new AtomicBoolean();
+
+	public NotificationDispatcher(PlatformTransactionManager transactionManager) {
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	// Starts a drain unless one is already running; a running drain picks the request up.
+	public void wake() {
+		requested.set(true);
+		if (draining.compareAndSet(false, true)) {
+			executor.execute(this::drainLoop);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.notification.outbox-poll-ms:5000}")
+	public void poll() {
+		wake();
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdown();
+	}
+
+	private void drainLoop() {
+		try {
+			while (requested.getAndSet(false)) {
+				drain();
+			}
+		} catch (RuntimeException e) {
+			log.warn("Notification outbox drain failed", e);
+		} finally {
+			draining.set(false);
+		}
+
+		// A wake() between the last check and the reset above would otherwise wait for the next poll.
+		if (requested.get()) {
+			wake();
+		}
+	}
+
+	// Dispatches pending rows batch by batch; returns how many notifications were created.
+	public int drain() {
+		int dispatched = 0;
+
+		while (true) {
+			int fetched;
+			try {
+				fetched = transactionTemplate.execute(status -> dispatchBatch());
+				dispatched += fetched;
+			} catch (RuntimeException e) {
+				// One bad row rolls back its whole batch; retry the rows one at a time.
+				log.warn("Notification outbox batch failed, retrying rows individually", e);
+				int[] result = dispatchIndividually();
+				fetched = result[0];
+				dispatched += result[1];
+			}
+
+			if (fetched < batchSize) break;
+		}
+
+		return dispatched;
+	}
+
+	private int dispatchBatch() {
+		List<NotificationOutbox> pending =
+				outboxRepository.findPendingForUpdate(MAX_ATTEMPTS, PageRequest.of(0, batchSize));
+		if (pending.isEmpty()) return 0;
+
+		List<Notification> notifications = new ArrayList<>(pending.size());
+		for (NotificationOutbox row : pending) {
+			notifications.add(toNotification(row));
+		}
+
+		notificationRepository.saveAll(notifications);
+		outboxRepository.deleteAllInBatch(pending);
+
+		return pending.size();
+	}
+
+	// {rows looked at, notifications created}
+	private int[] dispatchIndividually() {
+		List<Long> ids = transactionTemplate.execute(status -> outboxRepository
+				.findPendingForUpdate(MAX_ATTEMPTS, PageRequest.of(0, batchSize))
+				.stream()
+				.map(NotificationOutbox::getId)
+				.toList());
+
+		int dispatched = 0;
+		for (Long id : ids) {
+			try {
+				Boolean done = transactionTemplate.execute(status -> {
+					NotificationOutbox row = outboxRepository.findByIdForUpdate(id);
+					if (row == null) return false;
+
+					notificationRepository.save(toNotification(row));
+					outboxRepository.delete(row);
+					return true;
+				});
+				if (Boolean.TRUE.equals(done)) dispatched++;
+			} catch (RuntimeException e) {
+				recordFailure(id, e);
+			}
+		}
+
+		return new int[] {ids.size(), dispatched};
+	}
+
+	private void recordFailure(Long id, RuntimeException error) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				NotificationOutbox row = outboxRepository.findByIdForUpdate(id);
+				if (row == null) return;
+
+				row.setAttempts(row.getAttempts() + 1);
+				String message = String.valueOf(error.getMessage());
+				row.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+
+				if (row.getAttempts() >= MAX_ATTEMPTS) {
+					log.error("Giving up on notification outbox row {} after {} attempts", id, row.getAttempts(), error);
+				}
+			});
+		} catch (RuntimeException e) {
+			log.warn("Failed to record notification outbox failure for row {}", id, e);
+		}
+	}
+
+	// References only, so building a notification does not load the account or booking.
+	private Notification toNotification(NotificationOutbox row) {
+		return Notification.builder()
+				.account(accountRepository.getReferenceById(row.getAccountId()))
+				.booking(row.getBookingId() != null ? bookingRepository.getReferenceById(row.getBookingId()) : null)
+				.message(row.getMessage())
+				.read(false)
+				.createdAt(row.getCreatedAt())
+				.build();
+	}
+}
@@ -3,6 +3,9 @@ package com.example.geco.services;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -15,7 +18,10 @@ import org.springframework.transaction.annotation.Transactional;
 import com.example.geco.domains.Account;
 import com.example.geco.domains.Booking;
 import com.example.geco.domains.Notification;
+import com.example.geco.domains.NotificationOutbox;
+import com.example.geco.repositories.NotificationOutboxRepository;
 import com.example.geco.repositories.NotificationRepository;
+import com.example.geco.utils.TransactionUtils;
 
 import jakarta.persistence.EntityNotFoundException;
 
@@ -26,6 +32,12 @@ public class NotificationService extends BaseService {
     @Autowired
     private NotificationRepository notificationRepository;
     
+    @Autowired
+    private NotificationOutboxRepository outboxRepository;
+    
+    @Autowired
+    private NotificationDispatcher notificationDispatcher;
+    
     public Notification addNotification(
             Account account,
             Booking booking,
@@ -40,6 +52,48 @@ public class NotificationService extends BaseService {
         return notificationRepository.save(notif);
     }
     
+    // Records the notification in the outbox as part of the caller's transaction;
+    // NotificationDispatcher creates the Notification row once it commits.
+    public void queueNotification(
+            Account account,
+            Booking booking,
+            String message) {
+        outboxRepository.save(NotificationOutbox.builder()
+                .accountId(account.getAccountId())
+                .bookingId(booking.getBookingId())
+                .message(message)
+                .build());
+        
+        TransactionUtils.afterCommit(notificationDispatcher::wake);
+    }
+    
+    // For notifications that are not about a booking.
+    public void queueNotification(Integer accountId, String message) {
+        outboxRepository.save(NotificationOutbox.builder()
+                .accountId(accountId)
+                .message(message)
+                .build());
+        
+        TransactionUtils.afterCommit(notificationDispatcher::wake);
+    }
+    
+    // Batch form of queueNotification: one saveAll for the outbox rows and a single dispatcher wake-up.
+    public void queueNotifications(List<Booking> bookings, Function<Booking, String> message) {
+        if (bookings.isEmpty()) return;
+        
+        List<NotificationOutbox> rows = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            rows.add(NotificationOutbox.builder()
+                    .accountId(booking.getAccount().getAccountId())
+                    .bookingId(booking.getBookingId())
+                    .message(message.apply(booking))
+                    .build());
+        }
+        outboxRepository.saveAll(rows);
+        
+        TransactionUtils.afterCommit(notificationDispatcher::wake);
+    }
+    
     @Transactional(readOnly = true)
     public Page<Notification> getMyLatestNotifications(int limit) {
         int accountId = getLoggedAccountId();
@@ -0,0 +1,60 @@
+package com.example.geco.services;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.geco.exceptions.ConflictException;
+
+// Reruns a write that lost an optimistic version check (@Version on Booking and CalendarDate),
+// backing off between attempts. When every attempt conflicts, the client gets a 409 carrying
+// the current state of the resource so it can reapply its change on top of it.
+@Component
+public class OptimisticRetry {
+	@Value("${app.concurrency.max-attempts:3}")
+	private int maxAttempts;
+
+	@Value("${app.concurrency.backoff-ms:25}")
+	private long backoffMs;
+
+	// Callers must not be inside a transaction: a rolled-back transaction cannot be retried from
+	// within, so there the write runs once and a conflict is reported straight away.
+	public <T> T run(Supplier<T> write, Supplier<Object> currentState) {
+		int attempts = TransactionSynchronizationManager.isActualTransactionActive() ? 1 : Math.max(1, maxAttempts);
+
+		for (int attempt = 1; ; attempt++) {
+			try {
+				return write.get();
+			} catch (OptimisticLockingFailureException e) {
+				if (attempt >= attempts) {
+					throw new ConflictException(
+							"The resource was changed by another request. Review its current state and try again.",
+							currentState.get());
+				}
+				backOff(attempt);
+			}
+		}
+	}
+
+	public void runWithoutResult(Runnable write, Supplier<Object> currentState) {
+		run(() -> {
+			write.run();
+			return null;
+		}, currentState);
+	}
+
+	// Exponential with full jitter, so writers that collided do not collide again in lockstep.
+	private void backOff(int attempt) {
+		long ceiling = backoffMs << Math.min(attempt - 1, 6);
+		try {
+			Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ConflictException("Interrupted while retrying a conflicting write.");
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package com.example.geco.services;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+// JPA listener on TourPackage, PackageInclusion and Discount that drops the pricing
+// snapshot after catalog writes. Looked up lazily for the same reason as AccountSearchListener.
+public class PricingCatalogListener {
+	@Autowired
+	private ObjectProvider<PricingService> pricingService;
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	public void onChange(Object entity) {
+		pricingService.getObject().invalidate();
+	}
+}
@@ -0,0 +1,213 @@
+package com.example.geco.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.geco.domains.Discount;
+import com.example.geco.dto.BookingInclusionRequest;
+import com.example.geco.dto.BookingQuote;
+import com.example.geco.dto.BookingQuoteRequest;
+import com.example.geco.repositories.DiscountRepository;
+import com.example.geco.repositories.PackageInclusionRepository;
+import com.example.geco.repositories.TourPackageRepository;
+import com.example.geco.utils.TransactionUtils;
+
+import jakarta.persistence.EntityNotFoundException;
+
+// Prices bookings from an immutable snapshot of the catalog: package base and per-person
+// prices, inclusion prices and group-size discounts. PricingCatalogListener drops the
+// snapshot after any committed catalog edit and the next quote loads a fresh one, so
+// pricing never reads a half-applied edit and never queries the catalog per request.
+@Service
+public class PricingService {
+	public static final int MAX_QUOTES = 200;
+
+	// Inclusions are left out of the total by default, as booking prices always have been.
+	@Value("${app.pricing.include-inclusions:false}")
+	private boolean includeInclusions;
+
+	@Autowired
+	private TourPackageRepository tourPackageRepository;
+
+	@Autowired
+	private PackageInclusionRepository inclusionRepository;
+
+	@Autowired
+	private DiscountRepository discountRepository;
+
+	private record PackagePrice(double basePrice, double pricePerPerson, int minPerson, int maxPerson) {}
+
+	private record DiscountRule(int groupSize, double percentOff) {}
+
+	// discounts are sorted by group size, largest first.
+	private record PriceTable(
+			Map<Integer, PackagePrice> packages,
+			Map<Integer, Integer> inclusionPrices,
+			List<DiscountRule> discounts) {}
+
+	private volatile PriceTable table;
+
+	// Bumped on every invalidation, so a load that raced an edit is not installed.
+	private final AtomicLong generation = new AtomicLong();
+
+	private final Object loadLock = new Object();
+
+	public BookingQuote quote(Integer tourPackageId, Integer groupSize, List<BookingInclusionRequest> inclusions) {
+		if (tourPackageId == null) {
+			throw new IllegalArgumentException("Tour package ID is missing.");
+		}
+
+		PriceTable current = current();
+
+		PackagePrice packagePrice = current.packages().get(tourPackageId);
+		if (packagePrice == null) {
+			throw new EntityNotFoundException("Tour package with ID '" + tourPackageId + "' not found.");
+		}
+
+		if (groupSize == null || groupSize < packagePrice.minPerson() || groupSize > packagePrice.maxPerson()) {
+			throw new IllegalArgumentException("Group size for this tour package cannot go below "
+				+ packagePrice.minPerson()
+				+ " or beyond "
+				+ packagePrice.maxPerson()
+				+ "pax");
+		}
+
+		double inclusionsPrice = 0;
+		if (inclusions != null) {
+			for (BookingInclusionRequest inclusion : inclusions) {
+				Integer price = inclusion.getInclusionId() != null
+						? current.inclusionPrices().get(inclusion.getInclusionId())
+						: null;
+				if (price == null) {
+					throw new IllegalArgumentException("Some inclusion IDs do not exist.");
+				}
+				if (inclusion.getQuantity() == null || inclusion.getQuantity() < 1) {
+					throw new IllegalArgumentException("Inclusion quantity must be at least 1.");
+				}
+				if (inclusion.getQuantity() > groupSize) {
+					throw new IllegalArgumentException("Inclusion quantity cannot exceed booking group size.");
+				}
+
+				inclusionsPrice += price * inclusion.getQuantity();
+			}
+		}
+
+		double personsPrice = packagePrice.pricePerPerson() * groupSize;
+		double subtotal = packagePrice.basePrice() + personsPrice + (includeInclusions ? inclusionsPrice : 0);
+
+		double discountPercent = 0;
+		for (DiscountRule rule : current.discounts()) {
+			if (groupSize >= rule.groupSize()) {
+				discountPercent = rule.percentOff();
+				break;
+			}
+		}
+
+		double discountAmount = round(subtotal * discountPercent / 100);
+
+		return BookingQuote.builder()
+				.tourPackageId(tourPackageId)
+				.groupSize(groupSize)
+				.basePrice(packagePrice.basePrice())
+				.personsPrice(personsPrice)
+				.inclusionsPrice(inclusionsPrice)
+				.discountPercent(discountPercent)
+				.discountAmount(discountAmount)
+				.totalPrice(subtotal - discountAmount)
+				.build();
+	}
+
+	// Prices each configuration independently; a configuration that cannot be booked gets an error instead.
+	public List<BookingQuote> quoteAll(List<BookingQuoteRequest> requests) {
+		if (requests == null || requests.isEmpty()) {
+			throw new IllegalArgumentException("At least one configuration is required.");
+		}
+
+		if (requests.size() > MAX_QUOTES) {
+			throw new IllegalArgumentException("Cannot quote more than " + MAX_QUOTES + " configurations at once.");
+		}
+
+		List<BookingQuote> quotes = new ArrayList<>(requests.size());
+		for (BookingQuoteRequest request : requests) {
+			if (request == null) {
+				quotes.add(BookingQuote.builder().error("Configuration is missing.").build());
+				continue;
+			}
+
+			try {
+				quotes.add(quote(request.getTourPackageId(), request.getGroupSize(), request.getBookingInclusionRequests()));
+			} catch (IllegalArgumentException | EntityNotFoundException e) {
+				quotes.add(BookingQuote.builder()
+						.tourPackageId(request.getTourPackageId())
+						.groupSize(request.getGroupSize())
+						.error(e.getMessage())
+						.build());
+			}
+		}
+		return quotes;
+	}
+
+	// Drops the snapshot once the current transaction commits.
+	public void invalidate() {
+		TransactionUtils.afterCommit(() -> {
+			generation.incrementAndGet();
+			table = null;
+		});
+	}
+
+	private PriceTable current() {
+		PriceTable current = table;
+		if (current != null) return current;
+
+		synchronized (loadLock) {
+			if (table != null) return table;
+
+			long loadedGeneration = generation.get();
+			PriceTable loaded = load();
+
+			if (generation.get() == loadedGeneration) {
+				table = loaded;
+			}
+			return loaded;
+		}
+	}
+
+	private PriceTable load() {
+		// Scalar rows, so loading never pulls catalog entities into the caller's persistence context.
+		Map<Integer, PackagePrice> packages = new HashMap<>();
+		for (Object[] row : tourPackageRepository.findPriceRows()) {
+			packages.put((Integer) row[0], new PackagePrice(
+					row[1] != null ? (Double) row[1] : 0,
+					row[2] != null ? (Double) row[2] : 0,
+					(Integer) row[3],
+					(Integer) row[4]));
+		}
+
+		Map<Integer, Integer> inclusionPrices = new HashMap<>();
+		for (Object[] row : inclusionRepository.findPriceRows()) {
+			inclusionPrices.put((Integer) row[0], row[1] != null ? (Integer) row[1] : 0);
+		}
+
+		List<DiscountRule> discounts = new ArrayList<>();
+		for (Discount discount : discountRepository.findAll()) {
+			if (discount.getGroupSize() != null && discount.getPercentOff() != null) {
+				discounts.add(new DiscountRule(discount.getGroupSize(), discount.getPercentOff()));
+			}
+		}
+		discounts.sort(Comparator.comparingInt(DiscountRule::groupSize).reversed());
+
+		return new PriceTable(Map.copyOf(packages), Map.copyOf(inclusionPrices), List.copyOf(discounts));
+	}
+
+	private static double round(double amount) {
+		return Math.round(amount * 100) / 100.0;
+	}
+}
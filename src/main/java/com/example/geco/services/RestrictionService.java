@@ -24,6 +24,14 @@ public class RestrictionService extends BaseService{
 	@Autowired
 	CalendarDateService calendarDateService;
 	
+	@Autowired
+	CalendarCache calendarCache;
+	
+	// Stored as "booking_limit"; older rows may use a space instead of the underscore.
+	private static boolean isBookingLimit(String name) {
+		return name != null && name.trim().replace(' ', '_').equalsIgnoreCase("booking_limit");
+	}
+	
 	public Restriction createRestrictionCopy(Restriction restriction) {
 		return Restriction.builder()
 				.id(restriction.getId())
@@ -42,6 +50,10 @@ public class RestrictionService extends BaseService{
 				
 		logIfStaffOrAdmin("Restriction", (long)savedRestriction.getId(), LogAction.CREATE, null, savedRestriction);
 		
+		if (isBookingLimit(savedRestriction.getName())) {
+			calendarCache.evictAll();
+		}
+		
 		return savedRestriction;
 	}
 	
@@ -140,13 +152,17 @@ public class RestrictionService extends BaseService{
 	    Restriction savedRestriction = restrictionRepository.save(restriction);
 	    logIfStaffOrAdmin("Restriction", id.longValue(), LogAction.UPDATE, before, savedRestriction);
 
-	    boolean isBookingLimit = savedRestriction.getName() != null
-	        && savedRestriction.getName().trim().equalsIgnoreCase("booking limit");
+	    boolean isBookingLimit = isBookingLimit(savedRestriction.getName());
 
 	    if (isBookingLimit && !java.util.Objects.equals(before.getValue(), savedRestriction.getValue())) {
 	        calendarDateService.updateCalendarDateBookingLimit(LocalDate.now(), before.getValue(), savedRestriction.getValue());
 	    }
 	    
+	    // Renaming to or from booking_limit also changes the global limit.
+	    if (isBookingLimit || isBookingLimit(before.getName())) {
+	        calendarCache.evictAll();
+	    }
+	    
 	    return savedRestriction;
 	}
 }
@@ -0,0 +1,65 @@
+package com.example.geco.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.geco.domains.SchedulerLease;
+import com.example.geco.repositories.SchedulerLeaseRepository;
+
+// Database leases for scheduled jobs, so a job runs on one node at a time. Every call
+// commits on its own, so a lease is visible to other nodes as soon as it is taken.
+// A node that dies keeps the lease only until it expires.
+@Service
+public class SchedulerLeaseService {
+	@Autowired
+	private SchedulerLeaseRepository leaseRepository;
+
+	// Identifies this node as the lease owner.
+	private final String owner = UUID.randomUUID().toString();
+
+	private final TransactionTemplate newTransaction;
+
+	public SchedulerLeaseService(PlatformTransactionManager transactionManager) {
+		this.newTransaction = new TransactionTemplate(transactionManager);
+		this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	// Takes the lease, or extends it when this node already holds it. Returns false while another node holds it.
+	public boolean tryAcquire(String name, Duration ttl) {
+		try {
+			return newTransaction.execute(status -> claimOrCreate(name, ttl));
+		} catch (DataIntegrityViolationException e) {
+			// Another node created the lease row first; it may have released it since.
+			return newTransaction.execute(status -> claim(name, ttl));
+		}
+	}
+
+	public void release(String name) {
+		newTransaction.executeWithoutResult(status -> leaseRepository.release(name, owner, LocalDateTime.now()));
+	}
+
+	private boolean claimOrCreate(String name, Duration ttl) {
+		if (claim(name, ttl)) return true;
+		if (leaseRepository.existsById(name)) return false;
+
+		leaseRepository.saveAndFlush(SchedulerLease.builder()
+				.name(name)
+				.owner(owner)
+				.expiresAt(LocalDateTime.now().plus(ttl))
+				.build());
+		return true;
+	}
+
+	private boolean claim(String name, Duration ttl) {
+		LocalDateTime now = LocalDateTime.now();
+		return leaseRepository.claim(name, owner, now, now.plus(ttl)) == 1;
+	}
+}
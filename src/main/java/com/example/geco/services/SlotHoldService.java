@@ -0,0 +1,158 @@
+package com.example.geco.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.geco.domains.CalendarDate;
+import com.example.geco.domains.SlotHold;
+import com.example.geco.domains.TourPackage;
+import com.example.geco.dto.SlotHoldRequest;
+import com.example.geco.dto.SlotHoldResponse;
+import com.example.geco.exceptions.AccessDeniedException;
+import com.example.geco.repositories.SlotHoldRepository;
+import com.example.geco.repositories.TourPackageRepository;
+
+import jakarta.persistence.EntityNotFoundException;
+
+// Short reservations of a time slot while a user checks out. Holds are stored in
+// slot_hold, so every node sees them, and are taken under the same visit date
+// admission lock as bookings, so a hold and a booking can never claim the same
+// interval. BookingScheduleIndex keeps them in memory for the overlap check.
+@Service
+@Transactional
+public class SlotHoldService extends BaseService {
+	@Value("${app.booking.hold-minutes:10}")
+	private int holdMinutes;
+
+	@Autowired
+	private SlotHoldRepository slotHoldRepository;
+
+	@Autowired
+	private TourPackageRepository tourPackageRepository;
+
+	@Autowired
+	private BookingAdmissionService bookingAdmissionService;
+
+	@Autowired
+	private BookingScheduleIndex bookingScheduleIndex;
+
+	// An account holds one slot at a time; a new hold replaces the previous one.
+	public SlotHoldResponse hold(SlotHoldRequest request) {
+		int accountId = getLoggedAccountId();
+
+		TourPackage tourPackage = tourPackageRepository.findById(request.getTourPackageId())
+				.orElseThrow(() -> new EntityNotFoundException(
+						"Tour package with ID '" + request.getTourPackageId() + "' not found."));
+
+		LocalDate visitDate = request.getVisitDate();
+		LocalTime visitTime = request.getVisitTime();
+		BookingService.validateVisitDate(visitDate);
+		BookingService.validateVisitWindow(visitTime);
+
+		List<SlotHold> previous = slotHoldRepository.findByAccountId(accountId);
+
+		List<LocalDate> dates = new ArrayList<>();
+		dates.add(visitDate);
+		previous.forEach(hold -> dates.add(hold.getVisitDate()));
+		List<CalendarDate> admittedDates = bookingAdmissionService.admit(dates.toArray(LocalDate[]::new));
+
+		LocalDateTime now = LocalDateTime.now();
+		String replacedToken = previous.stream()
+				.filter(hold -> hold.getExpiresAt().isAfter(now))
+				.map(SlotHold::getToken)
+				.findFirst()
+				.orElse(null);
+
+		int duration = tourPackage.getDuration() != null ? Math.max(tourPackage.getDuration(), 0) : 0;
+
+		bookingScheduleIndex.findOverlap(visitDate, visitTime, duration, null, replacedToken)
+			.ifPresent(existing -> {
+				throw new IllegalArgumentException(
+					"Selected time overlaps with " + (existing.isHold() ? "a slot being held" : "an existing booking")
+					+ " from " + existing.getStartTime() + " to " + existing.getEndTime() + ".");
+			});
+
+		for (SlotHold hold : previous) {
+			slotHoldRepository.delete(hold);
+			bookingScheduleIndex.release(hold.getVisitDate(), hold.getToken());
+		}
+
+		SlotHold saved = slotHoldRepository.save(SlotHold.builder()
+				.token(UUID.randomUUID().toString())
+				.accountId(accountId)
+				.tourPackageId(tourPackage.getPackageId())
+				.visitDate(visitDate)
+				.visitTime(visitTime)
+				.durationMinutes(duration)
+				.expiresAt(now.plusMinutes(holdMinutes))
+				.build());
+
+		bookingScheduleIndex.hold(saved);
+		bookingAdmissionService.markChanged(admittedDates);
+
+		return toResponse(saved);
+	}
+
+	public void release(String token) {
+		SlotHold hold = slotHoldRepository.findByToken(token)
+				.orElseThrow(() -> new EntityNotFoundException("Slot hold not found."));
+
+		checkAuth(hold.getAccountId());
+
+		List<CalendarDate> admittedDates = bookingAdmissionService.admit(hold.getVisitDate());
+		slotHoldRepository.delete(hold);
+		bookingScheduleIndex.release(hold.getVisitDate(), hold.getToken());
+		bookingAdmissionService.markChanged(admittedDates);
+	}
+
+	// Spends a hold on the booking it was taken for. The caller must hold the
+	// visit date's admission lock and record the schedule change itself.
+	public void consume(String token, int accountId, int tourPackageId, LocalDate visitDate, LocalTime visitTime) {
+		SlotHold hold = slotHoldRepository.findByToken(token)
+				.orElseThrow(() -> new IllegalArgumentException("Slot hold not found or already used."));
+
+		if (hold.getAccountId() != accountId) {
+			throw new AccessDeniedException("Slot hold belongs to another account.");
+		}
+
+		if (!hold.getExpiresAt().isAfter(LocalDateTime.now())) {
+			throw new IllegalArgumentException("Slot hold has expired.");
+		}
+
+		if (hold.getTourPackageId() != tourPackageId
+				|| !hold.getVisitDate().equals(visitDate)
+				|| !hold.getVisitTime().equals(visitTime)) {
+			throw new IllegalArgumentException("Booking does not match the held slot.");
+		}
+
+		slotHoldRepository.delete(hold);
+		bookingScheduleIndex.release(visitDate, token);
+	}
+
+	// Expired holds already count as free; this only keeps the table small.
+	@Scheduled(fixedDelayString = "${app.booking.hold-cleanup-ms:600000}")
+	public void purgeExpired() {
+		slotHoldRepository.deleteExpired(LocalDateTime.now());
+	}
+
+	private static SlotHoldResponse toResponse(SlotHold hold) {
+		return SlotHoldResponse.builder()
+				.token(hold.getToken())
+				.tourPackageId(hold.getTourPackageId())
+				.visitDate(hold.getVisitDate())
+				.startTime(hold.getVisitTime())
+				.endTime(hold.getVisitTime().plusMinutes(hold.getDurationMinutes()))
+				.expiresAt(hold.getExpiresAt())
+				.build();
+	}
+}
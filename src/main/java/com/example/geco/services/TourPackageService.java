@@ -26,6 +26,9 @@ public class TourPackageService extends BaseService{
 	@Autowired
 	PackageInclusionRepository inclusionRepository;
 	
+	@Autowired
+	BookingScheduleIndex bookingScheduleIndex;
+	
 	
 	public TourPackage createTourPackageCopy(TourPackage tourPackage) {
 		return TourPackage.builder()
@@ -222,7 +225,14 @@ public class TourPackageService extends BaseService{
 
         logIfStaffOrAdmin("TourPackage", (long) id, LogAction.UPDATE, prevTourPackage, existingTourPackage);
 
-        return tourPackageRepository.save(existingTourPackage);
+        TourPackage savedTourPackage = tourPackageRepository.save(existingTourPackage);
+
+        // Booked intervals are derived from the package duration.
+        if (duration != null && !duration.equals(prevTourPackage.getDuration())) {
+            bookingScheduleIndex.evictAll();
+        }
+
+        return savedTourPackage;
     }
 	
 	public void softDeletePackage(int id) {
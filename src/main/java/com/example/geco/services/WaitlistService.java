@@ -0,0 +1,245 @@
+package com.example.geco.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.geco.domains.CalendarDate;
+import com.example.geco.domains.CalendarDate.DateStatus;
+import com.example.geco.domains.TourPackage;
+import com.example.geco.domains.WaitlistEntry;
+import com.example.geco.domains.WaitlistEntry.WaitlistStatus;
+import com.example.geco.dto.WaitlistRequest;
+import com.example.geco.repositories.CalendarDateRepository;
+import com.example.geco.repositories.TourPackageRepository;
+import com.example.geco.repositories.WaitlistEntryRepository;
+import com.example.geco.utils.DateTimeUtils;
+import com.example.geco.utils.TransactionUtils;
+
+import jakarta.persistence.EntityNotFoundException;
+
+// Waitlist for fully booked dates. CalendarDateService reports each committed drop in a
+// date's accepted bookings, and the freed spots are offered to the oldest waiting
+// entries through the notification outbox. Offers are advisory: like the booking limit
+// itself, they do not stop other bookings or approvals on the date, and only keep later
+// passes from offering the same spot twice. A booking on that date and package within
+// the claim window claims the offer; otherwise it lapses and moves on to the next entry.
+@Service
+@Transactional
+public class WaitlistService extends BaseService {
+	private static final Logger log = LoggerFactory.getLogger(WaitlistService.class);
+
+	private static final List<WaitlistStatus> OPEN_STATUSES = List.of(WaitlistStatus.WAITING, WaitlistStatus.OFFERED);
+
+	// Upper bound on offers made in one pass when the date has no booking limit.
+	private static final int MAX_OFFERS_PER_PASS = 50;
+
+	@Value("${app.booking.waitlist.claim-minutes:120}")
+	private int claimMinutes;
+
+	@Value("${app.booking.waitlist.expiry-batch-size:100}")
+	private int expiryBatchSize;
+
+	@Autowired
+	private WaitlistEntryRepository waitlistEntryRepository;
+
+	@Autowired
+	private TourPackageRepository tourPackageRepository;
+
+	@Autowired
+	private CalendarDateRepository calendarDateRepository;
+
+	@Autowired
+	private CalendarDateService calendarDateService;
+
+	@Autowired
+	private BookingAdmissionService bookingAdmissionService;
+
+	@Autowired
+	private NotificationService notificationService;
+
+	private final TransactionTemplate newTransaction;
+
+	public WaitlistService(PlatformTransactionManager transactionManager) {
+		this.newTransaction = new TransactionTemplate(transactionManager);
+		this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	public WaitlistEntry join(WaitlistRequest request) {
+		int accountId = getLoggedAccountId();
+
+		TourPackage tourPackage = tourPackageRepository.findById(request.getTourPackageId())
+				.orElseThrow(() -> new EntityNotFoundException(
+						"Tour package with ID '" + request.getTourPackageId() + "' not found."));
+
+		int groupSize = request.getGroupSize();
+		if (groupSize < tourPackage.getMinPerson() || groupSize > tourPackage.getMaxPerson()) {
+			throw new IllegalArgumentException("Group size for this tour package cannot go below "
+				+ tourPackage.getMinPerson()
+				+ " or beyond "
+				+ tourPackage.getMaxPerson()
+				+ "pax");
+		}
+
+		LocalDate visitDate = request.getVisitDate();
+		BookingService.validateVisitDate(visitDate);
+
+		DateStatus dateStatus = calendarDateRepository.findByDate(visitDate)
+				.map(CalendarDate::getDateStatus)
+				.orElse(DateStatus.AVAILABLE);
+		if (dateStatus != DateStatus.FULLY_BOOKED) {
+			throw new IllegalArgumentException("Only fully booked dates have a waitlist; this date can be booked directly.");
+		}
+
+		if (waitlistEntryRepository.existsByAccountIdAndTourPackageIdAndVisitDateAndStatusIn(
+				accountId, tourPackage.getPackageId(), visitDate, OPEN_STATUSES)) {
+			throw new IllegalArgumentException("You are already on the waitlist for this date and tour package.");
+		}
+
+		return waitlistEntryRepository.save(WaitlistEntry.builder()
+				.accountId(accountId)
+				.tourPackageId(tourPackage.getPackageId())
+				.visitDate(visitDate)
+				.groupSize(groupSize)
+				.status(WaitlistStatus.WAITING)
+				.build());
+	}
+
+	// Leaving with an open offer passes the spot on to the next entry.
+	public void leave(long id) {
+		WaitlistEntry entry = waitlistEntryRepository.findById(id)
+				.orElseThrow(() -> new EntityNotFoundException("Waitlist entry with ID '" + id + "' not found."));
+
+		checkAuth(entry.getAccountId());
+
+		if (!OPEN_STATUSES.contains(entry.getStatus())) {
+			throw new IllegalArgumentException("Waitlist entry is no longer active.");
+		}
+
+		boolean hadOffer = entry.getStatus() == WaitlistStatus.OFFERED;
+		entry.setStatus(WaitlistStatus.LEFT);
+		waitlistEntryRepository.save(entry);
+
+		if (hadOffer) {
+			capacityFreed(entry.getVisitDate());
+		}
+	}
+
+	@Transactional(readOnly = true)
+	public List<WaitlistEntry> getMyEntries() {
+		return waitlistEntryRepository.findByAccountIdOrderByVisitDateAscIdAsc(getLoggedAccountId());
+	}
+
+	// Marks the account's open entry for the date and package as claimed by the booking
+	// being made in the current transaction. A lapsed offer is left for expireOffers.
+	public void claim(int accountId, int tourPackageId, LocalDate visitDate) {
+		LocalDateTime now = LocalDateTime.now();
+
+		for (WaitlistEntry entry : waitlistEntryRepository.findByAccountIdAndTourPackageIdAndVisitDateAndStatusIn(
+				accountId, tourPackageId, visitDate, OPEN_STATUSES)) {
+			if (entry.getStatus() == WaitlistStatus.OFFERED && !entry.getOfferExpiresAt().isAfter(now)) {
+				continue;
+			}
+
+			entry.setStatus(WaitlistStatus.CLAIMED);
+			waitlistEntryRepository.save(entry);
+		}
+	}
+
+	// Offers the date's free spots once the current transaction commits.
+	public void capacityFreed(LocalDate date) {
+		TransactionUtils.afterCommit(() -> offerInNewTransaction(date));
+	}
+
+	// Offers go out under the date's admission lock, so two releases of the same date
+	// cannot both count the same free spot. Open offers count against the free spots of
+	// later passes but not against bookings. Returns the number of offers made.
+	int offerFreedCapacity(LocalDate date) {
+		if (date.isBefore(LocalDate.now())) return 0;
+
+		CalendarDate calendarDate = bookingAdmissionService.admit(date).get(0);
+		if (calendarDate.getDateStatus() == DateStatus.CLOSED) return 0;
+
+		Integer limit = calendarDate.getBookingLimit() != null
+				? calendarDate.getBookingLimit()
+				: calendarDateService.getGlobalBookingLimitOrNull();
+
+		long openOffers = waitlistEntryRepository.countByVisitDateAndStatus(date, WaitlistStatus.OFFERED);
+		long free = limit == null
+				? MAX_OFFERS_PER_PASS
+				: Math.min(limit - calendarDate.getAcceptedBookings() - openOffers, MAX_OFFERS_PER_PASS);
+		if (free <= 0) return 0;
+
+		List<WaitlistEntry> next = waitlistEntryRepository.findNextWaiting(date, PageRequest.of(0, (int) free));
+
+		LocalDateTime now = LocalDateTime.now();
+		LocalDateTime expiresAt = now.plusMinutes(claimMinutes);
+
+		for (WaitlistEntry entry : next) {
+			entry.setStatus(WaitlistStatus.OFFERED);
+			entry.setOfferedAt(now);
+			entry.setOfferExpiresAt(expiresAt);
+
+			String packageName = tourPackageRepository.findById(entry.getTourPackageId())
+					.map(TourPackage::getName)
+					.orElse("your tour");
+
+			notificationService.queueNotification(entry.getAccountId(),
+					"A spot opened up for " + packageName + " on " + DateTimeUtils.formatDate(date)
+					+ ". Book it by " + DateTimeUtils.formatDate(expiresAt.toLocalDate())
+					+ " " + DateTimeUtils.formatTime(expiresAt.toLocalTime()) + " to claim it.");
+		}
+		waitlistEntryRepository.saveAll(next);
+
+		return next.size();
+	}
+
+	// Lapses offers past their claim window and passes their spots on, one date at a time.
+	@Scheduled(fixedDelayString = "${app.booking.waitlist.expiry-ms:60000}")
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void expireOffers() {
+		newTransaction.executeWithoutResult(status -> waitlistEntryRepository.expirePastDates(LocalDate.now()));
+
+		Set<LocalDate> lapsedDates = new LinkedHashSet<>();
+		int expired;
+		do {
+			expired = newTransaction.execute(status -> {
+				List<WaitlistEntry> lapsed = waitlistEntryRepository.findLapsedOffers(
+						LocalDateTime.now(), PageRequest.of(0, expiryBatchSize));
+
+				for (WaitlistEntry entry : lapsed) {
+					entry.setStatus(WaitlistStatus.EXPIRED);
+					lapsedDates.add(entry.getVisitDate());
+				}
+				waitlistEntryRepository.saveAll(lapsed);
+
+				return lapsed.size();
+			});
+		} while (expired == expiryBatchSize);
+
+		lapsedDates.forEach(this::offerInNewTransaction);
+	}
+
+	private void offerInNewTransaction(LocalDate date) {
+		try {
+			newTransaction.executeWithoutResult(status -> offerFreedCapacity(date));
+		} catch (RuntimeException e) {
+			log.warn("Failed to offer freed capacity on {} to the waitlist", date, e);
+		}
+	}
+}
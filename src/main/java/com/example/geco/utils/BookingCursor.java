@@ -0,0 +1,43 @@
+package com.example.geco.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.example.geco.dto.BookingListItem;
+
+// Position of the last booking on a page in (visitDate DESC, visitTime ASC, bookingId ASC) order,
+// handed to clients as an opaque URL-safe token.
+public record BookingCursor(LocalDate visitDate, LocalTime visitTime, int bookingId) {
+	public static BookingCursor of(BookingListItem booking) {
+		return new BookingCursor(booking.getVisitDate(), booking.getVisitTime(), booking.getBookingId());
+	}
+
+	public String encode() {
+		String raw = visitDate + "|" + (visitTime != null ? visitTime : "") + "|" + bookingId;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	// Returns null for a missing or blank cursor, which means the first page.
+	public static BookingCursor decode(String cursor) {
+		if (cursor == null || cursor.isBlank()) return null;
+
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+			String[] parts = raw.split("\\|", -1);
+
+			if (parts.length != 3) {
+				throw new IllegalArgumentException("Invalid cursor.");
+			}
+
+			return new BookingCursor(
+					LocalDate.parse(parts[0]),
+					parts[1].isEmpty() ? null : LocalTime.parse(parts[1]),
+					Integer.parseInt(parts[2]));
+		} catch (DateTimeParseException | IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid cursor.", e);
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package com.example.geco.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+// Minimal RFC 6902 JSON Patch: diff() emits add/remove/replace operations and
+// apply() replays them. Objects are compared field by field and equal-length arrays
+// element by element; an array that changed length is replaced as a whole.
+public class JsonPatch {
+	private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+	public static ArrayNode diff(JsonNode source, JsonNode target) {
+		ArrayNode patch = NODES.arrayNode();
+		diff("", source, target, patch);
+		return patch;
+	}
+
+	private static void diff(String path, JsonNode source, JsonNode target, ArrayNode patch) {
+		if (source.equals(target)) return;
+
+		if (source.isObject() && target.isObject()) {
+			for (Map.Entry<String, JsonNode> field : source.properties()) {
+				String fieldPath = path + "/" + escape(field.getKey());
+				JsonNode targetValue = target.get(field.getKey());
+
+				if (targetValue == null) {
+					patch.add(op("remove", fieldPath, null));
+				} else {
+					diff(fieldPath, field.getValue(), targetValue, patch);
+				}
+			}
+
+			for (Map.Entry<String, JsonNode> field : target.properties()) {
+				if (!source.has(field.getKey())) {
+					patch.add(op("add", path + "/" + escape(field.getKey()), field.getValue()));
+				}
+			}
+			return;
+		}
+
+		if (source.isArray() && target.isArray() && source.size() == target.size()) {
+			for (int i = 0; i < source.size(); i++) {
+				diff(path + "/" + i, source.get(i), target.get(i), patch);
+			}
+			return;
+		}
+
+		patch.add(op("replace", path, target));
+	}
+
+	// Returns the patched copy; the document passed in is left untouched. Operations whose
+	// parent no longer exists are skipped, so a patch still applies to a state that drifted.
+	public static JsonNode apply(JsonNode patch, JsonNode document) {
+		JsonNode result = document == null ? NODES.nullNode() : document.deepCopy();
+
+		for (JsonNode operation : patch) {
+			String op = operation.path("op").asText();
+			List<String> tokens = parsePointer(operation.path("path").asText());
+			JsonNode value = operation.get("value");
+
+			if (tokens.isEmpty()) {
+				result = "remove".equals(op) ? NODES.nullNode() : value.deepCopy();
+				continue;
+			}
+
+			JsonNode parent = result;
+			for (String token : tokens.subList(0, tokens.size() - 1)) {
+				parent = parent.isArray() ? parent.get(parseIndex(token)) : parent.get(token);
+				if (parent == null) break;
+			}
+
+			String last = tokens.get(tokens.size() - 1);
+			if (parent instanceof ObjectNode object) {
+				switch (op) {
+					case "add", "replace" -> object.set(last, value.deepCopy());
+					case "remove" -> object.remove(last);
+					default -> throw new IllegalArgumentException("Unsupported patch operation \"" + op + "\".");
+				}
+			} else if (parent instanceof ArrayNode array) {
+				int index = "-".equals(last) ? array.size() : parseIndex(last);
+				switch (op) {
+					case "add" -> array.insert(Math.min(index, array.size()), value.deepCopy());
+					case "replace" -> { if (index < array.size()) array.set(index, value.deepCopy()); }
+					case "remove" -> { if (index < array.size()) array.remove(index); }
+					default -> throw new IllegalArgumentException("Unsupported patch operation \"" + op + "\".");
+				}
+			}
+		}
+
+		return result;
+	}
+
+	private static ObjectNode op(String op, String path, JsonNode value) {
+		ObjectNode node = NODES.objectNode();
+		node.put("op", op);
+		node.put("path", path);
+		if (value != null) node.set("value", value);
+		return node;
+	}
+
+	private static String escape(String token) {
+		return token.replace("~", "~0").replace("/", "~1");
+	}
+
+	private static List<String> parsePointer(String pointer) {
+		List<String> tokens = new ArrayList<>();
+		if (pointer.isEmpty()) return tokens;
+
+		for (String token : pointer.substring(1).split("/", -1)) {
+			tokens.add(token.replace("~1", "/").replace("~0", "~"));
+		}
+		return tokens;
+	}
+
+	private static int parseIndex(String token) {
+		try {
+			return Integer.parseInt(token);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid array index \"" + token + "\" in patch path.", e);
+		}
+	}
+}
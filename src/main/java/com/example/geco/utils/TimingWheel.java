@@ -0,0 +1,77 @@
+package com.example.geco.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Hashed timing wheel: deadlines are rounded up to a tick and filed in the bucket of
+// that tick modulo the wheel size, so scheduling and cancelling are O(1) and advancing
+// only visits the buckets of the ticks that passed. Deadlines further out than one
+// turn share buckets with nearer ones and are skipped until their tick comes round.
+public class TimingWheel<K> {
+	private final long tickMillis;
+	private final List<Set<K>> buckets;
+	private final Map<K, Long> deadlines = new HashMap<>();
+	private long currentTick;
+
+	public TimingWheel(long tickMillis, int size, long nowMillis) {
+		if (tickMillis <= 0 || size <= 0) {
+			throw new IllegalArgumentException("Timing wheel tick and size must be positive.");
+		}
+
+		this.tickMillis = tickMillis;
+		this.buckets = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			buckets.add(new HashSet<>());
+		}
+		this.currentTick = nowMillis / tickMillis;
+	}
+
+	// Schedules the key, replacing any deadline it already had. A deadline already
+	// passed expires on the next advance.
+	public synchronized void schedule(K key, long deadlineMillis) {
+		cancel(key);
+
+		long tick = Math.max((deadlineMillis + tickMillis - 1) / tickMillis, currentTick + 1);
+		deadlines.put(key, tick);
+		bucket(tick).add(key);
+	}
+
+	public synchronized void cancel(K key) {
+		Long tick = deadlines.remove(key);
+		if (tick != null) bucket(tick).remove(key);
+	}
+
+	// Moves the wheel to nowMillis and returns the keys whose deadline passed.
+	public synchronized List<K> advance(long nowMillis) {
+		long targetTick = nowMillis / tickMillis;
+		List<K> expired = new ArrayList<>();
+		if (targetTick <= currentTick) return expired;
+
+		// After a full turn every bucket has been visited, however long the wheel was idle.
+		long steps = Math.min(targetTick - currentTick, buckets.size());
+		for (long step = 1; step <= steps; step++) {
+			bucket(currentTick + step).removeIf(key -> {
+				if (deadlines.get(key) > targetTick) return false;
+
+				deadlines.remove(key);
+				expired.add(key);
+				return true;
+			});
+		}
+
+		currentTick = targetTick;
+		return expired;
+	}
+
+	public synchronized int size() {
+		return deadlines.size();
+	}
+
+	private Set<K> bucket(long tick) {
+		return buckets.get((int) Math.floorMod(tick, (long) buckets.size()));
+	}
+}
@@ -1,8 +1,29 @@
 package com.example.geco.controllers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
@@ -10,14 +31,64 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import com.example.geco.AbstractControllerTest;
 import com.example.geco.DataUtil;
 import com.example.geco.domains.Account;
+import com.example.geco.domains.Account.Role;
 import com.example.geco.domains.Booking;
 import com.example.geco.domains.Booking.BookingStatus;
 import com.example.geco.domains.Booking.PaymentStatus;
+import com.example.geco.domains.CalendarDate;
+import com.example.geco.domains.CalendarDate.DateStatus;
+import com.example.geco.domains.Discount;
+import com.example.geco.domains.TourPackage;
+import com.example.geco.domains.UserDetail;
+import com.example.geco.domains.WaitlistEntry;
+import com.example.geco.domains.WaitlistEntry.WaitlistStatus;
+import com.example.geco.dto.BookingQuoteRequest;
 import com.example.geco.dto.BookingRequest;
 import com.example.geco.dto.BookingUpdateRequest;
+import com.example.geco.dto.BulkBookingStatusRequest;
+import com.example.geco.dto.SlotHoldRequest;
+import com.example.geco.dto.WaitlistRequest;
+import com.example.geco.exceptions.ConflictException;
+import com.example.geco.exceptions.ServiceUnavailableException;
+import com.example.geco.repositories.CalendarDateRepository;
+import com.example.geco.repositories.DiscountRepository;
+import com.example.geco.repositories.NotificationOutboxRepository;
+import com.example.geco.repositories.NotificationRepository;
+import com.example.geco.repositories.SlotHoldRepository;
+import com.example.geco.repositories.WaitlistEntryRepository;
+import com.example.geco.services.BookingLifecycleSweeper;
+import com.example.geco.services.NotificationDispatcher;
+import com.example.geco.services.OptimisticRetry;
 
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 public class BookingControllerTests extends AbstractControllerTest{
+	@Autowired
+	private NotificationDispatcher notificationDispatcher;
+	
+	@Autowired
+	private NotificationRepository notificationRepository;
+	
+	@Autowired
+	private NotificationOutboxRepository notificationOutboxRepository;
+	
+	@Autowired
+	private DiscountRepository discountRepository;
+	
+	@Autowired
+	private BookingLifecycleSweeper bookingLifecycleSweeper;
+	
+	@Autowired
+	private OptimisticRetry optimisticRetry;
+	
+	@Autowired
+	private SlotHoldRepository slotHoldRepository;
+	
+	@Autowired
+	private WaitlistEntryRepository waitlistEntryRepository;
+	
+	@Autowired
+	private CalendarDateRepository calendarDateRepository;
+	
 	@Nested
     class SuccessTests {
 		@Test
@@ -128,6 +199,7 @@ public class BookingControllerTests extends AbstractControllerTest{
 		            MockMvcRequestBuilders.get("/booking")
 		                    .param("page", "0")
 		                    .param("size", "1")
+		                    .param("expand", "inclusions")
 		                    .contentType(MediaType.APPLICATION_JSON)
 		    ).andExpect(
 		            MockMvcResultMatchers.status().isOk()
@@ -181,6 +253,7 @@ public class BookingControllerTests extends AbstractControllerTest{
 		            MockMvcRequestBuilders.get("/booking")
 		                    .param("page", "1")
 		                    .param("size", "1")
+		                    .param("expand", "inclusions")
 		                    .contentType(MediaType.APPLICATION_JSON)
 		    ).andExpect(
 		            MockMvcResultMatchers.status().isOk()
@@ -691,4 +764,747 @@ public class BookingControllerTests extends AbstractControllerTest{
             ).andExpect(MockMvcResultMatchers.status().isForbidden());
         }
 	}
+	
+	@Nested
+	class CursorPaginationTests {
+		@Test
+		public void canPageBookingsWithCursor() throws Exception {
+			Account savedAccount = DataUtil.createAdminAccountA(accountRepository);
+			mockAdminAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+			
+			TourPackage tourPackage = tourPackageRepository.save(TourPackage.builder().build());
+			LocalDate visitDate = LocalDate.of(2026, 3, 10);
+			
+			// Two bookings share a date and time, so the bookingId tie-breaker is exercised.
+			Booking first = bookingRepository.save(Booking.builder()
+					.account(savedAccount).tourPackage(tourPackage)
+					.visitDate(visitDate.plusDays(1)).visitTime(LocalTime.of(9, 0)).groupSize(1).build());
+			Booking second = bookingRepository.save(Booking.builder()
+					.account(savedAccount).tourPackage(tourPackage)
+					.visitDate(visitDate).visitTime(LocalTime.of(9, 0)).groupSize(1).build());
+			Booking third = bookingRepository.save(Booking.builder()
+					.account(savedAccount).tourPackage(tourPackage)
+					.visitDate(visitDate).visitTime(LocalTime.of(9, 0)).groupSize(1).build());
+			
+			String response = mockMvc.perform(
+					MockMvcRequestBuilders.get("/booking")
+						.param("cursor", "")
+						.param("size", "2")
+			).andExpect(
+					MockMvcResultMatchers.status().isOk()
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.content.length()").value(2)
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.content[0].bookingId").value(first.getBookingId())
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.content[1].bookingId").value(second.getBookingId())
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.hasNext").value(true)
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.totalElements").value(3)
+			).andReturn().getResponse().getContentAsString();
+			
+			String nextCursor = objectMapper.readTree(response).get("nextCursor").asText();
+			
+			mockMvc.perform(
+					MockMvcRequestBuilders.get("/booking")
+						.param("cursor", nextCursor)
+						.param("size", "2")
+						.param("includeTotal", "false")
+			).andExpect(
+					MockMvcResultMatchers.status().isOk()
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.content.length()").value(1)
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.content[0].bookingId").value(third.getBookingId())
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.hasNext").value(false)
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.totalElements").doesNotExist()
+			);
+		}
+	}
+	
+	@Nested
+	class ListProjectionTests {
+		@Test
+		public void listOmitsInclusionsUnlessExpanded() throws Exception {
+			Account savedAccount = DataUtil.createAdminAccountA(accountRepository);
+			mockAdminAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+			
+			Booking savedBooking = bookingService.addBooking(DataUtil.createBookingRequestA(
+					savedAccount.getAccountId(),
+					accountRepository,
+					packageInclusionRepository,
+					tourPackageRepository));
+			
+			mockMvc.perform(
+					MockMvcRequestBuilders.get("/booking")
+			).andExpect(
+					MockMvcResultMatchers.status().isOk()
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.content[0].bookingId").value(savedBooking.getBookingId())
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.content[0].account.email").value(savedAccount.getDetail().getEmail())
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.content[0].account.password").doesNotExist()
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.content[0].tourPackage.name").value(savedBooking.getTourPackage().getName())
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.content[0].tourPackage.allowedStartTimes").doesNotExist()
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.content[0].bookingInclusions").doesNotExist()
+			);
+			
+			mockMvc.perform(
+					MockMvcRequestBuilders.get("/booking")
+						.param("cursor", "")
+						.param("expand", "inclusions")
+			).andExpect(
+					MockMvcResultMatchers.status().isOk()
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.content[0].bookingInclusions.length()")
+						.value(savedBooking.getBookingInclusions().size())
+			);
+		}
+		
+		@Test
+		public void canSearchBookingsByClientName() throws Exception {
+			Account admin = DataUtil.createAdminAccountA(accountRepository);
+			mockAdminAuthentication(admin.getAccountId(), admin.getDetail().getEmail());
+			
+			Account maria = accountRepository.save(Account.builder()
+					.role(Role.USER)
+					.detail(UserDetail.builder().email("maria@example.com").firstName("Maria").surname("Santos").build())
+					.build());
+			Account jose = accountRepository.save(Account.builder()
+					.role(Role.USER)
+					.detail(UserDetail.builder().email("jose@example.com").firstName("Jose").surname("Rizal").build())
+					.build());
+			
+			TourPackage tourPackage = tourPackageRepository.save(TourPackage.builder().build());
+			Booking mariaBooking = bookingRepository.save(Booking.builder()
+					.account(maria).tourPackage(tourPackage)
+					.visitDate(LocalDate.of(2026, 3, 10)).visitTime(LocalTime.of(9, 0)).groupSize(1).build());
+			bookingRepository.save(Booking.builder()
+					.account(jose).tourPackage(tourPackage)
+					.visitDate(LocalDate.of(2026, 3, 10)).visitTime(LocalTime.of(10, 0)).groupSize(1).build());
+			
+			mockMvc.perform(
+					MockMvcRequestBuilders.get("/booking")
+						.param("client", "maria santos")
+			).andExpect(
+					MockMvcResultMatchers.status().isOk()
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.totalElements").value(1)
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.content[0].bookingId").value(mariaBooking.getBookingId())
+			);
+			
+			mockMvc.perform(
+					MockMvcRequestBuilders.get("/booking")
+						.param("client", "nobody")
+			).andExpect(
+					MockMvcResultMatchers.status().isOk()
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.totalElements").value(0)
+			);
+		}
+		
+		@Test
+		public void cannotExpandUnknownField() throws Exception {
+			Account savedAccount = DataUtil.createAdminAccountA(accountRepository);
+			mockAdminAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+			
+			mockMvc.perform(
+					MockMvcRequestBuilders.get("/booking")
+						.param("expand", "password")
+			).andExpect(
+					MockMvcResultMatchers.status().isBadRequest()
+			);
+		}
+	}
+	
+	@Nested
+	class QuoteTests {
+		@Test
+		public void canQuoteSeveralConfigurations() throws Exception {
+			TourPackage tourPackage = tourPackageRepository.save(TourPackage.builder()
+					.name("Quoted package")
+					.duration(60)
+					.minPerson(1)
+					.maxPerson(10)
+					.basePrice(500.0)
+					.pricePerPerson(100.0)
+					.build());
+			
+			Discount discount = new Discount();
+			discount.setGroupSize(5);
+			discount.setPercentOff(10.0);
+			discountRepository.save(discount);
+			
+			List<BookingQuoteRequest> requests = List.of(
+					BookingQuoteRequest.builder().tourPackageId(tourPackage.getPackageId()).groupSize(4).build(),
+					BookingQuoteRequest.builder().tourPackageId(tourPackage.getPackageId()).groupSize(6).build(),
+					BookingQuoteRequest.builder().tourPackageId(tourPackage.getPackageId()).groupSize(20).build());
+			
+			mockMvc.perform(
+			        MockMvcRequestBuilders.post("/booking/quote")
+			            .contentType(MediaType.APPLICATION_JSON)
+			            .content(objectMapper.writeValueAsString(requests))
+			).andExpect(
+					MockMvcResultMatchers.status().isOk()
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$[0].totalPrice").value(900.0)
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$[0].discountAmount").value(0.0)
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$[1].discountPercent").value(10.0)
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$[1].totalPrice").value(990.0)
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$[2].totalPrice").doesNotExist()
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$[2].error").value("Group size for this tour package cannot go below 1 or beyond 10pax")
+			);
+		}
+		
+		@Test
+		public void quoteReflectsCatalogEdits() throws Exception {
+			TourPackage tourPackage = tourPackageRepository.save(TourPackage.builder()
+					.name("Repriced package")
+					.duration(60)
+					.minPerson(1)
+					.maxPerson(10)
+					.basePrice(500.0)
+					.pricePerPerson(100.0)
+					.build());
+			
+			List<BookingQuoteRequest> requests = List.of(
+					BookingQuoteRequest.builder().tourPackageId(tourPackage.getPackageId()).groupSize(2).build());
+			
+			mockMvc.perform(
+			        MockMvcRequestBuilders.post("/booking/quote")
+			            .contentType(MediaType.APPLICATION_JSON)
+			            .content(objectMapper.writeValueAsString(requests))
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$[0].totalPrice").value(700.0)
+			);
+			
+			tourPackage.setPricePerPerson(150.0);
+			tourPackageRepository.save(tourPackage);
+			
+			mockMvc.perform(
+			        MockMvcRequestBuilders.post("/booking/quote")
+			            .contentType(MediaType.APPLICATION_JSON)
+			            .content(objectMapper.writeValueAsString(requests))
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$[0].totalPrice").value(800.0)
+			);
+		}
+	}
+	
+	@Nested
+	class IdempotencyTests {
+		@Test
+		public void retryWithSameKeyReplaysOriginalBooking() throws Exception {
+			Account savedAccount = DataUtil.createUserAccountA(accountRepository);
+			mockUserAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+			
+			BookingRequest request = DataUtil.createBookingRequestA(
+					savedAccount.getAccountId(),
+					accountRepository,
+					packageInclusionRepository,
+					tourPackageRepository);
+			
+			String requestJson = objectMapper.writeValueAsString(request);
+			
+			String first = mockMvc.perform(
+			        MockMvcRequestBuilders.post("/booking")
+			            .header("Idempotency-Key", "retry-test-1")
+			            .contentType(MediaType.APPLICATION_JSON)
+			            .content(requestJson)
+			).andExpect(
+					MockMvcResultMatchers.status().isCreated()
+			).andReturn().getResponse().getContentAsString();
+			
+			Integer bookingId = objectMapper.readTree(first).get("bookingId").asInt();
+			
+			mockMvc.perform(
+			        MockMvcRequestBuilders.post("/booking")
+			            .header("Idempotency-Key", "retry-test-1")
+			            .contentType(MediaType.APPLICATION_JSON)
+			            .content(requestJson)
+			).andExpect(
+					MockMvcResultMatchers.status().isCreated()
+			).andExpect(
+					MockMvcResultMatchers.header().string("Idempotent-Replayed", "true")
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.bookingId").value(bookingId)
+			);
+			
+			assertEquals(1, bookingRepository.count());
+		}
+		
+		@Test
+		public void cannotReuseKeyForDifferentRequest() throws Exception {
+			Account savedAccount = DataUtil.createUserAccountA(accountRepository);
+			mockUserAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+			
+			BookingRequest request = DataUtil.createBookingRequestA(
+					savedAccount.getAccountId(),
+					accountRepository,
+					packageInclusionRepository,
+					tourPackageRepository);
+			
+			mockMvc.perform(
+			        MockMvcRequestBuilders.post("/booking")
+			            .header("Idempotency-Key", "retry-test-2")
+			            .contentType(MediaType.APPLICATION_JSON)
+			            .content(objectMapper.writeValueAsString(request))
+			).andExpect(
+					MockMvcResultMatchers.status().isCreated()
+			);
+			
+			request.setGroupSize(request.getGroupSize() + 1);
+			
+			mockMvc.perform(
+			        MockMvcRequestBuilders.post("/booking")
+			            .header("Idempotency-Key", "retry-test-2")
+			            .contentType(MediaType.APPLICATION_JSON)
+			            .content(objectMapper.writeValueAsString(request))
+			).andExpect(
+					MockMvcResultMatchers.status().isBadRequest()
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.error").value("Idempotency-Key was already used for a different request.")
+			);
+			
+			assertEquals(1, bookingRepository.count());
+		}
+	}
+	
+	@Nested
+	class BulkStatusTests {
+		@Test
+		public void canBulkApproveBookings() throws Exception {
+			Account savedAccount = DataUtil.createAdminAccountA(accountRepository);
+			mockAdminAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+			
+			Booking savedBooking = bookingService.addBooking(DataUtil.createBookingRequestA(
+					savedAccount.getAccountId(),
+					accountRepository,
+					packageInclusionRepository,
+					tourPackageRepository));
+			
+			BulkBookingStatusRequest request = BulkBookingStatusRequest.builder()
+					.bookingIds(List.of(savedBooking.getBookingId(), 9999))
+					.bookingStatus(BookingStatus.APPROVED)
+					.paymentStatus(PaymentStatus.VERIFIED)
+					.build();
+			
+			mockMvc.perform(
+					MockMvcRequestBuilders.patch("/booking/staff/bulk")
+							.contentType(MediaType.APPLICATION_JSON)
+							.content(objectMapper.writeValueAsString(request))
+			).andExpect(MockMvcResultMatchers.status().isOk())
+			 .andExpect(MockMvcResultMatchers.jsonPath("$.updatedIds[0]").value(savedBooking.getBookingId()))
+			 .andExpect(MockMvcResultMatchers.jsonPath("$.rejected.9999").value("Booking not found."));
+			
+			Booking updated = bookingRepository.findById(savedBooking.getBookingId()).orElseThrow();
+			assertEquals(BookingStatus.APPROVED, updated.getBookingStatus());
+			assertEquals(PaymentStatus.VERIFIED, updated.getPaymentStatus());
+		}
+		
+		@Test
+		public void cannotBulkMoveBookingBackwards() throws Exception {
+			Account savedAccount = DataUtil.createAdminAccountA(accountRepository);
+			mockAdminAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+			
+			Booking savedBooking = bookingService.addBooking(DataUtil.createBookingRequestA(
+					savedAccount.getAccountId(),
+					accountRepository,
+					packageInclusionRepository,
+					tourPackageRepository));
+			
+			bookingService.updateBookingStatuses(BulkBookingStatusRequest.builder()
+					.bookingIds(List.of(savedBooking.getBookingId()))
+					.bookingStatus(BookingStatus.REJECTED)
+					.build());
+			
+			BulkBookingStatusRequest request = BulkBookingStatusRequest.builder()
+					.bookingIds(List.of(savedBooking.getBookingId()))
+					.bookingStatus(BookingStatus.APPROVED)
+					.build();
+			
+			mockMvc.perform(
+					MockMvcRequestBuilders.patch("/booking/staff/bulk")
+							.contentType(MediaType.APPLICATION_JSON)
+							.content(objectMapper.writeValueAsString(request))
+			).andExpect(MockMvcResultMatchers.status().isOk())
+			 .andExpect(MockMvcResultMatchers.jsonPath("$.updatedIds").isEmpty())
+			 .andExpect(MockMvcResultMatchers.jsonPath("$.rejected." + savedBooking.getBookingId()).exists());
+			
+			assertEquals(BookingStatus.REJECTED,
+					bookingRepository.findById(savedBooking.getBookingId()).orElseThrow().getBookingStatus());
+		}
+	}
+	
+	@Nested
+	class LifecycleSweepTests {
+		@Test
+		public void sweepCompletesPastApprovedBookings() throws Exception {
+			Account savedAccount = DataUtil.createAdminAccountA(accountRepository);
+			mockAdminAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+			
+			Booking savedBooking = bookingService.addBooking(DataUtil.createBookingRequestA(
+					savedAccount.getAccountId(),
+					accountRepository,
+					packageInclusionRepository,
+					tourPackageRepository));
+			
+			bookingService.updateBookingStatuses(BulkBookingStatusRequest.builder()
+					.bookingIds(List.of(savedBooking.getBookingId()))
+					.bookingStatus(BookingStatus.APPROVED)
+					.build());
+			
+			Booking pastBooking = bookingRepository.findById(savedBooking.getBookingId()).orElseThrow();
+			pastBooking.setVisitDate(LocalDate.now().minusDays(2));
+			bookingRepository.save(pastBooking);
+			
+			assertEquals(1, bookingLifecycleSweeper.sweep());
+			assertEquals(BookingStatus.COMPLETED,
+					bookingRepository.findById(savedBooking.getBookingId()).orElseThrow().getBookingStatus());
+			
+			// The lease was released, so the next run is not skipped; it simply finds nothing to do.
+			assertEquals(0, bookingLifecycleSweeper.sweep());
+		}
+	}
+	
+	@Nested
+	class SlotHoldTests {
+		@Test
+		public void heldSlotIsReservedForItsHolder() throws Exception {
+			Account holder = DataUtil.createUserAccountA(accountRepository);
+			Account other = DataUtil.createUserAccountB(accountRepository);
+			
+			BookingRequest request = DataUtil.createBookingRequestA(
+					holder.getAccountId(),
+					accountRepository,
+					packageInclusionRepository,
+					tourPackageRepository);
+			
+			mockUserAuthentication(holder.getAccountId(), holder.getDetail().getEmail());
+			
+			SlotHoldRequest holdRequest = SlotHoldRequest.builder()
+					.tourPackageId(request.getTourPackageId())
+					.visitDate(request.getVisitDate())
+					.visitTime(request.getVisitTime())
+					.build();
+			
+			String response = mockMvc.perform(
+					MockMvcRequestBuilders.post("/booking/hold")
+							.contentType(MediaType.APPLICATION_JSON)
+							.content(objectMapper.writeValueAsString(holdRequest))
+			).andExpect(MockMvcResultMatchers.status().isCreated())
+			 .andExpect(MockMvcResultMatchers.jsonPath("$.token").exists())
+			 .andReturn().getResponse().getContentAsString();
+			
+			String token = objectMapper.readTree(response).get("token").asText();
+			
+			mockUserAuthentication(other.getAccountId(), other.getDetail().getEmail());
+			BookingRequest competing = BookingRequest.builder()
+					.accountId(other.getAccountId())
+					.tourPackageId(request.getTourPackageId())
+					.visitDate(request.getVisitDate())
+					.visitTime(request.getVisitTime())
+					.groupSize(request.getGroupSize())
+					.build();
+			assertThrows(IllegalArgumentException.class, () -> bookingService.addBooking(competing));
+			
+			mockUserAuthentication(holder.getAccountId(), holder.getDetail().getEmail());
+			request.setHoldToken(token);
+			Booking booking = bookingService.addBooking(request);
+			
+			assertEquals(request.getVisitTime(), booking.getVisitTime());
+			assertEquals(0, slotHoldRepository.count());
+		}
+	}
+	
+	@Nested
+	class WaitlistTests {
+		@Test
+		public void cancelledBookingIsOfferedToTheWaitlist() throws Exception {
+			Account admin = DataUtil.createAdminAccountA(accountRepository);
+			Account waiting = DataUtil.createUserAccountB(accountRepository);
+			mockAdminAuthentication(admin.getAccountId(), admin.getDetail().getEmail());
+			
+			BookingRequest request = DataUtil.createBookingRequestA(
+					admin.getAccountId(),
+					accountRepository,
+					packageInclusionRepository,
+					tourPackageRepository);
+			Booking savedBooking = bookingService.addBooking(request);
+			
+			bookingService.updateBookingStatuses(BulkBookingStatusRequest.builder()
+					.bookingIds(List.of(savedBooking.getBookingId()))
+					.bookingStatus(BookingStatus.APPROVED)
+					.build());
+			
+			CalendarDate calendarDate = calendarDateRepository.findByDate(request.getVisitDate()).orElseThrow();
+			calendarDate.setBookingLimit(1);
+			calendarDate.setDateStatus(DateStatus.FULLY_BOOKED);
+			calendarDateRepository.save(calendarDate);
+			
+			mockUserAuthentication(waiting.getAccountId(), waiting.getDetail().getEmail());
+			WaitlistRequest waitlistRequest = WaitlistRequest.builder()
+					.tourPackageId(request.getTourPackageId())
+					.visitDate(request.getVisitDate())
+					.groupSize(request.getGroupSize())
+					.build();
+			
+			mockMvc.perform(
+					MockMvcRequestBuilders.post("/booking/waitlist")
+							.contentType(MediaType.APPLICATION_JSON)
+							.content(objectMapper.writeValueAsString(waitlistRequest))
+			).andExpect(MockMvcResultMatchers.status().isCreated())
+			 .andExpect(MockMvcResultMatchers.jsonPath("$.status").value("WAITING"));
+			
+			mockAdminAuthentication(admin.getAccountId(), admin.getDetail().getEmail());
+			bookingService.updateBookingStatuses(BulkBookingStatusRequest.builder()
+					.bookingIds(List.of(savedBooking.getBookingId()))
+					.bookingStatus(BookingStatus.CANCELLED)
+					.build());
+			
+			WaitlistEntry offered = waitlistEntryRepository.findAll().get(0);
+			assertEquals(WaitlistStatus.OFFERED, offered.getStatus());
+			assertTrue(offered.getOfferExpiresAt().isAfter(LocalDateTime.now()));
+			
+			notificationDispatcher.drain();
+			assertTrue(notificationRepository.findAll().stream().anyMatch(notification ->
+					notification.getAccount().getAccountId().equals(waiting.getAccountId())
+					&& notification.getBooking() == null));
+			
+			mockUserAuthentication(waiting.getAccountId(), waiting.getDetail().getEmail());
+			request.setAccountId(waiting.getAccountId());
+			bookingService.addBooking(request);
+			
+			assertEquals(WaitlistStatus.CLAIMED,
+					waitlistEntryRepository.findById(offered.getId()).orElseThrow().getStatus());
+		}
+		
+		@Test
+		public void cannotJoinWaitlistOfAvailableDate() throws Exception {
+			Account savedAccount = DataUtil.createUserAccountA(accountRepository);
+			mockUserAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+			
+			BookingRequest request = DataUtil.createBookingRequestA(
+					savedAccount.getAccountId(),
+					accountRepository,
+					packageInclusionRepository,
+					tourPackageRepository);
+			
+			WaitlistRequest waitlistRequest = WaitlistRequest.builder()
+					.tourPackageId(request.getTourPackageId())
+					.visitDate(request.getVisitDate())
+					.groupSize(request.getGroupSize())
+					.build();
+			
+			mockMvc.perform(
+					MockMvcRequestBuilders.post("/booking/waitlist")
+							.contentType(MediaType.APPLICATION_JSON)
+							.content(objectMapper.writeValueAsString(waitlistRequest))
+			).andExpect(MockMvcResultMatchers.status().isBadRequest());
+		}
+	}
+	
+	@Nested
+	class NotificationOutboxTests {
+		@Test
+		public void bookingNotificationIsDeliveredThroughOutbox() throws Exception {
+			Account savedAccount = DataUtil.createUserAccountA(accountRepository);
+			mockUserAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+			
+			Booking savedBooking = bookingService.addBooking(DataUtil.createBookingRequestA(
+					savedAccount.getAccountId(),
+					accountRepository,
+					packageInclusionRepository,
+					tourPackageRepository));
+			
+			// The commit already woke the dispatcher; drain here so the assertions do not race it.
+			notificationDispatcher.drain();
+			
+			assertEquals(0, notificationOutboxRepository.count());
+			assertEquals(1, notificationRepository.count());
+			assertEquals(savedBooking.getBookingId(),
+					notificationRepository.findAll().get(0).getBooking().getBookingId());
+		}
+	}
+	
+	@Nested
+	class SlotSearchTests {
+		@Test
+		public void canFindAvailableSlotsAroundExistingBookings() throws Exception {
+			Account savedAccount = DataUtil.createUserAccountA(accountRepository);
+			mockUserAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+			
+			TourPackage tourPackage = tourPackageRepository.save(
+					TourPackage.builder()
+						.name("Slot tour")
+						.description("Package used for slot search checks")
+						.duration(60)
+						.minPerson(1)
+						.maxPerson(10)
+						.basePrice(100.0)
+						.pricePerPerson(10.0)
+						.allowedStartTimes(new ArrayList<>(List.of("09:00", "10:00", "1:00 PM")))
+						.build());
+			
+			LocalDate visitDate = LocalDate.now().plusDays(2)
+					.with(TemporalAdjusters.nextOrSame(DayOfWeek.WEDNESDAY));
+			
+			bookingService.addBooking(BookingRequest.builder()
+					.accountId(savedAccount.getAccountId())
+					.tourPackageId(tourPackage.getPackageId())
+					.visitDate(visitDate)
+					.visitTime(LocalTime.of(9, 30))
+					.groupSize(2)
+					.build());
+			
+			// 9:00 and 10:00 both touch the 9:30-10:30 booking; only 13:00 is left.
+			mockMvc.perform(
+					MockMvcRequestBuilders.get("/booking/slots")
+						.param("packageId", tourPackage.getPackageId().toString())
+						.param("startDate", visitDate.toString())
+						.param("endDate", visitDate.toString())
+			).andExpect(
+					MockMvcResultMatchers.status().isOk()
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$.length()").value(1)
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$[0].startTime").value("13:00:00")
+			).andExpect(
+					MockMvcResultMatchers.jsonPath("$[0].endTime").value("14:00:00")
+			);
+		}
+	}
+	
+	@Nested
+	class ConcurrencyTests {
+		@Test
+		public void concurrentBookingsOnSameDateNeverOverlap() throws Exception {
+			Account savedAccount = DataUtil.createUserAccountA(accountRepository);
+			
+			TourPackage tourPackage = tourPackageRepository.save(
+					TourPackage.builder()
+						.name("Stress tour")
+						.description("Package used for concurrent booking checks")
+						.duration(60)
+						.minPerson(1)
+						.maxPerson(10)
+						.basePrice(100.0)
+						.pricePerPerson(10.0)
+						.build());
+			
+			LocalDate visitDate = LocalDate.now().plusDays(7);
+			int threads = 16;
+			
+			ExecutorService executor = Executors.newFixedThreadPool(threads);
+			CountDownLatch start = new CountDownLatch(1);
+			AtomicInteger accepted = new AtomicInteger();
+			AtomicInteger refused = new AtomicInteger();
+			List<Future<?>> futures = new ArrayList<>();
+			
+			for (int i = 0; i < threads; i++) {
+				// Start times 15 minutes apart, so every pair within an hour collides.
+				LocalTime visitTime = LocalTime.of(9, 0).plusMinutes(15L * (i % 8));
+				
+				futures.add(executor.submit(() -> {
+					mockUserAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+					
+					BookingRequest request = BookingRequest.builder()
+							.accountId(savedAccount.getAccountId())
+							.tourPackageId(tourPackage.getPackageId())
+							.visitDate(visitDate)
+							.visitTime(visitTime)
+							.groupSize(2)
+							.build();
+					
+					try {
+						start.await();
+						bookingService.addBooking(request);
+						accepted.incrementAndGet();
+					} catch (IllegalArgumentException | ServiceUnavailableException e) {
+						refused.incrementAndGet();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return null;
+				}));
+			}
+			
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(60, TimeUnit.SECONDS);
+			}
+			executor.shutdown();
+			
+			List<Booking> saved = bookingRepository.findByVisitDateOrderByVisitTimeAsc(visitDate);
+			
+			assertTrue(accepted.get() > 0);
+			assertEquals(threads, accepted.get() + refused.get());
+			assertEquals(accepted.get(), saved.size());
+			
+			for (int i = 0; i < saved.size(); i++) {
+				for (int j = i + 1; j < saved.size(); j++) {
+					LocalTime startA = saved.get(i).getVisitTime();
+					LocalTime endA = startA.plusMinutes(tourPackage.getDuration());
+					LocalTime startB = saved.get(j).getVisitTime();
+					LocalTime endB = startB.plusMinutes(tourPackage.getDuration());
+					
+					boolean overlap = !endA.isBefore(startB) && !startA.isAfter(endB);
+					assertFalse(overlap, "Bookings " + saved.get(i).getBookingId() + " and " + saved.get(j).getBookingId() + " overlap.");
+				}
+			}
+		}
+		
+		@Test
+		public void staleBookingWriteIsRejected() throws Exception {
+			Account savedAccount = DataUtil.createAdminAccountA(accountRepository);
+			mockAdminAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+			
+			Booking savedBooking = bookingService.addBooking(DataUtil.createBookingRequestA(
+					savedAccount.getAccountId(),
+					accountRepository,
+					packageInclusionRepository,
+					tourPackageRepository));
+			
+			Booking stale = bookingRepository.findById(savedBooking.getBookingId()).orElseThrow();
+			
+			bookingService.updateBookingByStaff(savedBooking.getBookingId(), BookingUpdateRequest.builder()
+					.bookingStatus(BookingStatus.APPROVED)
+					.build());
+			
+			stale.setStaffReply("Written from an outdated copy");
+			assertThrows(ObjectOptimisticLockingFailureException.class, () -> bookingRepository.save(stale));
+			
+			Booking current = bookingRepository.findById(savedBooking.getBookingId()).orElseThrow();
+			assertEquals(BookingStatus.APPROVED, current.getBookingStatus());
+			assertEquals(stale.getVersion() + 1, current.getVersion());
+		}
+		
+		@Test
+		public void exhaustedRetriesReturnConflictWithCurrentState() throws Exception {
+			AtomicInteger attempts = new AtomicInteger();
+			
+			ConflictException conflict = assertThrows(ConflictException.class, () -> optimisticRetry.run(
+					() -> {
+						attempts.incrementAndGet();
+						throw new ObjectOptimisticLockingFailureException(Booking.class, 1);
+					},
+					() -> "current"));
+			
+			assertEquals(3, attempts.get());
+			assertEquals("current", conflict.getCurrent());
+		}
+	}
 }
@@ -2,9 +2,12 @@ package com.example.geco.controllers;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
@@ -18,14 +21,30 @@ import com.example.geco.domains.Account;
 import com.example.geco.domains.Attraction;
 import com.example.geco.domains.Booking;
 import com.example.geco.domains.Booking.BookingStatus;
+import com.example.geco.domains.CalendarDate.DateStatus;
+import com.example.geco.domains.Faq;
 import com.example.geco.domains.Feedback;
 import com.example.geco.domains.TourPackage;
 import com.example.geco.dto.AdminBookingRequest;
+import com.example.geco.dto.AnalyticsRequest;
+import com.example.geco.dto.AnalyticsRequest.Dimension;
+import com.example.geco.dto.CalendarDateRequest;
+import com.example.geco.repositories.BookingDailyStatsRepository;
+import com.example.geco.services.AuditLogWriter;
+import com.example.geco.services.HomepageService;
 
 @SpringBootTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 @AutoConfigureMockMvc
 public class MainControllerTests extends AbstractControllerTest{
+	@Autowired
+	private AuditLogWriter auditLogWriter;
+	
+	@Autowired
+	private BookingDailyStatsRepository statsRepository;
+	
+	@Autowired
+	private HomepageService homepageService;
 	
 	@Test
 	public void canGetAttractionsNumber() throws Exception {
@@ -52,6 +71,32 @@ public class MainControllerTests extends AbstractControllerTest{
 		);
 	}
 	
+	@Test
+	public void homeStatsRefreshAfterWrites() throws Exception {
+	    attractionRepository.save(DataUtil.createAttractionA());
+	    
+	    mockMvc.perform(
+				MockMvcRequestBuilders.get("/home")
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$.attractionNumber").value(1)
+		);
+	    
+	    attractionRepository.save(DataUtil.createAttractionB());
+	    
+	    // The snapshot is replaced in the background; poll until the write shows up.
+	    long deadline = System.currentTimeMillis() + 5000;
+	    while (homepageService.getHomeStats().getAttractionNumber() != 2 
+	    		&& System.currentTimeMillis() < deadline) {
+	    	Thread.sleep(20);
+	    }
+	    
+	    mockMvc.perform(
+				MockMvcRequestBuilders.get("/home")
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$.attractionNumber").value(2)
+		);
+	}
+	
 	@Test
 	public void canGetAverageMonthlyVisitors() throws Exception {
 		Account savedAccount = DataUtil.createAdminAccountA(accountRepository);
@@ -261,6 +306,124 @@ public class MainControllerTests extends AbstractControllerTest{
 		);
 	}
 	
+	@Test
+	public void canGetCalendarRange() throws Exception {
+		Account savedAccount = DataUtil.createAdminAccountA(accountRepository);
+	    mockAdminAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+	    
+	    Booking bookingA = DataUtil.createBookingA(
+	    		savedAccount.getAccountId(), 
+	    		accountRepository, 
+	    		packageInclusionRepository, 
+	    		tourPackageRepository);
+	    
+	    Booking bookingB = DataUtil.createBookingB(
+	    		savedAccount.getAccountId(), 
+	    		accountRepository, 
+	    		packageInclusionRepository, 
+	    		tourPackageRepository);
+	    
+	    bookingA.setVisitDate(LocalDate.of(2026, 11, 3));
+	    bookingB.setVisitDate(LocalDate.of(2027, 2, 10));
+	    
+	   	bookingRepository.save(bookingA);
+	   	bookingRepository.save(bookingB);
+	    
+	    mockMvc.perform(
+				MockMvcRequestBuilders.get("/calendar/range")
+					.param("from", "2026-11")
+					.param("to", "2027-04")
+		).andExpect(
+				MockMvcResultMatchers.status().isOk()
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$.length()").value(6)
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$['2026-11'].3.bookings").value(1)
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$['2027-02'].10.visitors").value(bookingB.getGroupSize())
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$['2027-04'].30.bookings").value(0)
+		);
+	}
+	
+	@Test
+	public void canRevalidateCalendarWithETag() throws Exception {
+		Account savedAccount = DataUtil.createAdminAccountA(accountRepository);
+	    mockAdminAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+	    
+	    String eTag = mockMvc.perform(
+				MockMvcRequestBuilders.get("/calendar/2025/11")
+		).andExpect(
+				MockMvcResultMatchers.status().isOk()
+		).andExpect(
+				MockMvcResultMatchers.header().exists("ETag")
+		).andReturn().getResponse().getHeader("ETag");
+	    
+	    mockMvc.perform(
+				MockMvcRequestBuilders.get("/calendar/2025/11")
+					.header("If-None-Match", eTag)
+		).andExpect(
+				MockMvcResultMatchers.status().isNotModified()
+		);
+	    
+	    CalendarDateRequest request = CalendarDateRequest.builder()
+	    		.date(LocalDate.of(2025, 11, 3))
+	    		.dateStatus(DateStatus.CLOSED)
+	    		.build();
+	    
+	    mockMvc.perform(
+				MockMvcRequestBuilders.post("/calendar-date")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(request))
+		).andExpect(
+				MockMvcResultMatchers.status().isOk()
+		);
+	    
+	    mockMvc.perform(
+				MockMvcRequestBuilders.get("/calendar/2025/11")
+					.header("If-None-Match", eTag)
+		).andExpect(
+				MockMvcResultMatchers.status().isOk()
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$.3.status").value("CLOSED")
+		);
+	}
+	
+	@Test
+	public void canGetCalendarStats() throws Exception {
+		Account savedAccount = DataUtil.createAdminAccountA(accountRepository);
+	    mockAdminAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+	    
+	    Booking bookingA = DataUtil.createBookingA(
+	    		savedAccount.getAccountId(), 
+	    		accountRepository, 
+	    		packageInclusionRepository, 
+	    		tourPackageRepository);
+	    
+	    Booking bookingB = DataUtil.createBookingB(
+	    		savedAccount.getAccountId(), 
+	    		accountRepository, 
+	    		packageInclusionRepository, 
+	    		tourPackageRepository);
+	    
+	    bookingA.setVisitDate(LocalDate.of(2025, 11, 1));
+	    bookingB.setVisitDate(LocalDate.of(2025, 11, 10));
+	    
+	   	bookingRepository.save(bookingA);
+	   	bookingRepository.save(bookingB);
+	    
+	    mockMvc.perform(
+				MockMvcRequestBuilders.get("/calendar/stats/2025/11")
+					.contentType(MediaType.APPLICATION_JSON)
+		).andExpect(
+				MockMvcResultMatchers.status().isOk()
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$.bookings").value(2)
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$.visitors").value(bookingA.getGroupSize() + bookingB.getGroupSize())
+		);
+	}
+	
 	@Test
 	public void canGetDashboardStatsMonthlyBooking() throws Exception {
 		Account savedAccount = DataUtil.createAdminAccountA(accountRepository);
@@ -481,6 +644,59 @@ public class MainControllerTests extends AbstractControllerTest{
 		);
 	}
 	
+	@Test
+	public void canGetDashboardOverview() throws Exception {
+		Account savedAccount = DataUtil.createAdminAccountA(accountRepository);
+	    mockAdminAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+	    
+	    Booking bookingA = DataUtil.createBookingA(
+	    		savedAccount.getAccountId(), 
+	    		accountRepository, 
+	    		packageInclusionRepository, 
+	    		tourPackageRepository);
+	    
+	    Booking bookingB = DataUtil.createBookingB(
+	    		savedAccount.getAccountId(), 
+	    		accountRepository, 
+	    		packageInclusionRepository, 
+	    		tourPackageRepository);
+	    
+	    bookingA.setVisitDate(LocalDate.of(2025, 11, 1));
+	    bookingB.setVisitDate(LocalDate.of(2025, 11, 1));
+	    bookingB.setVisitTime(bookingA.getVisitTime().plusMinutes(1));
+	    
+	    bookingA.setBookingStatus(BookingStatus.COMPLETED);
+	    bookingB.setBookingStatus(BookingStatus.PENDING);
+	    
+	   	bookingRepository.save(bookingA);
+	   	bookingRepository.save(bookingB);
+	   	
+	    mockMvc.perform(
+				MockMvcRequestBuilders.get("/dashboard/overview")
+					.param("date", "2025-11-15")
+		).andExpect(
+				MockMvcResultMatchers.status().isOk()
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$.unavailable").isEmpty()
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$.monthlyBooking").value(2)
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$.monthlyRevenue").value(bookingA.getTotalPrice().longValue())
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$.pendingBookings").value(1)
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$.unreadFeedback").value(0)
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$.yearlyTrends.bookings[0].period").value("2025")
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$.yearlyTrends.bookings[0].value").value(1)
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$.monthlyTrends.bookings[10].period").value("Nov")
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$.monthlyTrends.bookings[10].value").value(1)
+		);
+	}
+	
 	@Test
 	public void canGetDashboardStatsDashboardFinances() throws Exception {
 		Account savedAccount = DataUtil.createAdminAccountA(accountRepository);
@@ -758,4 +974,279 @@ public class MainControllerTests extends AbstractControllerTest{
 				.value(1)
 		);
 	}
+	
+	@Test
+	public void dashboardStatsFollowBookingWritesAndRebuild() throws Exception {
+		Account savedAccount = DataUtil.createAdminAccountA(accountRepository);
+	    mockAdminAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+	    
+	    Booking bookingA = DataUtil.createBookingA(
+	    		savedAccount.getAccountId(), 
+	    		accountRepository, 
+	    		packageInclusionRepository, 
+	    		tourPackageRepository);
+	    
+	    Booking bookingB = DataUtil.createBookingB(
+	    		savedAccount.getAccountId(), 
+	    		accountRepository, 
+	    		packageInclusionRepository, 
+	    		tourPackageRepository);
+	    
+	    bookingA.setVisitDate(LocalDate.of(2025, 11, 1));
+	    bookingB.setVisitDate(LocalDate.of(2025, 11, 1));
+	    bookingB.setVisitTime(bookingA.getVisitTime().plusMinutes(1));
+	    
+	    bookingA.setBookingStatus(BookingStatus.COMPLETED);
+	    bookingB.setBookingStatus(BookingStatus.COMPLETED);
+	    
+	   	Booking savedBookingA = bookingRepository.save(bookingA);
+	   	bookingRepository.save(bookingB);
+	   	
+	   	// Soft-deleted bookings leave the rollup.
+	   	savedBookingA.setActive(false);
+	   	bookingRepository.save(savedBookingA);
+	   	
+	   	assertEquals(bookingB.getTotalPrice().longValue(),
+	   			statsRepository.sumRevenueByStatusBetween(
+	   					BookingStatus.COMPLETED, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31)));
+	   	
+	   	statsRepository.deleteAll();
+	   	
+	    mockMvc.perform(
+				MockMvcRequestBuilders.post("/dashboard/stats/rebuild")
+		).andExpect(
+				MockMvcResultMatchers.status().isOk()
+		);
+	    
+	    mockMvc.perform(
+				MockMvcRequestBuilders.get("/dashboard/finances/revenue/yearly")
+					.param("startYear", "2025")
+					.param("endYear", "2025")
+		).andExpect(
+				MockMvcResultMatchers.status().isOk()
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$[0].value")
+				.value(bookingB.getTotalPrice())
+		);
+	}
+	
+	@Test
+	public void canGetWeeklySeriesWithEmptyWeeksFilled() throws Exception {
+		Account savedAccount = DataUtil.createAdminAccountA(accountRepository);
+	    mockAdminAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+	    
+	    Booking bookingA = DataUtil.createBookingA(
+	    		savedAccount.getAccountId(), 
+	    		accountRepository, 
+	    		packageInclusionRepository, 
+	    		tourPackageRepository);
+	    
+	    Booking bookingB = DataUtil.createBookingB(
+	    		savedAccount.getAccountId(), 
+	    		accountRepository, 
+	    		packageInclusionRepository, 
+	    		tourPackageRepository);
+	    
+	    bookingA.setVisitDate(LocalDate.of(2025, 11, 1));
+	    bookingB.setVisitDate(LocalDate.of(2025, 11, 12));
+	    
+	    bookingA.setBookingStatus(BookingStatus.COMPLETED);
+	    bookingB.setBookingStatus(BookingStatus.COMPLETED);
+	    
+	   	bookingRepository.save(bookingA);
+	   	bookingRepository.save(bookingB);
+	   	
+	    mockMvc.perform(
+				MockMvcRequestBuilders.get("/dashboard/series")
+					.param("from", "2025-10-27")
+					.param("to", "2025-11-16")
+					.param("granularity", "WEEK")
+		).andExpect(
+				MockMvcResultMatchers.status().isOk()
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$.length()").value(3)
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$[0].period").value("2025-W44")
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$[0].bookings").value(1)
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$[1].bookings").value(0)
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$[2].period").value("2025-W46")
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$[2].visitors").value(bookingB.getGroupSize())
+		);
+	    
+	    mockMvc.perform(
+				MockMvcRequestBuilders.get("/dashboard/series")
+					.param("from", "2025-11-16")
+					.param("to", "2025-11-01")
+					.param("granularity", "DAY")
+		).andExpect(
+				MockMvcResultMatchers.status().isBadRequest()
+		);
+	}
+	
+	@Test
+	public void canSliceAnalyticsAndFollowBookingWrites() throws Exception {
+		Account savedAccount = DataUtil.createAdminAccountA(accountRepository);
+	    mockAdminAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+	    
+	    Booking bookingA = DataUtil.createBookingA(
+	    		savedAccount.getAccountId(), 
+	    		accountRepository, 
+	    		packageInclusionRepository, 
+	    		tourPackageRepository);
+	    
+	    Booking bookingB = DataUtil.createBookingB(
+	    		savedAccount.getAccountId(), 
+	    		accountRepository, 
+	    		packageInclusionRepository, 
+	    		tourPackageRepository);
+	    
+	    // A Saturday.
+	    bookingA.setVisitDate(LocalDate.of(2025, 11, 1));
+	    bookingB.setVisitDate(LocalDate.of(2025, 11, 1));
+	    bookingB.setVisitTime(bookingA.getVisitTime().plusMinutes(1));
+	    
+	    bookingA.setBookingStatus(BookingStatus.COMPLETED);
+	    bookingB.setBookingStatus(BookingStatus.PENDING);
+	    
+	   	bookingRepository.save(bookingA);
+	   	Booking savedBookingB = bookingRepository.save(bookingB);
+	   	
+	   	AnalyticsRequest request = AnalyticsRequest.builder()
+	   			.weekdays(List.of(DayOfWeek.SATURDAY))
+	   			.groupBy(List.of(Dimension.STATUS))
+	   			.build();
+	   	
+	    mockMvc.perform(
+				MockMvcRequestBuilders.post("/dashboard/analytics")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(request))
+		).andExpect(
+				MockMvcResultMatchers.status().isOk()
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$.length()").value(2)
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$[0].group.STATUS").value("PENDING")
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$[0].bookings").value(1)
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$[1].group.STATUS").value("COMPLETED")
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$[1].revenue").value(bookingA.getTotalPrice())
+		);
+	    
+	    // Writes after the cube is loaded are applied to it.
+	    savedBookingB.setBookingStatus(BookingStatus.COMPLETED);
+	    bookingRepository.save(savedBookingB);
+	    
+	    mockMvc.perform(
+				MockMvcRequestBuilders.post("/dashboard/analytics")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(request))
+		).andExpect(
+				MockMvcResultMatchers.status().isOk()
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$.length()").value(1)
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$[0].group.STATUS").value("COMPLETED")
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$[0].bookings").value(2)
+		);
+	    
+	    request.setWeekdays(List.of(DayOfWeek.SUNDAY));
+	    
+	    mockMvc.perform(
+				MockMvcRequestBuilders.post("/dashboard/analytics")
+					.contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(request))
+		).andExpect(
+				MockMvcResultMatchers.jsonPath("$").isEmpty()
+		);
+	}
+	
+	@Test
+	public void canGetAuditLogsWrittenByTheQueue() throws Exception {
+		Account savedAccount = DataUtil.createAdminAccountA(accountRepository);
+	    mockAdminAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+	    
+	    Faq savedFaq = faqService.addFaq(DataUtil.createFaqA());
+	    auditLogWriter.flush();
+	    
+	    mockMvc.perform(
+	    		MockMvcRequestBuilders.get("/dashboard/logs")
+	    			.param("start", LocalDate.now().atStartOfDay().toString())
+	    			.param("end", LocalDate.now().plusDays(1).atStartOfDay().toString())
+	    ).andExpect(
+	    		MockMvcResultMatchers.status().isOk()
+	    ).andExpect(
+	    		MockMvcResultMatchers.jsonPath("$.content.length()").value(1)
+	    ).andExpect(
+	    		MockMvcResultMatchers.jsonPath("$.content[0].entityName").value("Faq")
+	    ).andExpect(
+	    		MockMvcResultMatchers.jsonPath("$.content[0].entityId").value(savedFaq.getFaqId())
+	    ).andExpect(
+	    		MockMvcResultMatchers.jsonPath("$.content[0].action").value("CREATE")
+	    ).andExpect(
+	    		MockMvcResultMatchers.jsonPath("$.content[0].performedByRole").value("ADMIN")
+	    );
+	    
+	    mockMvc.perform(MockMvcRequestBuilders.get("/dashboard/logs/queue"))
+	    	.andExpect(MockMvcResultMatchers.status().isOk())
+	    	.andExpect(MockMvcResultMatchers.jsonPath("$.depth").value(0))
+	    	.andExpect(MockMvcResultMatchers.jsonPath("$.written").value(1));
+	}
+	
+	@Test
+	public void canRebuildAuditedStateFromDiffs() throws Exception {
+		Account savedAccount = DataUtil.createAdminAccountA(accountRepository);
+	    mockAdminAuthentication(savedAccount.getAccountId(), savedAccount.getDetail().getEmail());
+	    
+	    Faq savedFaq = faqService.addFaq(DataUtil.createFaqA());
+	    
+	    Faq update = new Faq();
+	    update.setFaqId(savedFaq.getFaqId());
+	    update.setAnswer("It is located beside the university library.");
+	    faqService.updateFaq(update);
+	    
+	    auditLogWriter.flush();
+	    
+	    // The update is stored as a diff only.
+	    mockMvc.perform(
+	    		MockMvcRequestBuilders.get("/dashboard/logs")
+	    			.param("start", LocalDate.now().atStartOfDay().toString())
+	    			.param("end", LocalDate.now().plusDays(1).atStartOfDay().toString())
+	    			.param("action", "UPDATE")
+	    ).andExpect(
+	    		MockMvcResultMatchers.jsonPath("$.content[0].isSnapshot").value(false)
+	    ).andExpect(
+	    		MockMvcResultMatchers.jsonPath("$.content[0].newValue").doesNotExist()
+	    ).andExpect(
+	    		MockMvcResultMatchers.jsonPath("$.content[0].diff").value(
+	    				"[{\"op\":\"replace\",\"path\":\"/answer\",\"value\":\"It is located beside the university library.\"}]")
+	    );
+	    
+	    mockMvc.perform(
+	    		MockMvcRequestBuilders.get("/dashboard/logs/state")
+	    			.param("entityName", "Faq")
+	    			.param("entityId", String.valueOf(savedFaq.getFaqId()))
+	    ).andExpect(
+	    		MockMvcResultMatchers.status().isOk()
+	    ).andExpect(
+	    		MockMvcResultMatchers.jsonPath("$.question").value(savedFaq.getQuestion())
+	    ).andExpect(
+	    		MockMvcResultMatchers.jsonPath("$.answer").value("It is located beside the university library.")
+	    );
+	    
+	    mockMvc.perform(
+	    		MockMvcRequestBuilders.get("/dashboard/logs/state")
+	    			.param("entityName", "Faq")
+	    			.param("entityId", String.valueOf(savedFaq.getFaqId()))
+	    			.param("at", LocalDate.now().minusDays(1).atStartOfDay().toString())
+	    ).andExpect(
+	    		MockMvcResultMatchers.status().isNotFound()
+	    );
+	}
 }